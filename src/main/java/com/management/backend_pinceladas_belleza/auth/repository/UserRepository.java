@@ -2,11 +2,19 @@ package com.management.backend_pinceladas_belleza.auth.repository;
 
 import com.management.backend_pinceladas_belleza.auth.entity.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<Usuario, Long> {
+    // Se ejecuta en cada request autenticado: el resultado queda en la caché de consultas y la
+    // entidad en la región "usuarios"; cualquier escritura en usuarios invalida el resultado
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "usuarios-por-nombre")
+    })
     Optional<Usuario> findByUsername(String username);
 }
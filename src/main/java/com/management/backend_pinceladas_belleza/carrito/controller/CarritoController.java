@@ -0,0 +1,88 @@
+package com.management.backend_pinceladas_belleza.carrito.controller;
+
+import com.management.backend_pinceladas_belleza.carrito.dto.CarritoDto;
+import com.management.backend_pinceladas_belleza.carrito.interfaces.ICarrito;
+import com.management.backend_pinceladas_belleza.productos.dto.LineaStockDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/carrito")
+@RequiredArgsConstructor
+@Tag(name = "Carrito", description = "Carritos de compra guardados en el servidor")
+@SecurityRequirement(name = "bearerAuth")
+public class CarritoController {
+    private final ICarrito carritos;
+
+    @Operation(summary = "Obtener carrito", description = "Retorna los productos del carrito con precios actuales y el total")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Carrito obtenido (vacío si no existe)",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CarritoDto.class))),
+            @ApiResponse(responseCode = "400", description = "ID de carrito inválido", content = @Content)
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<CarritoDto> obtener(
+            @Parameter(description = "ID del carrito", required = true) @PathVariable String id) {
+        return ResponseEntity.ok(carritos.obtener(id));
+    }
+
+    @Operation(summary = "Agregar producto", description = "Suma la cantidad indicada a la que ya tenía el producto en el carrito")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Producto agregado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CarritoDto.class))),
+            @ApiResponse(responseCode = "400", description = "Cantidad inválida o carrito lleno", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado", content = @Content)
+    })
+    @PostMapping("/{id}/items")
+    public ResponseEntity<CarritoDto> agregar(
+            @Parameter(description = "ID del carrito", required = true) @PathVariable String id,
+            @RequestBody LineaStockDto linea) {
+        return ResponseEntity.ok(carritos.agregar(id, linea.getProductoId(), linea.getCantidad()));
+    }
+
+    @Operation(summary = "Actualizar cantidad", description = "Reemplaza la cantidad del producto en el carrito; 0 lo quita")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cantidad actualizada",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CarritoDto.class))),
+            @ApiResponse(responseCode = "400", description = "Cantidad inválida o carrito lleno", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado", content = @Content)
+    })
+    @PatchMapping("/{id}/items")
+    public ResponseEntity<CarritoDto> actualizar(
+            @Parameter(description = "ID del carrito", required = true) @PathVariable String id,
+            @RequestBody LineaStockDto linea) {
+        return ResponseEntity.ok(carritos.actualizar(id, linea.getProductoId(), linea.getCantidad()));
+    }
+
+    @Operation(summary = "Quitar producto", description = "Quita el producto del carrito")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Producto quitado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CarritoDto.class)))
+    })
+    @DeleteMapping("/{id}/items/{productoId}")
+    public ResponseEntity<CarritoDto> quitar(
+            @Parameter(description = "ID del carrito", required = true) @PathVariable String id,
+            @Parameter(description = "ID del producto", required = true) @PathVariable Long productoId) {
+        return ResponseEntity.ok(carritos.quitar(id, productoId));
+    }
+
+    @Operation(summary = "Vaciar carrito", description = "Elimina todos los productos del carrito")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Carrito vaciado")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> vaciar(
+            @Parameter(description = "ID del carrito", required = true) @PathVariable String id) {
+        carritos.vaciar(id);
+        return ResponseEntity.noContent().build();
+    }
+}
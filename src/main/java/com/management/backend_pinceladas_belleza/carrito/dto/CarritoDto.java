@@ -0,0 +1,23 @@
+package com.management.backend_pinceladas_belleza.carrito.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Carrito con precios y total calculados al momento de la consulta.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CarritoDto {
+    private String id;
+    private List<ItemCarritoDto> items;
+    private Integer unidades;
+    private BigDecimal total;
+    // Productos del carrito que ya no existen en el catálogo; no suman al total
+    private List<Long> noDisponibles;
+}
@@ -0,0 +1,15 @@
+package com.management.backend_pinceladas_belleza.carrito.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Fila de pinceladasdb.carritos. contenido es null cuando la versión coincide con la conocida
+ * por quien consulta: la copia en memoria sigue vigente y no hace falta volver a leerla.
+ */
+@Getter
+@AllArgsConstructor
+public class CopiaCarrito {
+    private final long version;
+    private final byte[] contenido;
+}
@@ -0,0 +1,18 @@
+package com.management.backend_pinceladas_belleza.carrito.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemCarritoDto {
+    private Long productoId;
+    private String nombre;
+    private Integer cantidad;
+    private BigDecimal precioUnitario;
+    private BigDecimal subtotal;
+}
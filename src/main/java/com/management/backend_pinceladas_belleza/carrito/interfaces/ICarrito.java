@@ -0,0 +1,21 @@
+package com.management.backend_pinceladas_belleza.carrito.interfaces;
+
+import com.management.backend_pinceladas_belleza.carrito.dto.CarritoDto;
+
+public interface ICarrito {
+    CarritoDto obtener(String carritoId);
+
+    /**
+     * Suma la cantidad a la que ya tenía el producto en el carrito.
+     */
+    CarritoDto agregar(String carritoId, Long productoId, Integer cantidad);
+
+    /**
+     * Reemplaza la cantidad del producto; 0 lo quita del carrito.
+     */
+    CarritoDto actualizar(String carritoId, Long productoId, Integer cantidad);
+
+    CarritoDto quitar(String carritoId, Long productoId);
+
+    void vaciar(String carritoId);
+}
@@ -0,0 +1,58 @@
+package com.management.backend_pinceladas_belleza.carrito.repository;
+
+import com.management.backend_pinceladas_belleza.carrito.dto.CopiaCarrito;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tabla pinceladasdb.carritos (ver db/scripts/012 y 014) por JDBC. Cada escritura compara la
+ * versión esperada y asigna una nueva de la secuencia, en la misma sentencia.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CarritosRepository {
+    // El contenido solo viaja si la versión cambió
+    private static final String BUSCAR = "SELECT version, CASE WHEN version <> ? THEN contenido END AS contenido " +
+            "FROM pinceladasdb.carritos WHERE id = ?";
+
+    private static final String INSERTAR = "INSERT INTO pinceladasdb.carritos (id, contenido, version, actualizado) " +
+            "VALUES (?, ?, nextval('pinceladasdb.carritos_version_seq'), now()) " +
+            "ON CONFLICT (id) DO NOTHING RETURNING version";
+
+    private static final String ACTUALIZAR = "UPDATE pinceladasdb.carritos " +
+            "SET contenido = ?, version = nextval('pinceladasdb.carritos_version_seq'), actualizado = now() " +
+            "WHERE id = ? AND version = ? RETURNING version";
+
+    private static final String PURGAR = "DELETE FROM pinceladasdb.carritos " +
+            "WHERE actualizado < now() - make_interval(mins => ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Versión guardada del carrito y, si es distinta de versionConocida, su contenido.
+     */
+    public Optional<CopiaCarrito> buscar(String id, long versionConocida) {
+        List<CopiaCarrito> filas = jdbcTemplate.query(BUSCAR,
+                (rs, i) -> new CopiaCarrito(rs.getLong("version"), rs.getBytes("contenido")), versionConocida, id);
+        return filas.stream().findFirst();
+    }
+
+    /**
+     * Guarda el contenido si la fila sigue en versionEsperada (0: si todavía no existe) y devuelve
+     * la versión nueva; vacío si otra escritura se adelantó.
+     */
+    public Optional<Long> guardar(String id, byte[] contenido, long versionEsperada) {
+        List<Long> versiones = versionEsperada == 0
+                ? jdbcTemplate.query(INSERTAR, (rs, i) -> rs.getLong("version"), id, contenido)
+                : jdbcTemplate.query(ACTUALIZAR, (rs, i) -> rs.getLong("version"), contenido, id, versionEsperada);
+        return versiones.stream().findFirst();
+    }
+
+    public int purgar(int minutosInactividad) {
+        return jdbcTemplate.update(PURGAR, minutosInactividad);
+    }
+}
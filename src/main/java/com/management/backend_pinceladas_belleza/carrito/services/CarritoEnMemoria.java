@@ -0,0 +1,88 @@
+package com.management.backend_pinceladas_belleza.carrito.services;
+
+import com.management.backend_pinceladas_belleza.common.MapaLongInt;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Contenido de un carrito: producto → cantidad en un MapaLongInt, con la versión de la fila de la
+ * que sale (0 si todavía no se guardó).
+ *
+ * Una instancia publicada en la caché no se modifica: los cambios se aplican a una copia, que
+ * reemplaza a la anterior solo después de guardarse. Así se puede leer sin sincronizar.
+ */
+class CarritoEnMemoria {
+    private static final int BYTES_POR_ITEM = Long.BYTES + Integer.BYTES;
+
+    private final MapaLongInt items;
+    private final long version;
+
+    CarritoEnMemoria() {
+        this(new MapaLongInt(), 0);
+    }
+
+    private CarritoEnMemoria(MapaLongInt items, long version) {
+        this.items = items;
+        this.version = version;
+    }
+
+    static CarritoEnMemoria leer(byte[] contenido, long version) {
+        ByteBuffer buffer = ByteBuffer.wrap(contenido);
+        MapaLongInt items = new MapaLongInt(contenido.length / BYTES_POR_ITEM);
+        while (buffer.remaining() >= BYTES_POR_ITEM) {
+            items.put(buffer.getLong(), buffer.getInt());
+        }
+        return new CarritoEnMemoria(items, version);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    int size() {
+        return items.size();
+    }
+
+    boolean contiene(long productoId) {
+        return items.contiene(productoId);
+    }
+
+    int cantidad(long productoId) {
+        return items.get(productoId);
+    }
+
+    void recorrer(MapaLongInt.Visitante visitante) {
+        items.forEach(visitante);
+    }
+
+    /**
+     * Copia modificable con la misma versión, para preparar un cambio.
+     */
+    CarritoEnMemoria copia() {
+        MapaLongInt copia = new MapaLongInt(items.size());
+        items.forEach(copia::put);
+        return new CarritoEnMemoria(copia, version);
+    }
+
+    CarritoEnMemoria conVersion(long nuevaVersion) {
+        return new CarritoEnMemoria(items, nuevaVersion);
+    }
+
+    void sumar(long productoId, int cantidad) {
+        items.sumar(productoId, cantidad);
+    }
+
+    void asignar(long productoId, int cantidad) {
+        items.put(productoId, cantidad);
+    }
+
+    void vaciar() {
+        items.clear();
+    }
+
+    byte[] serializar() {
+        ByteBuffer buffer = ByteBuffer.allocate(items.size() * BYTES_POR_ITEM);
+        items.forEach((productoId, cantidad) -> buffer.putLong(productoId).putInt(cantidad));
+        return buffer.array();
+    }
+}
@@ -0,0 +1,246 @@
+package com.management.backend_pinceladas_belleza.carrito.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.management.backend_pinceladas_belleza.carrito.dto.CarritoDto;
+import com.management.backend_pinceladas_belleza.carrito.dto.CopiaCarrito;
+import com.management.backend_pinceladas_belleza.carrito.dto.ItemCarritoDto;
+import com.management.backend_pinceladas_belleza.carrito.interfaces.ICarrito;
+import com.management.backend_pinceladas_belleza.carrito.repository.CarritosRepository;
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductosPorIdsDto;
+import com.management.backend_pinceladas_belleza.productos.interfaces.IProductos;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Carritos de compra guardados en el servidor.
+ *
+ * La fila de pinceladasdb.carritos es la fuente de verdad: cada cambio se escribe en el momento,
+ * condicionado a la versión de la que partió, así que dos instancias que modifican el mismo
+ * carrito nunca se pisan; la que pierde recarga y reintenta. No hace falta afinidad en el
+ * balanceador.
+ *
+ * Cada instancia guarda además una copia como mapa primitivo producto → cantidad (ver
+ * MapaLongInt), unos 400 bytes por carrito con su entrada en la caché. Antes de usarla se compara
+ * su versión con la guardada en una consulta por clave primaria, que solo trae el contenido si
+ * cambió. Vencer o desalojar una copia no pierde nada; las filas sin cambios durante la inactividad
+ * máxima se purgan en segundo plano.
+ *
+ * Los precios no se guardan en el carrito: el total se calcula al consultar con la caché de
+ * productos, y solo los que faltan en ella van a la base en un único IN.
+ */
+@Slf4j
+@Service
+public class CarritoService implements ICarrito {
+    private static final int LARGO_MAXIMO_ID = 100;
+    private static final int MAXIMO_INTENTOS = 3;
+
+    private final CarritosRepository carritosRepository;
+    private final IProductos productos;
+    private final Cache<String, CarritoEnMemoria> carritos;
+    private final int minutosInactividad;
+
+    @Value("${carrito.maximo-productos:100}")
+    private int maximoProductos;
+
+    @Value("${carrito.maximo-unidades:999}")
+    private int maximoUnidades;
+
+    public CarritoService(CarritosRepository carritosRepository,
+                          IProductos productos,
+                          @Value("${carrito.maximo-carritos:100000}") long maximoCarritos,
+                          @Value("${carrito.inactividad-minutos:120}") int minutosInactividad) {
+        this.carritosRepository = carritosRepository;
+        this.productos = productos;
+        this.minutosInactividad = minutosInactividad;
+        this.carritos = Caffeine.newBuilder()
+                .maximumSize(maximoCarritos)
+                .expireAfterAccess(Duration.ofMinutes(minutosInactividad))
+                .build();
+    }
+
+    @Override
+    public CarritoDto obtener(String carritoId) {
+        return construir(carritoId, vigente(carritoId));
+    }
+
+    @Override
+    public CarritoDto agregar(String carritoId, Long productoId, Integer cantidad) {
+        validarProducto(productoId, cantidad, 1);
+        return construir(carritoId, modificar(carritoId, carrito -> {
+            validarCapacidad(carrito, productoId);
+            if ((long) carrito.cantidad(productoId) + cantidad > maximoUnidades) {
+                throw new BadRequestException("No se pueden tener más de " + maximoUnidades + " unidades de un producto en el carrito");
+            }
+            carrito.sumar(productoId, cantidad);
+        }));
+    }
+
+    @Override
+    public CarritoDto actualizar(String carritoId, Long productoId, Integer cantidad) {
+        validarProducto(productoId, cantidad, 0);
+        return construir(carritoId, modificar(carritoId, carrito -> {
+            if (cantidad > 0) {
+                validarCapacidad(carrito, productoId);
+            }
+            carrito.asignar(productoId, cantidad);
+        }));
+    }
+
+    @Override
+    public CarritoDto quitar(String carritoId, Long productoId) {
+        if (productoId == null || productoId <= 0) {
+            throw new BadRequestException("El ID del producto es requerido");
+        }
+        return construir(carritoId, modificar(carritoId, carrito -> carrito.asignar(productoId, 0)));
+    }
+
+    /**
+     * Deja la fila vacía en lugar de borrarla: la versión sigue avanzando y una instancia con una
+     * copia vieja la descarta. La purga la elimina después de la inactividad máxima.
+     */
+    @Override
+    public void vaciar(String carritoId) {
+        modificar(carritoId, CarritoEnMemoria::vaciar);
+    }
+
+    @Scheduled(initialDelayString = "${carrito.purga-ms:600000}", fixedDelayString = "${carrito.purga-ms:600000}")
+    public void purgar() {
+        try {
+            int purgados = carritosRepository.purgar(minutosInactividad);
+            log.debug("Carritos inactivos purgados: {}", purgados);
+        } catch (DataAccessException e) {
+            log.warn("No se pudieron purgar los carritos inactivos: {}", e.getMessage());
+        }
+    }
+
+    public long enMemoria() {
+        return carritos.estimatedSize();
+    }
+
+    /**
+     * Aplica el cambio sobre una copia de la versión vigente y la guarda solo si nadie escribió el
+     * carrito entretanto; si alguien lo hizo, recarga y vuelve a aplicar el cambio.
+     */
+    private CarritoEnMemoria modificar(String carritoId, Consumer<CarritoEnMemoria> cambio) {
+        for (int intento = 0; intento < MAXIMO_INTENTOS; intento++) {
+            CarritoEnMemoria actual = vigente(carritoId);
+            CarritoEnMemoria nuevo = actual.copia();
+            cambio.accept(nuevo);
+            Optional<Long> version = carritosRepository.guardar(carritoId, nuevo.serializar(), actual.getVersion());
+            if (version.isPresent()) {
+                CarritoEnMemoria guardado = nuevo.conVersion(version.get());
+                carritos.put(carritoId, guardado);
+                return guardado;
+            }
+            carritos.invalidate(carritoId);
+        }
+        throw new ObjectOptimisticLockingFailureException("Carrito", carritoId);
+    }
+
+    /**
+     * Copia en memoria validada contra la versión guardada; la recarga si otra instancia cambió
+     * el carrito.
+     */
+    private CarritoEnMemoria vigente(String carritoId) {
+        validarId(carritoId);
+        CarritoEnMemoria enCache = carritos.getIfPresent(carritoId);
+        Optional<CopiaCarrito> fila = carritosRepository.buscar(carritoId, enCache != null ? enCache.getVersion() : 0);
+        if (fila.isPresent()) {
+            if (enCache != null && fila.get().getContenido() == null) {
+                return enCache;
+            }
+            CarritoEnMemoria leido = CarritoEnMemoria.leer(fila.get().getContenido(), fila.get().getVersion());
+            carritos.put(carritoId, leido);
+            return leido;
+        }
+        if (enCache == null || enCache.size() == 0) {
+            // Nunca se guardó o se purgó vacío: no ocupa memoria hasta el primer cambio
+            carritos.invalidate(carritoId);
+            return new CarritoEnMemoria();
+        }
+        // La purga borró la fila mientras el carrito seguía en uso en esta instancia: se vuelve a guardar
+        Optional<Long> version = carritosRepository.guardar(carritoId, enCache.serializar(), 0);
+        carritos.invalidate(carritoId);
+        if (version.isEmpty()) {
+            // Otra instancia lo creó de nuevo entretanto: manda su versión
+            return vigente(carritoId);
+        }
+        CarritoEnMemoria restaurado = enCache.conVersion(version.get());
+        carritos.put(carritoId, restaurado);
+        return restaurado;
+    }
+
+    private CarritoDto construir(String carritoId, CarritoEnMemoria carrito) {
+        Map<Long, Integer> cantidades = new TreeMap<>();
+        carrito.recorrer(cantidades::put);
+
+        List<ItemCarritoDto> items = new ArrayList<>(cantidades.size());
+        List<Long> noDisponibles = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        int unidades = 0;
+        if (!cantidades.isEmpty()) {
+            ProductosPorIdsDto encontrados = productos.getResumenPorIds(new ArrayList<>(cantidades.keySet()));
+            for (ProductoResumenDto producto : encontrados.getProductos()) {
+                int cantidad = cantidades.get(producto.getId());
+                BigDecimal precio = producto.getPrecio() != null ? producto.getPrecio() : BigDecimal.ZERO;
+                BigDecimal subtotal = precio.multiply(BigDecimal.valueOf(cantidad));
+                items.add(ItemCarritoDto.builder()
+                        .productoId(producto.getId())
+                        .nombre(producto.getNombre())
+                        .cantidad(cantidad)
+                        .precioUnitario(precio)
+                        .subtotal(subtotal)
+                        .build());
+                total = total.add(subtotal);
+                unidades += cantidad;
+            }
+            noDisponibles.addAll(encontrados.getNoEncontrados());
+        }
+        return CarritoDto.builder()
+                .id(carritoId)
+                .items(items)
+                .unidades(unidades)
+                .total(total)
+                .noDisponibles(noDisponibles)
+                .build();
+    }
+
+    private void validarProducto(Long productoId, Integer cantidad, int cantidadMinima) {
+        if (productoId == null || productoId <= 0) {
+            throw new BadRequestException("El ID del producto es requerido");
+        }
+        if (cantidad == null || cantidad < cantidadMinima || cantidad > maximoUnidades) {
+            throw new BadRequestException("La cantidad debe estar entre " + cantidadMinima + " y " + maximoUnidades);
+        }
+        // Desde la caché de productos; lanza ResourceNotFoundException si no existe
+        productos.getResumenById(productoId);
+    }
+
+    private void validarCapacidad(CarritoEnMemoria carrito, Long productoId) {
+        if (!carrito.contiene(productoId) && carrito.size() >= maximoProductos) {
+            throw new BadRequestException("El carrito no puede tener más de " + maximoProductos + " productos distintos");
+        }
+    }
+
+    private static void validarId(String carritoId) {
+        if (carritoId == null || carritoId.isBlank() || carritoId.length() > LARGO_MAXIMO_ID) {
+            throw new BadRequestException("El ID del carrito debe tener entre 1 y " + LARGO_MAXIMO_ID + " caracteres");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.management.backend_pinceladas_belleza.catalogo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Versión del catálogo vigente en esta instancia.
+ * No lleva fecha de modificación: la hora en que cada instancia observa una versión es distinta,
+ * así que un Last-Modified derivado de ella no coincidiría entre instancias. La validación
+ * condicional usa solo el ETag, que sale de la secuencia compartida.
+ */
+@Getter
+@AllArgsConstructor
+public class MarcaCatalogo {
+    private final long version;
+
+    public String getEtag() {
+        return "\"catalogo-" + version + "\"";
+    }
+}
@@ -0,0 +1,15 @@
+package com.management.backend_pinceladas_belleza.catalogo.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Se publica cada vez que avanza la versión del catálogo. remota es true cuando el cambio
+ * lo hizo otra instancia: las estructuras en memoria de esta instancia deben recargarse.
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogoVersionCambiadaEvent {
+    private final long version;
+    private final boolean remota;
+}
@@ -0,0 +1,24 @@
+package com.management.backend_pinceladas_belleza.catalogo.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * La versión del catálogo es una secuencia de Postgres (ver db/scripts/005): nextval no toma
+ * bloqueos de fila ni participa de la transacción, así las escrituras concurrentes no compiten
+ * por un contador compartido.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogoVersionRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public long incrementar() {
+        return jdbcTemplate.queryForObject("SELECT nextval('pinceladasdb.catalogo_version_seq')", Long.class);
+    }
+
+    public long actual() {
+        return jdbcTemplate.queryForObject("SELECT last_value FROM pinceladasdb.catalogo_version_seq", Long.class);
+    }
+}
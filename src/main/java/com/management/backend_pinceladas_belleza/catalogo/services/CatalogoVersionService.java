@@ -0,0 +1,155 @@
+package com.management.backend_pinceladas_belleza.catalogo.services;
+
+import com.management.backend_pinceladas_belleza.catalogo.dto.MarcaCatalogo;
+import com.management.backend_pinceladas_belleza.catalogo.events.CatalogoVersionCambiadaEvent;
+import com.management.backend_pinceladas_belleza.catalogo.repository.CatalogoVersionRepository;
+import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
+import com.management.backend_pinceladas_belleza.categorias.events.CategoriaModificadaEvent;
+import com.management.backend_pinceladas_belleza.config.CacheConfiguration;
+import com.management.backend_pinceladas_belleza.productos.events.ProductoModificadoEvent;
+import com.management.backend_pinceladas_belleza.productos.events.ProductosImportadosEvent;
+import com.management.backend_pinceladas_belleza.productos.events.StockAjustadoEvent;
+import com.management.backend_pinceladas_belleza.proveedores.entity.Proveedor;
+import com.management.backend_pinceladas_belleza.proveedores.events.ProveedorModificadoEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Versión monótona del catálogo usada para los ETag de las lecturas públicas.
+ *
+ * Cada escritura confirmada de productos, categorías, proveedores o stock avanza la versión.
+ * La versión vigente se guarda en memoria, así responder un 304 no toca la base de datos.
+ * Un sondeo periódico detecta los cambios hechos por otras instancias.
+ * Mientras la versión es desconocida (base caída al arrancar o al incrementar), actual() devuelve
+ * null y los controladores responden sin validación condicional, nunca con un 304 dudoso.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogoVersionService {
+    private final CatalogoVersionRepository catalogoVersionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final AtomicReference<MarcaCatalogo> marca = new AtomicReference<>();
+    private final AtomicBoolean recargaPendiente = new AtomicBoolean();
+
+    public MarcaCatalogo actual() {
+        return marca.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        sincronizar();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarProducto(ProductoModificadoEvent evento) {
+        registrarCambio();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alImportarProductos(ProductosImportadosEvent evento) {
+        registrarCambio();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alAjustarStock(StockAjustadoEvent evento) {
+        registrarCambio();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarCategoria(CategoriaModificadaEvent evento) {
+        registrarCambio();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarProveedor(ProveedorModificadoEvent evento) {
+        registrarCambio();
+    }
+
+    /**
+     * Consulta la versión global; si otra instancia la avanzó, o una escritura local quedó con
+     * una recarga pendiente, invalida lo que esta instancia tiene en memoria.
+     */
+    @Scheduled(initialDelayString = "${catalogo.version.sondeo-ms:5000}",
+            fixedDelayString = "${catalogo.version.sondeo-ms:5000}")
+    public void sincronizar() {
+        long remota;
+        try {
+            remota = catalogoVersionRepository.actual();
+        } catch (DataAccessException e) {
+            log.warn("No se pudo consultar la versión del catálogo: {}", e.getMessage());
+            return;
+        }
+        boolean pendiente = recargaPendiente.getAndSet(false);
+        MarcaCatalogo anterior = marca.get();
+        if (pendiente || anterior == null || remota > anterior.getVersion()) {
+            avanzar(remota, pendiente || anterior != null);
+        }
+    }
+
+    private void registrarCambio() {
+        MarcaCatalogo anterior = marca.get();
+        long siguiente;
+        try {
+            siguiente = catalogoVersionRepository.incrementar();
+        } catch (DataAccessException e) {
+            // Sin versión confiable no se emiten ETag hasta el próximo sondeo exitoso
+            log.warn("No se pudo incrementar la versión del catálogo: {}", e.getMessage());
+            marca.set(null);
+            return;
+        }
+        if (anterior == null || siguiente != anterior.getVersion() + 1) {
+            // Un salto mayor a uno puede ser otra instancia o solo otra escritura concurrente de
+            // esta; no se distingue, así que la recarga queda para el sondeo, fuera del hilo de la
+            // petición. Hasta entonces no se emiten ETag: uno nuevo sobre datos sin recargar
+            // seguiría respondiendo 304 después de la recarga.
+            recargaPendiente.set(true);
+            marca.set(null);
+            return;
+        }
+        avanzar(siguiente, false);
+    }
+
+    private void avanzar(long version, boolean remota) {
+        if (remota) {
+            // Antes de publicar la marca, para que la versión nueva no acompañe datos viejos
+            limpiarCaches();
+        }
+        MarcaCatalogo nueva = new MarcaCatalogo(version);
+        // Con >= el sondeo puede volver a publicar la misma versión después de una recarga pendiente
+        MarcaCatalogo vigente = marca.accumulateAndGet(nueva,
+                (actual, candidata) -> actual == null || candidata.getVersion() >= actual.getVersion() ? candidata : actual);
+        if (vigente != nueva) {
+            return;
+        }
+        eventPublisher.publishEvent(new CatalogoVersionCambiadaEvent(version, remota));
+    }
+
+    private void limpiarCaches() {
+        for (String nombre : new String[]{CacheConfiguration.PRODUCTOS, CacheConfiguration.PRODUCTOS_LISTA}) {
+            Cache cache = cacheManager.getCache(nombre);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        // La caché de segundo nivel es local: lo que cambió otra instancia se vuelve a leer de la base
+        entityManagerFactory.getCache().evict(Categoria.class);
+        entityManagerFactory.getCache().evict(Proveedor.class);
+    }
+}
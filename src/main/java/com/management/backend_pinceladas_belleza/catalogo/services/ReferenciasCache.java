@@ -0,0 +1,206 @@
+package com.management.backend_pinceladas_belleza.catalogo.services;
+
+import com.management.backend_pinceladas_belleza.catalogo.events.CatalogoVersionCambiadaEvent;
+import com.management.backend_pinceladas_belleza.categorias.dto.CategoriaNodoDto;
+import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
+import com.management.backend_pinceladas_belleza.categorias.events.CategoriaModificadaEvent;
+import com.management.backend_pinceladas_belleza.categorias.repository.CategoriaRepository;
+import com.management.backend_pinceladas_belleza.proveedores.entity.Proveedor;
+import com.management.backend_pinceladas_belleza.proveedores.events.ProveedorModificadoEvent;
+import com.management.backend_pinceladas_belleza.proveedores.repository.ProveedoresRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * Categorías y proveedores completos en memoria.
+ *
+ * Son pocas filas que casi no cambian y se leen en cada escritura de productos (validación de
+ * llaves foráneas) y en cada GET /category y /proveedor. Se cargan al arrancar, se actualizan con
+ * los eventos de CategoriaService y ProveedorService y se recargan completos cuando otra instancia
+ * cambia el catálogo. Un id que no está en memoria se busca en la base y, si existe, se agrega:
+ * lo creado en otra instancia se encuentra antes de la próxima recarga. Los mapas se reemplazan
+ * enteros (copy-on-write): los lectores nunca bloquean.
+ *
+ * El árbol de categorías (padreId) se arma junto con cada reemplazo del mapa.
+ *
+ * Las entidades guardadas aquí están desconectadas y se comparten entre hilos: se pueden leer y
+ * asignar como referencia en otra entidad, pero nunca modificar.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferenciasCache {
+    private final CategoriaRepository categoriaRepository;
+    private final ProveedoresRepository proveedoresRepository;
+
+    private volatile Map<Long, Categoria> categorias;
+    private volatile Map<Long, Proveedor> proveedores;
+    private volatile List<CategoriaNodoDto> arbol;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void cargar() {
+        try {
+            Map<Long, Categoria> nuevasCategorias = new TreeMap<>();
+            categoriaRepository.findAll().forEach(categoria -> nuevasCategorias.put(categoria.getId(), categoria));
+            Map<Long, Proveedor> nuevosProveedores = new TreeMap<>();
+            proveedoresRepository.findAll().forEach(proveedor -> nuevosProveedores.put(proveedor.getId(), proveedor));
+            publicarCategorias(nuevasCategorias);
+            proveedores = Collections.unmodifiableMap(nuevosProveedores);
+            log.info("Referencias cargadas: {} categorías, {} proveedores", nuevasCategorias.size(), nuevosProveedores.size());
+        } catch (DataAccessException e) {
+            // Sin datos cargados las consultas van a la base hasta la próxima recarga
+            log.warn("No se pudieron cargar las categorías y proveedores en memoria: {}", e.getMessage());
+        }
+    }
+
+    public boolean isCargado() {
+        return categorias != null && proveedores != null;
+    }
+
+    public List<Categoria> getCategorias() {
+        Map<Long, Categoria> actuales = categorias;
+        return actuales != null ? new ArrayList<>(actuales.values()) : categoriaRepository.findAll();
+    }
+
+    public List<Proveedor> getProveedores() {
+        Map<Long, Proveedor> actuales = proveedores;
+        return actuales != null ? new ArrayList<>(actuales.values()) : proveedoresRepository.findAll();
+    }
+
+    /**
+     * Árbol de categorías ya armado: se reconstruye solo cuando cambia alguna categoría.
+     */
+    public List<CategoriaNodoDto> getArbol() {
+        List<CategoriaNodoDto> actual = arbol;
+        return actual != null ? actual : construirArbol(categoriaRepository.findAll());
+    }
+
+    public Optional<Categoria> buscarCategoria(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Map<Long, Categoria> actuales = categorias;
+        Categoria categoria = actuales != null ? actuales.get(id) : null;
+        if (categoria != null) {
+            return Optional.of(categoria);
+        }
+        // Sin cargar, o creada en otra instancia después de la última recarga
+        Optional<Categoria> leida = categoriaRepository.findById(id);
+        leida.ifPresent(this::incorporarCategoria);
+        return leida;
+    }
+
+    public Optional<Proveedor> buscarProveedor(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Map<Long, Proveedor> actuales = proveedores;
+        Proveedor proveedor = actuales != null ? actuales.get(id) : null;
+        if (proveedor != null) {
+            return Optional.of(proveedor);
+        }
+        Optional<Proveedor> leido = proveedoresRepository.findById(id);
+        leido.ifPresent(this::incorporarProveedor);
+        return leido;
+    }
+
+    // Antes que CatalogoVersionService: un cliente no debe ver el ETag nuevo con la lista vieja
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void alModificarCategoria(CategoriaModificadaEvent evento) {
+        if (categorias == null) {
+            return;
+        }
+        Map<Long, Categoria> copia = new TreeMap<>(categorias);
+        if (evento.getCategoria() == null) {
+            copia.remove(evento.getCategoriaId());
+        } else {
+            copia.put(evento.getCategoriaId(), evento.getCategoria());
+        }
+        publicarCategorias(copia);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void alModificarProveedor(ProveedorModificadoEvent evento) {
+        if (proveedores == null) {
+            return;
+        }
+        Map<Long, Proveedor> copia = new TreeMap<>(proveedores);
+        if (evento.getProveedor() == null) {
+            copia.remove(evento.getProveedorId());
+        } else {
+            copia.put(evento.getProveedorId(), evento.getProveedor());
+        }
+        proveedores = Collections.unmodifiableMap(copia);
+    }
+
+    // Un fallo encontrado en la base se suma al mapa; si el evento o la recarga ya lo trajeron, manda ese
+    private synchronized void incorporarCategoria(Categoria categoria) {
+        if (categorias == null || categorias.containsKey(categoria.getId())) {
+            return;
+        }
+        Map<Long, Categoria> copia = new TreeMap<>(categorias);
+        copia.put(categoria.getId(), categoria);
+        publicarCategorias(copia);
+    }
+
+    private synchronized void incorporarProveedor(Proveedor proveedor) {
+        if (proveedores == null || proveedores.containsKey(proveedor.getId())) {
+            return;
+        }
+        Map<Long, Proveedor> copia = new TreeMap<>(proveedores);
+        copia.put(proveedor.getId(), proveedor);
+        proveedores = Collections.unmodifiableMap(copia);
+    }
+
+    private void publicarCategorias(Map<Long, Categoria> nuevas) {
+        Map<Long, Categoria> inmutables = Collections.unmodifiableMap(nuevas);
+        List<CategoriaNodoDto> nuevoArbol = construirArbol(inmutables.values());
+        categorias = inmutables;
+        arbol = nuevoArbol;
+    }
+
+    private static List<CategoriaNodoDto> construirArbol(Collection<Categoria> todas) {
+        Map<Long, List<Categoria>> porPadre = new HashMap<>();
+        Set<Long> ids = new HashSet<>();
+        for (Categoria categoria : todas) {
+            ids.add(categoria.getId());
+        }
+        for (Categoria categoria : todas) {
+            // Un padre que ya no existe deja a la categoría como raíz en lugar de perderla
+            Long padreId = categoria.getPadreId() != null && ids.contains(categoria.getPadreId())
+                    ? categoria.getPadreId() : null;
+            porPadre.computeIfAbsent(padreId, id -> new ArrayList<>()).add(categoria);
+        }
+        return nodos(porPadre, null);
+    }
+
+    private static List<CategoriaNodoDto> nodos(Map<Long, List<Categoria>> porPadre, Long padreId) {
+        List<Categoria> hijas = porPadre.getOrDefault(padreId, List.of());
+        List<CategoriaNodoDto> resultado = new ArrayList<>(hijas.size());
+        hijas.stream()
+                .sorted(Comparator.comparing(Categoria::getNombreCategoria, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
+                .forEach(categoria -> resultado.add(CategoriaNodoDto.builder()
+                        .id(categoria.getId())
+                        .nombreCategoria(categoria.getNombreCategoria())
+                        .estado(categoria.getEstado())
+                        .hijos(nodos(porPadre, categoria.getId()))
+                        .build()));
+        return Collections.unmodifiableList(resultado);
+    }
+
+    @EventListener(condition = "#evento.remota")
+    public void alCambiarCatalogoRemoto(CatalogoVersionCambiadaEvent evento) {
+        cargar();
+    }
+}
@@ -1,8 +1,15 @@
 package com.management.backend_pinceladas_belleza.categorias.controller;
 
+import com.management.backend_pinceladas_belleza.catalogo.dto.MarcaCatalogo;
+import com.management.backend_pinceladas_belleza.catalogo.services.CatalogoVersionService;
 import com.management.backend_pinceladas_belleza.categorias.dto.CategoriaDto;
+import com.management.backend_pinceladas_belleza.categorias.dto.CategoriaNodoDto;
+import com.management.backend_pinceladas_belleza.categorias.dto.EstadisticaCategoriaDto;
+import com.management.backend_pinceladas_belleza.categorias.dto.MoverCategoriaDto;
 import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
 import com.management.backend_pinceladas_belleza.categorias.interfaces.ICategoria;
+import com.management.backend_pinceladas_belleza.common.Idempotencia;
+import com.management.backend_pinceladas_belleza.productos.services.EstadisticasCategorias;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,9 +19,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -26,15 +35,50 @@ import java.util.List;
 public class CategoriaController {
 
     private final ICategoria categoriaImp;
+    private final CatalogoVersionService catalogoVersion;
+    private final EstadisticasCategorias estadisticasCategorias;
+    private final Idempotencia idempotencia;
 
     @Operation(summary = "Obtener todas las categorías", description = "Retorna una lista de todas las categorías disponibles")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de categorías obtenida exitosamente",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Categoria.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Categoria.class))),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag enviado en If-None-Match", content = @Content)
     })
     @GetMapping()
-    public ResponseEntity<List<Categoria>> obtenerCategorias() {
-        return ResponseEntity.ok(categoriaImp.obtenerCategorias());
+    public ResponseEntity<List<Categoria>> obtenerCategorias(WebRequest webRequest) {
+        MarcaCatalogo marca = catalogoVersion.actual();
+        if (marca != null && webRequest.checkNotModified(marca.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(categoriaImp.obtenerCategorias());
+    }
+
+    @Operation(summary = "Obtener el árbol de categorías",
+            description = "Retorna las categorías raíz con sus subcategorías anidadas, ordenadas por nombre en cada nivel")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Árbol de categorías obtenido exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CategoriaNodoDto.class))),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag enviado en If-None-Match", content = @Content)
+    })
+    @GetMapping("/tree")
+    public ResponseEntity<List<CategoriaNodoDto>> obtenerArbol(WebRequest webRequest) {
+        MarcaCatalogo marca = catalogoVersion.actual();
+        if (marca != null && webRequest.checkNotModified(marca.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(categoriaImp.obtenerArbol());
+    }
+
+    @Operation(summary = "Estadísticas de inventario por categoría",
+            description = "Retorna, para cada categoría, la cantidad de productos, las unidades en stock y el valor del inventario (precio * stock)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstadisticaCategoriaDto.class)))
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<List<EstadisticaCategoriaDto>> obtenerEstadisticas() {
+        return ResponseEntity.ok(estadisticasCategorias.obtener());
     }
 
     @Operation(summary = "Obtener categoría por ID", description = "Retorna una categoría específica por su ID")
@@ -53,12 +97,16 @@ public class CategoriaController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Categoría creada exitosamente",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Categoria.class))),
-            @ApiResponse(responseCode = "400", description = "Datos inválidos", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Datos inválidos o clave de idempotencia usada con otra categoría", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Creación con la misma clave de idempotencia en curso", content = @Content)
     })
     @PostMapping("/create")
     public ResponseEntity<Categoria> createCategoria(
+            @Parameter(description = "Clave única del intento; un reintento con la misma clave devuelve la categoría ya creada")
+            @RequestHeader(value = Idempotencia.CABECERA, required = false) String claveIdempotencia,
             @Parameter(description = "Datos de la categoría a crear", required = true) @RequestBody CategoriaDto categoria) {
-        return new ResponseEntity<>(categoriaImp.insertarCategoria(categoria), HttpStatus.CREATED);
+        return new ResponseEntity<>(idempotencia.ejecutar(claveIdempotencia, "POST /category/create", categoria, Categoria.class,
+                () -> categoriaImp.insertarCategoria(categoria)), HttpStatus.CREATED);
     }
 
     @Operation(summary = "Eliminar categoría", description = "Elimina una categoría del sistema")
@@ -72,7 +120,23 @@ public class CategoriaController {
         return ResponseEntity.ok(categoriaImp.eliminarCategoria(id));
     }
 
-    @Operation(summary = "Actualizar categoría", description = "Actualiza la información de una categoría existente")
+    @Operation(summary = "Mover categoría",
+            description = "Cambia la categoría padre, junto con todo su subárbol; padreId null la deja como raíz")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Categoría movida exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Categoria.class))),
+            @ApiResponse(responseCode = "400", description = "El nuevo padre es la categoría o una de sus subcategorías", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Categoría o categoría padre no encontrada", content = @Content)
+    })
+    @PatchMapping("/{id}/parent")
+    public ResponseEntity<Categoria> moverCategoria(
+            @Parameter(description = "ID de la categoría a mover", required = true) @PathVariable Long id,
+            @Parameter(description = "Nuevo padre de la categoría", required = true) @RequestBody MoverCategoriaDto movimiento) {
+        return ResponseEntity.ok(categoriaImp.moverCategoria(id, movimiento.getPadreId()));
+    }
+
+    @Operation(summary = "Actualizar categoría",
+            description = "Actualiza nombre y estado de una categoría existente; el padre se cambia con PATCH /category/{id}/parent")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Categoría actualizada exitosamente",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Categoria.class))),
@@ -6,4 +6,5 @@ import lombok.Data;
 public class CategoriaDto {
     private String nombreCategoria;
     private Short estado;
+    private Long padreId;
 }
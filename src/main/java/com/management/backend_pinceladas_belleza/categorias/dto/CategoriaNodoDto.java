@@ -0,0 +1,20 @@
+package com.management.backend_pinceladas_belleza.categorias.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Nodo del árbol de categorías. hijos está ordenado por nombre y es vacío en las hojas.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoriaNodoDto {
+    private Long id;
+    private String nombreCategoria;
+    private Short estado;
+    private List<CategoriaNodoDto> hijos;
+}
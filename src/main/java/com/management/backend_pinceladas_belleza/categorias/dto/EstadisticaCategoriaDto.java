@@ -0,0 +1,21 @@
+package com.management.backend_pinceladas_belleza.categorias.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Totales de inventario de una categoría: productos, unidades en stock y valor (precio * stock).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstadisticaCategoriaDto {
+    private Long categoriaId;
+    private String nombreCategoria;
+    private long cantidadProductos;
+    private long unidadesStock;
+    private BigDecimal valorInventario;
+}
@@ -0,0 +1,9 @@
+package com.management.backend_pinceladas_belleza.categorias.dto;
+
+import lombok.Data;
+
+@Data
+public class MoverCategoriaDto {
+    // null deja la categoría como raíz
+    private Long padreId;
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
@@ -14,6 +16,8 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @Builder
 @Table(name = "categorias")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categorias")
 public class Categoria {
 
     @Id
@@ -28,4 +32,8 @@ public class Categoria {
 
     @Column(name = "fecha_created")
     private LocalDate fechaCreated;
+
+    // null en las categorías raíz; los caminos completos están en categorias_jerarquia
+    @Column(name = "padre_id")
+    private Long padreId;
 }
@@ -0,0 +1,29 @@
+package com.management.backend_pinceladas_belleza.categorias.entity;
+
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Fila de la tabla de clausura de categorías: ancestro es ancestro de descendiente a la
+ * distancia profundidad (0 para la categoría consigo misma).
+ *
+ * Solo se mapea para usarla en subconsultas JPQL; las escrituras van por
+ * CategoriaJerarquiaRepository.
+ */
+@Entity
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "categorias_jerarquia")
+public class CategoriaJerarquia {
+
+    @EmbeddedId
+    private CategoriaJerarquiaId id;
+
+    @Column(name = "profundidad")
+    private Integer profundidad;
+}
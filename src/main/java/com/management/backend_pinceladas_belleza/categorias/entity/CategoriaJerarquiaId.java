@@ -0,0 +1,22 @@
+package com.management.backend_pinceladas_belleza.categorias.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoriaJerarquiaId implements Serializable {
+
+    @Column(name = "ancestro_id")
+    private Long ancestroId;
+
+    @Column(name = "descendiente_id")
+    private Long descendienteId;
+}
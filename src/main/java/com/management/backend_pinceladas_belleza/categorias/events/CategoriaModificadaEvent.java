@@ -0,0 +1,15 @@
+package com.management.backend_pinceladas_belleza.categorias.events;
+
+import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Se publica en cada escritura de CategoriaService. categoria es null cuando se eliminó.
+ */
+@Getter
+@AllArgsConstructor
+public class CategoriaModificadaEvent {
+    private final Long categoriaId;
+    private final Categoria categoria;
+}
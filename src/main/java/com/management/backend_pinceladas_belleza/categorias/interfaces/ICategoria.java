@@ -1,6 +1,7 @@
 package com.management.backend_pinceladas_belleza.categorias.interfaces;
 
 import com.management.backend_pinceladas_belleza.categorias.dto.CategoriaDto;
+import com.management.backend_pinceladas_belleza.categorias.dto.CategoriaNodoDto;
 import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
 
 import java.util.List;
@@ -10,9 +11,13 @@ public interface ICategoria {
 
     Categoria obtenerCategoriaId(Long categoriaId);
 
+    List<CategoriaNodoDto> obtenerArbol();
+
     Categoria insertarCategoria(CategoriaDto categoria);
 
     Categoria actualizarCategoria(Categoria categoria);
 
+    Categoria moverCategoria(Long categoriaId, Long nuevoPadreId);
+
     String eliminarCategoria(Long id);
 }
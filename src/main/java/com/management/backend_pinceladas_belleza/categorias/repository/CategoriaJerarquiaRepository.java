@@ -0,0 +1,71 @@
+package com.management.backend_pinceladas_belleza.categorias.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Mantenimiento de la tabla de clausura pinceladasdb.categorias_jerarquia (ver db/scripts/006).
+ *
+ * Va por JDBC y no por consultas nativas de Hibernate: un UPDATE nativo sin espacios de consulta
+ * declarados vacía toda la caché de segundo nivel. Debe llamarse dentro de la transacción que
+ * guarda la categoría, después de bloquear(): dos movimientos concurrentes que validan cada uno
+ * contra la jerarquía vieja podrían dejar un ciclo.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CategoriaJerarquiaRepository {
+    // Clave del advisory lock de Postgres; se libera sola al terminar la transacción
+    private static final long CLAVE_BLOQUEO = 20_018L;
+
+    private static final String BLOQUEAR = "SELECT pg_advisory_xact_lock(?)";
+
+    // Los caminos hacia los ancestros del padre, más el camino a sí misma
+    private static final String INSERTAR = "INSERT INTO pinceladasdb.categorias_jerarquia " +
+            "(ancestro_id, descendiente_id, profundidad) " +
+            "SELECT ancestro_id, ?, profundidad + 1 FROM pinceladasdb.categorias_jerarquia WHERE descendiente_id = ? " +
+            "UNION ALL SELECT ?, ?, 0";
+
+    // Corta los caminos entre el subárbol y sus ancestros actuales; los internos se conservan
+    private static final String DESCONECTAR = "DELETE FROM pinceladasdb.categorias_jerarquia " +
+            "WHERE descendiente_id IN (SELECT descendiente_id FROM pinceladasdb.categorias_jerarquia WHERE ancestro_id = ?) " +
+            "AND ancestro_id NOT IN (SELECT descendiente_id FROM pinceladasdb.categorias_jerarquia WHERE ancestro_id = ?)";
+
+    // Cada ancestro del nuevo padre queda conectado con cada nodo del subárbol
+    private static final String CONECTAR = "INSERT INTO pinceladasdb.categorias_jerarquia " +
+            "(ancestro_id, descendiente_id, profundidad) " +
+            "SELECT sup.ancestro_id, sub.descendiente_id, sup.profundidad + sub.profundidad + 1 " +
+            "FROM pinceladasdb.categorias_jerarquia sup " +
+            "CROSS JOIN pinceladasdb.categorias_jerarquia sub " +
+            "WHERE sup.descendiente_id = ? AND sub.ancestro_id = ?";
+
+    private static final String ES_DESCENDIENTE = "SELECT EXISTS (SELECT 1 FROM pinceladasdb.categorias_jerarquia " +
+            "WHERE ancestro_id = ? AND descendiente_id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Serializa los cambios de jerarquía entre instancias hasta el fin de la transacción actual.
+     */
+    public void bloquear() {
+        jdbcTemplate.queryForList(BLOQUEAR, CLAVE_BLOQUEO);
+    }
+
+    public void insertar(Long categoriaId, Long padreId) {
+        jdbcTemplate.update(INSERTAR, categoriaId, padreId, categoriaId, categoriaId);
+    }
+
+    /**
+     * Mueve la categoría y todo su subárbol bajo nuevoPadreId (null la deja como raíz).
+     */
+    public void mover(Long categoriaId, Long nuevoPadreId) {
+        jdbcTemplate.update(DESCONECTAR, categoriaId, categoriaId);
+        if (nuevoPadreId != null) {
+            jdbcTemplate.update(CONECTAR, nuevoPadreId, categoriaId);
+        }
+    }
+
+    public boolean esDescendiente(Long categoriaId, Long ancestroId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(ES_DESCENDIENTE, Boolean.class, ancestroId, categoriaId));
+    }
+}
@@ -1,25 +1,40 @@
 package com.management.backend_pinceladas_belleza.categorias.services;
 
 import com.management.backend_pinceladas_belleza.categorias.dto.CategoriaDto;
+import com.management.backend_pinceladas_belleza.categorias.dto.CategoriaNodoDto;
 import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
+import com.management.backend_pinceladas_belleza.categorias.events.CategoriaModificadaEvent;
 import com.management.backend_pinceladas_belleza.categorias.interfaces.ICategoria;
+import com.management.backend_pinceladas_belleza.categorias.repository.CategoriaJerarquiaRepository;
 import com.management.backend_pinceladas_belleza.categorias.repository.CategoriaRepository;
+import com.management.backend_pinceladas_belleza.catalogo.services.ReferenciasCache;
+import com.management.backend_pinceladas_belleza.common.CoalescedorLecturas;
 import com.management.backend_pinceladas_belleza.exception.BadRequestException;
 import com.management.backend_pinceladas_belleza.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class CategoriaService implements ICategoria {
 
     private final CategoriaRepository categoriaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CoalescedorLecturas coalescedor;
+    private final ReferenciasCache referencias;
+    private final CategoriaJerarquiaRepository jerarquiaRepository;
 
     @Override
     public List<Categoria> obtenerCategorias() {
-        return categoriaRepository.findAll();
+        if (referencias.isCargado()) {
+            return referencias.getCategorias();
+        }
+        return coalescedor.ejecutar("categorias:todas", categoriaRepository::findAll);
     }
 
     @Override
@@ -29,6 +44,12 @@ public class CategoriaService implements ICategoria {
     }
 
     @Override
+    public List<CategoriaNodoDto> obtenerArbol() {
+        return referencias.getArbol();
+    }
+
+    @Override
+    @Transactional
     public Categoria insertarCategoria(CategoriaDto categoriaDto) {
         if (categoriaDto.getNombreCategoria() == null || categoriaDto.getNombreCategoria().trim().isEmpty()) {
             throw new BadRequestException("El nombre de la categoría es requerido");
@@ -37,10 +58,19 @@ public class CategoriaService implements ICategoria {
         Categoria categoria = new Categoria();
         categoria.setNombreCategoria(categoriaDto.getNombreCategoria());
         categoria.setEstado(categoriaDto.getEstado());
-        return categoriaRepository.save(categoria);
+        if (categoriaDto.getPadreId() != null) {
+            // Los caminos se copian de los del padre: no deben leerse a mitad de un movimiento
+            jerarquiaRepository.bloquear();
+        }
+        categoria.setPadreId(validarPadre(categoriaDto.getPadreId()));
+        Categoria guardada = categoriaRepository.save(categoria);
+        jerarquiaRepository.insertar(guardada.getId(), guardada.getPadreId());
+        eventPublisher.publishEvent(new CategoriaModificadaEvent(guardada.getId(), guardada));
+        return guardada;
     }
 
     @Override
+    @Transactional
     public Categoria actualizarCategoria(Categoria categoria) {
         if (categoria.getId() == null) {
             throw new BadRequestException("El ID de la categoría es requerido para actualizar");
@@ -49,14 +79,50 @@ public class CategoriaService implements ICategoria {
         Categoria optionalCategoria = obtenerCategoriaId(categoria.getId());
         optionalCategoria.setNombreCategoria(categoria.getNombreCategoria());
         optionalCategoria.setEstado(categoria.getEstado());
-        return categoriaRepository.save(optionalCategoria);
+        Categoria guardada = categoriaRepository.save(optionalCategoria);
+        eventPublisher.publishEvent(new CategoriaModificadaEvent(guardada.getId(), guardada));
+        return guardada;
+
+    }
 
+    @Override
+    @Transactional
+    public Categoria moverCategoria(Long categoriaId, Long nuevoPadreId) {
+        // Antes de leer: la validación de ciclos solo vale si nadie más mueve a la vez
+        jerarquiaRepository.bloquear();
+        Categoria categoria = obtenerCategoriaId(categoriaId);
+        if (Objects.equals(categoria.getPadreId(), nuevoPadreId)) {
+            return categoria;
+        }
+        validarPadre(nuevoPadreId);
+        if (nuevoPadreId != null && jerarquiaRepository.esDescendiente(nuevoPadreId, categoriaId)) {
+            throw new BadRequestException("Una categoría no puede moverse dentro de sí misma ni de sus subcategorías");
+        }
+        categoria.setPadreId(nuevoPadreId);
+        jerarquiaRepository.mover(categoriaId, nuevoPadreId);
+        Categoria guardada = categoriaRepository.save(categoria);
+        eventPublisher.publishEvent(new CategoriaModificadaEvent(guardada.getId(), guardada));
+        return guardada;
     }
 
     @Override
+    @Transactional
     public String eliminarCategoria(Long id) {
         Categoria categoriaDB = obtenerCategoriaId(id);
+        if (categoriaRepository.existsByPadreId(id)) {
+            throw new BadRequestException("La categoría tiene subcategorías; muévalas o elimínelas primero");
+        }
         categoriaRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoriaModificadaEvent(id, null));
         return "Categoría eliminada exitosamente";
     }
+
+    private Long validarPadre(Long padreId) {
+        if (padreId == null) {
+            return null;
+        }
+        referencias.buscarCategoria(padreId)
+                .orElseThrow(() -> new ResourceNotFoundException("Categoría padre", "id", padreId));
+        return padreId;
+    }
 }
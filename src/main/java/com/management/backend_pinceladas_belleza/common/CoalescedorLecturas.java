@@ -0,0 +1,61 @@
+package com.management.backend_pinceladas_belleza.common;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa lecturas idénticas concurrentes ("single flight"): mientras una carga para una clave
+ * está en curso, las demás llamadas con la misma clave esperan su resultado en lugar de pedir
+ * otra conexión del pool. No guarda resultados; al terminar la carga la clave se libera.
+ *
+ * El resultado se comparte entre todos los que esperaban, así que solo debe usarse en lecturas
+ * cuyo resultado no se modifica después.
+ */
+@Component
+public class CoalescedorLecturas {
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> enCurso = new ConcurrentHashMap<>();
+
+    public <T> T ejecutar(String clave, Supplier<T> carga) {
+        CompletableFuture<Object> propia = new CompletableFuture<>();
+        CompletableFuture<Object> existente = enCurso.putIfAbsent(clave, propia);
+        if (existente != null) {
+            return esperar(existente);
+        }
+
+        try {
+            T resultado = carga.get();
+            propia.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            propia.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propia);
+        }
+    }
+
+    public int enCurso() {
+        return enCurso.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T esperar(CompletableFuture<Object> futuro) {
+        try {
+            return (T) futuro.join();
+        } catch (CompletionException e) {
+            // Los que esperaban reciben la misma excepción que la carga original (p. ej. 404)
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.management.backend_pinceladas_belleza.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+import com.management.backend_pinceladas_belleza.exception.DuplicateResourceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Reintentos seguros de POST con la cabecera Idempotency-Key.
+ *
+ * La primera solicitud con una clave reserva una fila en pinceladasdb.idempotencia (confirmada de
+ * inmediato, visible para las demás instancias) y ejecuta la operación; la respuesta se guarda en
+ * la misma transacción que la escritura de negocio, así que no puede quedar un pedido creado sin
+ * su respuesta. Los reintentos reciben la respuesta original sin volver a ejecutar nada; las
+ * respuestas completas se guardan además en memoria (acotada y con vencimiento) para no ir a la
+ * base en cada reintento.
+ *
+ * Misma clave con otro cuerpo: 400. Clave con la operación todavía en curso: 409. Si la operación
+ * falla la reserva se borra y el cliente puede reintentar con la misma clave.
+ */
+@Slf4j
+@Component
+public class Idempotencia {
+    public static final String CABECERA = "Idempotency-Key";
+
+    private static final int LARGO_MAXIMO_CLAVE = 100;
+
+    private final IdempotenciaRepository idempotenciaRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaccion;
+    private final Cache<String, RespuestaIdempotente> respuestas;
+    private final int ttlHoras;
+
+    // Tiempo tras el cual una reserva sin respuesta se considera abandonada
+    @Value("${idempotencia.en-curso-segundos:60}")
+    private int segundosEnCurso;
+
+    public Idempotencia(IdempotenciaRepository idempotenciaRepository,
+                        ObjectMapper objectMapper,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${idempotencia.maximo-entradas:10000}") long maximoEntradas,
+                        @Value("${idempotencia.ttl-horas:24}") int ttlHoras) {
+        this.idempotenciaRepository = idempotenciaRepository;
+        this.objectMapper = objectMapper;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.ttlHoras = ttlHoras;
+        this.respuestas = Caffeine.newBuilder()
+                .maximumSize(maximoEntradas)
+                .expireAfterWrite(Duration.ofHours(ttlHoras))
+                .build();
+    }
+
+    /**
+     * Ejecuta la operación una sola vez por clave y alcance. Sin clave la ejecuta siempre.
+     *
+     * @param alcance   operación protegida, p. ej. "POST /pedidos"; la misma clave puede usarse en otra
+     * @param solicitud cuerpo recibido; un reintento debe enviar el mismo
+     * @param tipo      clase de la respuesta, para reconstruirla desde el JSON guardado
+     */
+    public <T> T ejecutar(String clave, String alcance, Object solicitud, Class<T> tipo, Supplier<T> operacion) {
+        if (clave == null) {
+            return operacion.get();
+        }
+        if (clave.isBlank() || clave.length() > LARGO_MAXIMO_CLAVE) {
+            throw new BadRequestException("La cabecera " + CABECERA + " debe tener entre 1 y " + LARGO_MAXIMO_CLAVE + " caracteres");
+        }
+        String huella = huella(alcance, solicitud);
+        String llave = alcance + ' ' + clave;
+
+        RespuestaIdempotente guardada = respuestas.getIfPresent(llave);
+        if (guardada == null) {
+            if (idempotenciaRepository.reservar(alcance, clave, huella, segundosEnCurso)) {
+                return ejecutarReservada(llave, alcance, clave, huella, tipo, operacion);
+            }
+            guardada = idempotenciaRepository.buscar(alcance, clave).orElse(null);
+        }
+
+        if (guardada != null && !guardada.getHuella().equals(huella)) {
+            throw new BadRequestException("La clave " + CABECERA + " ya se usó con una solicitud distinta");
+        }
+        if (guardada == null || !guardada.isCompleta()) {
+            throw new DuplicateResourceException("Hay una solicitud en curso con la misma clave " + CABECERA + "; reintente en unos segundos");
+        }
+        respuestas.put(llave, guardada);
+        return leer(guardada.getRespuesta(), tipo);
+    }
+
+    @Scheduled(cron = "${idempotencia.purga-cron:0 30 3 * * *}")
+    public void purgar() {
+        int filas = idempotenciaRepository.purgar(ttlHoras);
+        log.info("Claves de idempotencia vencidas eliminadas: {}", filas);
+    }
+
+    private <T> T ejecutarReservada(String llave, String alcance, String clave, String huella,
+                                    Class<T> tipo, Supplier<T> operacion) {
+        AtomicReference<String> json = new AtomicReference<>();
+        T resultado;
+        try {
+            // El servicio se une a esta transacción: la respuesta se confirma junto con la escritura
+            resultado = transaccion.execute(estado -> {
+                T valor = operacion.get();
+                json.set(escribir(valor));
+                idempotenciaRepository.completar(alcance, clave, json.get());
+                return valor;
+            });
+        } catch (RuntimeException | Error e) {
+            idempotenciaRepository.liberar(alcance, clave);
+            throw e;
+        }
+        respuestas.put(llave, new RespuestaIdempotente(huella, json.get()));
+        return resultado;
+    }
+
+    private String huella(String alcance, Object solicitud) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(alcance.getBytes(StandardCharsets.UTF_8));
+            sha.update(objectMapper.writeValueAsBytes(solicitud));
+            return Base64.getEncoder().encodeToString(sha.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo calcular la huella de la solicitud", e);
+        }
+    }
+
+    private String escribir(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo guardar la respuesta idempotente", e);
+        }
+    }
+
+    private <T> T leer(String json, Class<T> tipo) {
+        try {
+            return objectMapper.readValue(json, tipo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo leer la respuesta idempotente guardada", e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.management.backend_pinceladas_belleza.common;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tabla pinceladasdb.idempotencia (ver db/scripts/010) por JDBC: no participa de la caché de
+ * segundo nivel y reservar debe confirmarse fuera de la transacción de la operación.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotenciaRepository {
+    // Inserta la reserva, o toma una reserva en curso abandonada (instancia caída a mitad de camino)
+    private static final String RESERVAR = "INSERT INTO pinceladasdb.idempotencia (alcance, clave, huella, creado) " +
+            "VALUES (?, ?, ?, now()) " +
+            "ON CONFLICT (alcance, clave) DO UPDATE SET huella = EXCLUDED.huella, creado = now() " +
+            "WHERE pinceladasdb.idempotencia.respuesta IS NULL " +
+            "AND pinceladasdb.idempotencia.creado < now() - make_interval(secs => ?)";
+
+    private static final String BUSCAR = "SELECT huella, respuesta FROM pinceladasdb.idempotencia " +
+            "WHERE alcance = ? AND clave = ?";
+
+    private static final String COMPLETAR = "UPDATE pinceladasdb.idempotencia SET respuesta = ? " +
+            "WHERE alcance = ? AND clave = ?";
+
+    private static final String LIBERAR = "DELETE FROM pinceladasdb.idempotencia " +
+            "WHERE alcance = ? AND clave = ? AND respuesta IS NULL";
+
+    private static final String PURGAR = "DELETE FROM pinceladasdb.idempotencia " +
+            "WHERE creado < now() - make_interval(hours => ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * true si esta llamada quedó a cargo de ejecutar la operación.
+     */
+    public boolean reservar(String alcance, String clave, String huella, int segundosEnCurso) {
+        return jdbcTemplate.update(RESERVAR, alcance, clave, huella, segundosEnCurso) == 1;
+    }
+
+    public Optional<RespuestaIdempotente> buscar(String alcance, String clave) {
+        List<RespuestaIdempotente> filas = jdbcTemplate.query(BUSCAR,
+                (rs, i) -> new RespuestaIdempotente(rs.getString("huella"), rs.getString("respuesta")),
+                alcance, clave);
+        return filas.stream().findFirst();
+    }
+
+    public void completar(String alcance, String clave, String respuesta) {
+        jdbcTemplate.update(COMPLETAR, respuesta, alcance, clave);
+    }
+
+    public void liberar(String alcance, String clave) {
+        jdbcTemplate.update(LIBERAR, alcance, clave);
+    }
+
+    public int purgar(int horas) {
+        return jdbcTemplate.update(PURGAR, horas);
+    }
+}
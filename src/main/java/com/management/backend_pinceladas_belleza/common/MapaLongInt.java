@@ -0,0 +1,170 @@
+package com.management.backend_pinceladas_belleza.common;
+
+import java.util.Arrays;
+
+/**
+ * Mapa long → int sin objetos por entrada: dos arreglos primitivos con direccionamiento abierto
+ * (sondeo lineal). Un Map&lt;Long, Integer&gt; con 5 entradas ocupa cerca de 400 bytes; este, unos 100.
+ *
+ * Las claves deben ser positivas (ids de base de datos): 0 marca una celda libre. Un valor 0 no se
+ * guarda, equivale a quitar la clave. No es seguro entre hilos; quien lo comparte sincroniza.
+ */
+public class MapaLongInt {
+    private static final int CAPACIDAD_MINIMA = 4;
+
+    private long[] claves;
+    private int[] valores;
+    private int tamano;
+
+    public MapaLongInt() {
+        this(CAPACIDAD_MINIMA);
+    }
+
+    public MapaLongInt(int esperados) {
+        int capacidad = CAPACIDAD_MINIMA;
+        // Factor de carga máximo 0,75
+        while (capacidad * 3 < esperados * 4) {
+            capacidad <<= 1;
+        }
+        claves = new long[capacidad];
+        valores = new int[capacidad];
+    }
+
+    public interface Visitante {
+        void visitar(long clave, int valor);
+    }
+
+    public int get(long clave) {
+        int i = buscar(clave);
+        return i >= 0 ? valores[i] : 0;
+    }
+
+    public boolean contiene(long clave) {
+        return buscar(clave) >= 0;
+    }
+
+    /**
+     * Asigna el valor y devuelve el anterior (0 si no estaba). Con valor 0 quita la clave.
+     */
+    public int put(long clave, int valor) {
+        validar(clave);
+        if (valor == 0) {
+            return remove(clave);
+        }
+        int i = ranura(clave, claves.length);
+        while (claves[i] != 0) {
+            if (claves[i] == clave) {
+                int anterior = valores[i];
+                valores[i] = valor;
+                return anterior;
+            }
+            i = (i + 1) & (claves.length - 1);
+        }
+        claves[i] = clave;
+        valores[i] = valor;
+        if (++tamano * 4 > claves.length * 3) {
+            redimensionar(claves.length << 1);
+        }
+        return 0;
+    }
+
+    /**
+     * Suma delta al valor actual y devuelve el resultado; si queda en 0 o menos se quita la clave.
+     */
+    public int sumar(long clave, int delta) {
+        int nuevo = Math.addExact(get(clave), delta);
+        put(clave, Math.max(nuevo, 0));
+        return Math.max(nuevo, 0);
+    }
+
+    public int remove(long clave) {
+        int i = buscar(clave);
+        if (i < 0) {
+            return 0;
+        }
+        int anterior = valores[i];
+        // Borrado con desplazamiento hacia atrás: sin lápidas, las búsquedas siguen cortando en la primera celda libre
+        int mascara = claves.length - 1;
+        int libre = i;
+        int j = (i + 1) & mascara;
+        while (claves[j] != 0) {
+            int ideal = ranura(claves[j], claves.length);
+            // La clave en j puede ocupar el hueco si su ranura ideal no está entre libre (exclusivo) y j
+            if (((j - ideal) & mascara) >= ((j - libre) & mascara)) {
+                claves[libre] = claves[j];
+                valores[libre] = valores[j];
+                libre = j;
+            }
+            j = (j + 1) & mascara;
+        }
+        claves[libre] = 0;
+        valores[libre] = 0;
+        tamano--;
+        return anterior;
+    }
+
+    public void clear() {
+        Arrays.fill(claves, 0);
+        Arrays.fill(valores, 0);
+        tamano = 0;
+    }
+
+    public int size() {
+        return tamano;
+    }
+
+    public boolean isEmpty() {
+        return tamano == 0;
+    }
+
+    public void forEach(Visitante visitante) {
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != 0) {
+                visitante.visitar(claves[i], valores[i]);
+            }
+        }
+    }
+
+    private int buscar(long clave) {
+        if (clave <= 0) {
+            return -1;
+        }
+        int i = ranura(clave, claves.length);
+        while (claves[i] != 0) {
+            if (claves[i] == clave) {
+                return i;
+            }
+            i = (i + 1) & (claves.length - 1);
+        }
+        return -1;
+    }
+
+    private void redimensionar(int capacidad) {
+        long[] clavesAnteriores = claves;
+        int[] valoresAnteriores = valores;
+        claves = new long[capacidad];
+        valores = new int[capacidad];
+        for (int i = 0; i < clavesAnteriores.length; i++) {
+            if (clavesAnteriores[i] != 0) {
+                int j = ranura(clavesAnteriores[i], capacidad);
+                while (claves[j] != 0) {
+                    j = (j + 1) & (capacidad - 1);
+                }
+                claves[j] = clavesAnteriores[i];
+                valores[j] = valoresAnteriores[i];
+            }
+        }
+    }
+
+    private static void validar(long clave) {
+        if (clave <= 0) {
+            throw new IllegalArgumentException("Las claves deben ser positivas: " + clave);
+        }
+    }
+
+    // Mezcla los bits (ids consecutivos no caen en ranuras consecutivas) y toma los bits bajos
+    private static int ranura(long clave, int capacidad) {
+        long h = clave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (capacidad - 1);
+    }
+}
@@ -0,0 +1,19 @@
+package com.management.backend_pinceladas_belleza.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Fila de pinceladasdb.idempotencia: huella de la solicitud y respuesta en JSON (null mientras la
+ * operación está en curso).
+ */
+@Getter
+@AllArgsConstructor
+public class RespuestaIdempotente {
+    private final String huella;
+    private final String respuesta;
+
+    public boolean isCompleta() {
+        return respuesta != null;
+    }
+}
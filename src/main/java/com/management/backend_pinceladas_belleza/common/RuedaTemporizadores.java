@@ -0,0 +1,87 @@
+package com.management.backend_pinceladas_belleza.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rueda de temporizadores (hashed timing wheel): claves ordenadas por vencimiento en ranuras de
+ * resolucionMs. Programar y cancelar son O(1); avanzar solo visita las ranuras de los tics
+ * transcurridos, sin recorrer todas las claves pendientes. Una clave que vence más allá de una
+ * vuelta completa queda en su ranura hasta que el tic la alcanza.
+ *
+ * Los vencimientos se redondean hacia arriba al tic siguiente: una clave nunca sale antes de
+ * tiempo, a lo sumo resolucionMs después.
+ */
+public class RuedaTemporizadores<K> {
+    private final long resolucionMs;
+    private final List<Set<K>> ranuras;
+    private final Map<K, Long> tics = new HashMap<>();
+    private long ticActual;
+
+    public RuedaTemporizadores(int cantidadRanuras, long resolucionMs, long ahoraMs) {
+        if (cantidadRanuras < 1 || resolucionMs < 1) {
+            throw new IllegalArgumentException("La rueda necesita al menos una ranura y una resolución positiva");
+        }
+        this.resolucionMs = resolucionMs;
+        this.ranuras = new ArrayList<>(cantidadRanuras);
+        for (int i = 0; i < cantidadRanuras; i++) {
+            ranuras.add(new LinkedHashSet<>());
+        }
+        this.ticActual = Math.floorDiv(ahoraMs, resolucionMs);
+    }
+
+    /**
+     * Programa (o reprograma) la clave para vencer en venceMs. Un vencimiento ya pasado sale en
+     * el próximo avance.
+     */
+    public synchronized void programar(K clave, long venceMs) {
+        cancelar(clave);
+        long tic = Math.max(Math.floorDiv(venceMs + resolucionMs - 1, resolucionMs), ticActual + 1);
+        tics.put(clave, tic);
+        ranura(tic).add(clave);
+    }
+
+    public synchronized boolean cancelar(K clave) {
+        Long tic = tics.remove(clave);
+        return tic != null && ranura(tic).remove(clave);
+    }
+
+    /**
+     * Avanza la rueda hasta ahoraMs y devuelve las claves vencidas, que dejan de estar programadas.
+     */
+    public synchronized List<K> avanzar(long ahoraMs) {
+        long objetivo = Math.floorDiv(ahoraMs, resolucionMs);
+        if (objetivo <= ticActual) {
+            return List.of();
+        }
+        // Tras una pausa más larga que una vuelta basta con visitar cada ranura una vez
+        long pasos = Math.min(objetivo - ticActual, ranuras.size());
+        List<K> vencidas = new ArrayList<>();
+        for (long paso = 1; paso <= pasos; paso++) {
+            Iterator<K> claves = ranura(ticActual + paso).iterator();
+            while (claves.hasNext()) {
+                K clave = claves.next();
+                if (tics.get(clave) <= objetivo) {
+                    claves.remove();
+                    tics.remove(clave);
+                    vencidas.add(clave);
+                }
+            }
+        }
+        ticActual = objetivo;
+        return vencidas;
+    }
+
+    public synchronized int pendientes() {
+        return tics.size();
+    }
+
+    private Set<K> ranura(long tic) {
+        return ranuras.get((int) Math.floorMod(tic, (long) ranuras.size()));
+    }
+}
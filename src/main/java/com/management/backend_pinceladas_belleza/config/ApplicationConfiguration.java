@@ -14,8 +14,6 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.List;
-
 @Slf4j
 @Configuration
 public class ApplicationConfiguration {
@@ -32,7 +30,7 @@ public class ApplicationConfiguration {
             return userRepository.findByUsername(username)
                     .map(user -> {
                         log.info("Usuario encontrado: {}", user.getUsername());
-                        return new User(user.getUsername(), user.getPassword(), List.of());
+                        return new User(user.getUsername(), user.getPassword(), user.getAuthorities());
                     })
                     .orElseThrow(() -> {
                         log.warn("Usuario NO encontrado");
@@ -0,0 +1,44 @@
+package com.management.backend_pinceladas_belleza.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+    public static final String PRODUCTOS = "productos";
+    public static final String PRODUCTOS_LISTA = "productosLista";
+
+    @Value("${productos.cache.maximo-entradas:2000}")
+    private long maximoEntradasProductos;
+
+    @Value("${productos.cache.ttl-minutos:10}")
+    private long ttlMinutosProductos;
+
+    @Value("${productos.cache.lista-ttl-minutos:2}")
+    private long ttlMinutosLista;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // recordStats() publica aciertos/fallos en /actuator/metrics/cache.gets
+        cacheManager.registerCustomCache(PRODUCTOS, Caffeine.newBuilder()
+                .maximumSize(maximoEntradasProductos)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutosProductos))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PRODUCTOS_LISTA, Caffeine.newBuilder()
+                .maximumSize(10)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutosLista))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -1,5 +1,6 @@
 package com.management.backend_pinceladas_belleza.config;
 
+import com.management.backend_pinceladas_belleza.auth.entity.Usuario;
 import com.management.backend_pinceladas_belleza.config.jwt.JwtAuthenticationFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,8 +37,11 @@ public class SecurityConfiguration {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeRequests(auth -> auth
                         .antMatchers("/auth/**").permitAll()
+                        .antMatchers(HttpMethod.GET, "/productos/export").hasRole(Usuario.ROL_ADMIN)
                         .antMatchers(HttpMethod.GET, "/productos/**").permitAll()
+                        .antMatchers(HttpMethod.POST, "/productos/batch").permitAll()
                         .antMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        .antMatchers("/actuator/health/**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .csrf(csrf -> csrf.disable())
@@ -56,7 +60,8 @@ public class SecurityConfiguration {
 
         configuration.setAllowedOrigins(List.of("https://pinceladas-shop.netlify.app", "https://pinceladasdebelleza.netlify.app", "http://localhost:4201", "http://localhost:4200"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PATCH", "DELETE"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "If-None-Match", "Idempotency-Key"));
+        configuration.setExposedHeaders(List.of("ETag"));
         configuration.setAllowCredentials(Boolean.valueOf(true));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
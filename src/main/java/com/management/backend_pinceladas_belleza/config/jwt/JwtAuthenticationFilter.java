@@ -28,13 +28,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private static final List<String> PUBLIC_ENDPOINTS = Arrays.asList(
         "/auth/",
-        "/productos",
-        "/productos/",
         "/v3/api-docs/",
         "/swagger-ui/",
         "/swagger-ui.html"
     );
 
+    // Solo las lecturas del catálogo son públicas (POST /productos/batch también es una lectura);
+    // las escrituras y la exportación requieren token
+    private static final String PRODUCTOS = "/productos";
+    private static final String PRODUCTOS_EXPORT = "/productos/export";
+    private static final String PRODUCTOS_BATCH = "/productos/batch";
+
     public JwtAuthenticationFilter(
             JwtService jwtService,
             UserDetailsService userDetailsService,
@@ -54,7 +58,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String requestPath = request.getRequestURI();
         
         // Skip JWT validation for public endpoints
-        if (isPublicEndpoint(requestPath)) {
+        if (isPublicEndpoint(request.getMethod(), requestPath)) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -93,7 +97,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
     
-    private boolean isPublicEndpoint(String requestPath) {
+    private boolean isPublicEndpoint(String method, String requestPath) {
+        if (requestPath.startsWith(PRODUCTOS)) {
+            if ("POST".equals(method)) {
+                return requestPath.equals(PRODUCTOS_BATCH);
+            }
+            return "GET".equals(method) && !requestPath.startsWith(PRODUCTOS_EXPORT);
+        }
         return PUBLIC_ENDPOINTS.stream().anyMatch(requestPath::startsWith);
     }
 }
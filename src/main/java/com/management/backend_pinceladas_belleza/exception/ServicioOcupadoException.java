@@ -0,0 +1,7 @@
+package com.management.backend_pinceladas_belleza.exception;
+
+public class ServicioOcupadoException extends RuntimeException {
+    public ServicioOcupadoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.management.backend_pinceladas_belleza.exception;
+
+public class StockInsuficienteException extends RuntimeException {
+    public StockInsuficienteException(String message) {
+        super(message);
+    }
+
+    public StockInsuficienteException(Long productoId, Integer cantidadSolicitada) {
+        super(String.format("Stock insuficiente para el producto con id: '%s' (solicitado: %s)", productoId, cantidadSolicitada));
+    }
+}
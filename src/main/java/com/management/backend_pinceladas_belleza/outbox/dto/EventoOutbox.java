@@ -0,0 +1,25 @@
+package com.management.backend_pinceladas_belleza.outbox.dto;
+
+import lombok.*;
+
+/**
+ * Evento leído de pinceladasdb.outbox. datos es el evento de aplicación serializado en JSON.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventoOutbox {
+    public static final String PRODUCTO_MODIFICADO = "producto.modificado";
+    public static final String STOCK_DESCONTADO = "stock.descontado";
+    public static final String STOCK_REPUESTO = "stock.repuesto";
+    public static final String PEDIDO_CREADO = "pedido.creado";
+    public static final String PRODUCTOS_IMPORTADOS = "productos.importados";
+
+    private Long id;
+    private String tipo;
+    private String datos;
+    // Incluye la entrega actual: mayor a 1 significa que el evento ya se entregó antes
+    private Integer intentos;
+}
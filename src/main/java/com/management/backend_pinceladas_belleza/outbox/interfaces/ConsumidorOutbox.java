@@ -0,0 +1,20 @@
+package com.management.backend_pinceladas_belleza.outbox.interfaces;
+
+import com.management.backend_pinceladas_belleza.outbox.dto.EventoOutbox;
+
+import java.util.List;
+
+/**
+ * Destino de los eventos de la bandeja de salida. Cada bean que implementa esta interfaz recibe,
+ * por lote, los eventos cuyo tipo acepta.
+ *
+ * La entrega es al menos una vez: si un consumidor lanza una excepción el lote se reintenta más
+ * tarde para todos los consumidores, y una instancia que cae a mitad de lote deja sus eventos para
+ * otra. Los consumidores deben tolerar eventos repetidos. Cada evento se entrega en una sola
+ * instancia: lo que debe ocurrir en todas (cachés locales) no va por aquí.
+ */
+public interface ConsumidorOutbox {
+    boolean acepta(String tipo);
+
+    void consumir(List<EventoOutbox> eventos);
+}
@@ -0,0 +1,74 @@
+package com.management.backend_pinceladas_belleza.outbox.repository;
+
+import com.management.backend_pinceladas_belleza.outbox.dto.EventoOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabla pinceladasdb.outbox (ver db/scripts/013) por JDBC. insertar debe llamarse dentro de la
+ * transacción de la escritura que origina el evento.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+    private static final String INSERTAR = "INSERT INTO pinceladasdb.outbox (tipo, datos) VALUES (?, ?)";
+
+    // SKIP LOCKED reparte los lotes entre instancias sin que se esperen entre sí; el UPDATE reserva
+    // las filas hasta procesar_desde y se confirma solo, así no queda una conexión tomada mientras
+    // los consumidores trabajan
+    private static final String TOMAR = "UPDATE pinceladasdb.outbox o " +
+            "SET intentos = o.intentos + 1, procesar_desde = now() + make_interval(secs => ?) " +
+            "FROM (SELECT id FROM pinceladasdb.outbox WHERE procesar_desde <= now() " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) s " +
+            "WHERE o.id = s.id RETURNING o.id, o.tipo, o.datos, o.intentos";
+
+    private static final String ELIMINAR = "DELETE FROM pinceladasdb.outbox WHERE id = ANY (?)";
+
+    // Espera de 2^intentos segundos, con tope
+    private static final String REPROGRAMAR = "UPDATE pinceladasdb.outbox " +
+            "SET procesar_desde = now() + make_interval(secs => LEAST(power(2, intentos), ?)), ultimo_error = ? " +
+            "WHERE id = ?";
+
+    private static final int LARGO_MAXIMO_ERROR = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertar(String tipo, String datos) {
+        jdbcTemplate.update(INSERTAR, tipo, datos);
+    }
+
+    /**
+     * Reserva hasta limite eventos pendientes por segundosReserva y los devuelve en orden de id.
+     */
+    public List<EventoOutbox> tomar(int limite, int segundosReserva) {
+        List<EventoOutbox> eventos = new ArrayList<>(jdbcTemplate.query(TOMAR, (rs, i) -> EventoOutbox.builder()
+                .id(rs.getLong("id"))
+                .tipo(rs.getString("tipo"))
+                .datos(rs.getString("datos"))
+                .intentos(rs.getInt("intentos"))
+                .build(), segundosReserva, limite));
+        eventos.sort(Comparator.comparing(EventoOutbox::getId));
+        return eventos;
+    }
+
+    public void eliminar(Collection<Long> ids) {
+        jdbcTemplate.update(ELIMINAR, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+
+    public void reprogramar(Map<Long, String> errores, int segundosMaximos) {
+        List<Map.Entry<Long, String>> filas = new ArrayList<>(errores.entrySet());
+        jdbcTemplate.batchUpdate(REPROGRAMAR, filas, filas.size(), (ps, fila) -> {
+            String error = fila.getValue();
+            ps.setInt(1, segundosMaximos);
+            ps.setString(2, error != null && error.length() > LARGO_MAXIMO_ERROR ? error.substring(0, LARGO_MAXIMO_ERROR) : error);
+            ps.setLong(3, fila.getKey());
+        });
+    }
+}
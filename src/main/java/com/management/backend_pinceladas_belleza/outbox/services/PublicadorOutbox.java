@@ -0,0 +1,60 @@
+package com.management.backend_pinceladas_belleza.outbox.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.backend_pinceladas_belleza.outbox.dto.EventoOutbox;
+import com.management.backend_pinceladas_belleza.outbox.repository.OutboxRepository;
+import com.management.backend_pinceladas_belleza.pedidos.events.PedidoCreadoEvent;
+import com.management.backend_pinceladas_belleza.productos.events.ProductoModificadoEvent;
+import com.management.backend_pinceladas_belleza.productos.events.ProductosImportadosEvent;
+import com.management.backend_pinceladas_belleza.productos.events.StockAjustadoEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Copia los eventos de aplicación a pinceladasdb.outbox dentro de la transacción que los publica:
+ * la fila del evento se confirma o se revierte junto con la escritura que lo originó. Una falla al
+ * insertar revierte la escritura; no puede quedar un cambio confirmado sin su evento.
+ *
+ * Publicar uno de estos eventos fuera de una transacción es un error de programación y falla en el
+ * acto (un @TransactionalEventListener sin fallbackExecution lo descartaría sin aviso).
+ */
+@Component
+@RequiredArgsConstructor
+public class PublicadorOutbox {
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    public void alModificarProducto(ProductoModificadoEvent evento) {
+        registrar(EventoOutbox.PRODUCTO_MODIFICADO, evento);
+    }
+
+    @EventListener
+    public void alImportarProductos(ProductosImportadosEvent evento) {
+        registrar(EventoOutbox.PRODUCTOS_IMPORTADOS, evento);
+    }
+
+    @EventListener
+    public void alAjustarStock(StockAjustadoEvent evento) {
+        registrar(evento.isDescuento() ? EventoOutbox.STOCK_DESCONTADO : EventoOutbox.STOCK_REPUESTO, evento);
+    }
+
+    @EventListener
+    public void alCrearPedido(PedidoCreadoEvent evento) {
+        registrar(EventoOutbox.PEDIDO_CREADO, evento);
+    }
+
+    private void registrar(String tipo, Object evento) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("El evento " + tipo + " debe publicarse dentro de la transacción que lo origina");
+        }
+        try {
+            outboxRepository.insertar(tipo, objectMapper.writeValueAsString(evento));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento " + tipo, e);
+        }
+    }
+}
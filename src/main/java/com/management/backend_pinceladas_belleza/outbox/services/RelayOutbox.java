@@ -0,0 +1,108 @@
+package com.management.backend_pinceladas_belleza.outbox.services;
+
+import com.management.backend_pinceladas_belleza.outbox.dto.EventoOutbox;
+import com.management.backend_pinceladas_belleza.outbox.interfaces.ConsumidorOutbox;
+import com.management.backend_pinceladas_belleza.outbox.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Entrega los eventos de pinceladasdb.outbox a los ConsumidorOutbox fuera del camino de las
+ * solicitudes.
+ *
+ * Cada ciclo toma lotes con SELECT ... FOR UPDATE SKIP LOCKED: varias instancias drenan la tabla
+ * en paralelo sin repartirse el mismo evento. Los eventos tomados quedan reservados por
+ * outbox.reserva-segundos; si la instancia cae antes de terminar, otra los vuelve a entregar.
+ * Los eventos procesados se borran en un solo DELETE; los que fallaron se reintentan con espera
+ * exponencial (tope outbox.espera-maxima-segundos). Dentro de una instancia se entregan en orden de
+ * id; entre instancias no hay orden garantizado.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RelayOutbox {
+    private final OutboxRepository outboxRepository;
+    private final ObjectProvider<ConsumidorOutbox> consumidores;
+
+    @Value("${outbox.tamano-lote:50}")
+    private int tamanoLote;
+
+    @Value("${outbox.maximo-lotes:20}")
+    private int maximoLotes;
+
+    @Value("${outbox.reserva-segundos:60}")
+    private int segundosReserva;
+
+    @Value("${outbox.espera-maxima-segundos:300}")
+    private int segundosEsperaMaxima;
+
+    @Scheduled(initialDelayString = "${outbox.relay-ms:1000}", fixedDelayString = "${outbox.relay-ms:1000}")
+    public void drenar() {
+        List<ConsumidorOutbox> destinos = consumidores.orderedStream().collect(Collectors.toList());
+        // Un ciclo no se extiende sin límite: con muchos pendientes, el resto en el próximo
+        for (int lote = 0; lote < maximoLotes; lote++) {
+            List<EventoOutbox> eventos;
+            try {
+                eventos = outboxRepository.tomar(tamanoLote, segundosReserva);
+            } catch (DataAccessException e) {
+                log.warn("No se pudieron leer los eventos pendientes del outbox: {}", e.getMessage());
+                return;
+            }
+            if (eventos.isEmpty()) {
+                return;
+            }
+            entregar(eventos, destinos);
+            if (eventos.size() < tamanoLote) {
+                return;
+            }
+        }
+    }
+
+    private void entregar(List<EventoOutbox> eventos, List<ConsumidorOutbox> destinos) {
+        Map<Long, String> errores = new LinkedHashMap<>();
+        for (ConsumidorOutbox consumidor : destinos) {
+            List<EventoOutbox> suyos = eventos.stream()
+                    .filter(evento -> consumidor.acepta(evento.getTipo()))
+                    .collect(Collectors.toList());
+            if (suyos.isEmpty()) {
+                continue;
+            }
+            try {
+                consumidor.consumir(suyos);
+            } catch (RuntimeException e) {
+                String error = consumidor.getClass().getSimpleName() + ": " + e.getMessage();
+                log.warn("Falló la entrega de {} eventos del outbox a {}", suyos.size(), error);
+                suyos.forEach(evento -> errores.putIfAbsent(evento.getId(), error));
+            }
+        }
+
+        List<Long> entregados = new ArrayList<>(eventos.size());
+        for (EventoOutbox evento : eventos) {
+            if (!errores.containsKey(evento.getId())) {
+                entregados.add(evento.getId());
+            }
+        }
+        try {
+            if (!entregados.isEmpty()) {
+                outboxRepository.eliminar(entregados);
+            }
+            if (!errores.isEmpty()) {
+                outboxRepository.reprogramar(errores, segundosEsperaMaxima);
+            }
+        } catch (DataAccessException e) {
+            // Al vencer la reserva se vuelven a entregar: los consumidores toleran repetidos
+            log.warn("No se pudo registrar la entrega de {} eventos del outbox: {}", eventos.size(), e.getMessage());
+        }
+    }
+}
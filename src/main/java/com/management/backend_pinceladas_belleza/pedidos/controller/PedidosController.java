@@ -1,53 +1,76 @@
 package com.management.backend_pinceladas_belleza.pedidos.controller;
 
+import com.management.backend_pinceladas_belleza.common.Idempotencia;
+import com.management.backend_pinceladas_belleza.pedidos.dto.CrearPedidoDto;
+import com.management.backend_pinceladas_belleza.pedidos.dto.PedidoDto;
+import com.management.backend_pinceladas_belleza.pedidos.dto.PedidoResumenDto;
+import com.management.backend_pinceladas_belleza.pedidos.entity.EstadoPedido;
+import com.management.backend_pinceladas_belleza.pedidos.interfaces.IPedidos;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.Map;
-
 @RestController
 @RequestMapping("/pedidos")
 @RequiredArgsConstructor
 @Tag(name = "Pedidos", description = "Gestión de pedidos")
+@SecurityRequirement(name = "bearerAuth")
 public class PedidosController {
+    private final IPedidos pedidos;
+    private final Idempotencia idempotencia;
 
-    @Operation(summary = "Obtener todos los pedidos", description = "Retorna una lista de todos los pedidos")
+    @Operation(summary = "Obtener pedidos", description = "Retorna una página de pedidos, los más recientes primero")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de pedidos obtenida exitosamente",
-                    content = @Content(mediaType = "application/json"))
+            @ApiResponse(responseCode = "200", description = "Página de pedidos obtenida exitosamente",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Estado o paginación inválidos", content = @Content)
     })
     @GetMapping()
-    public ResponseEntity<List<Map<String, Object>>> getAll() {
-        // Temporarily return empty list until proper implementation
-        return ResponseEntity.ok(List.of(
-            Map.of("id", 1, "cliente", "Cliente 1", "estado", "pendiente", "total", 100.0),
-            Map.of("id", 2, "cliente", "Cliente 2", "estado", "completado", "total", 200.0)
-        ));
+    public ResponseEntity<Page<PedidoResumenDto>> getAll(
+            @Parameter(description = "Filtrar por estado: PENDIENTE, COMPLETADO o CANCELADO") @RequestParam(required = false) EstadoPedido estado,
+            @Parameter(description = "Número de página (desde 0)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Cantidad de pedidos por página") @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(pedidos.listar(estado, page, size));
     }
 
-    @Operation(summary = "Obtener pedido por ID", description = "Retorna un pedido específico por su ID")
+    @Operation(summary = "Obtener pedido por ID", description = "Retorna un pedido específico con todas sus líneas")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Pedido encontrado",
-                    content = @Content(mediaType = "application/json")),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PedidoDto.class))),
             @ApiResponse(responseCode = "404", description = "Pedido no encontrado", content = @Content)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getById(@PathVariable Long id) {
-        // Temporarily return mock data
-        return ResponseEntity.ok(Map.of(
-            "id", id,
-            "cliente", "Cliente " + id,
-            "estado", "pendiente",
-            "total", 100.0 * id,
-            "fecha", "2024-01-01"
-        ));
+    public ResponseEntity<PedidoDto> getById(
+            @Parameter(description = "ID del pedido", required = true) @PathVariable Long id) {
+        return ResponseEntity.ok(pedidos.getById(id));
+    }
+
+    @Operation(summary = "Crear pedido",
+            description = "Registra el pedido con sus líneas y descuenta el stock de cada producto. " +
+                    "Los precios se toman del catálogo; si algún producto no tiene stock suficiente no se registra nada")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Pedido creado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PedidoDto.class))),
+            @ApiResponse(responseCode = "400", description = "Datos del pedido inválidos o clave de idempotencia usada con otro pedido", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Stock insuficiente para algún producto o pedido con la misma clave en curso", content = @Content)
+    })
+    @PostMapping()
+    public ResponseEntity<PedidoDto> crear(
+            @Parameter(description = "Clave única del intento; un reintento con la misma clave devuelve el pedido ya creado")
+            @RequestHeader(value = Idempotencia.CABECERA, required = false) String claveIdempotencia,
+            @RequestBody CrearPedidoDto pedido) {
+        return new ResponseEntity<>(idempotencia.ejecutar(claveIdempotencia, "POST /pedidos", pedido, PedidoDto.class,
+                () -> pedidos.crear(pedido)), HttpStatus.CREATED);
     }
 }
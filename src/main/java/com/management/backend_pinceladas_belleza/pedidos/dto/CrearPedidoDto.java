@@ -0,0 +1,21 @@
+package com.management.backend_pinceladas_belleza.pedidos.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Datos para crear un pedido. Los precios se toman del catálogo, nunca del cliente.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CrearPedidoDto {
+    private String cliente;
+    private List<LineaPedidoDto> lineas;
+    // Reserva de stock del checkout; sus unidades vuelven al disponible justo antes del descuento
+    private UUID reservaId;
+}
@@ -0,0 +1,13 @@
+package com.management.backend_pinceladas_belleza.pedidos.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LineaPedidoDto {
+    private Long productoId;
+    private Integer cantidad;
+}
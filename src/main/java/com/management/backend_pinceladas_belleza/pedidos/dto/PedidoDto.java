@@ -0,0 +1,46 @@
+package com.management.backend_pinceladas_belleza.pedidos.dto;
+
+import com.management.backend_pinceladas_belleza.pedidos.entity.EstadoPedido;
+import com.management.backend_pinceladas_belleza.pedidos.entity.Pedido;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Detalle de un pedido con sus líneas.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PedidoDto {
+    private Long id;
+    private String cliente;
+    private EstadoPedido estado;
+    private BigDecimal total;
+    private LocalDateTime fechaCreacion;
+    private List<PedidoLineaDto> lineas;
+
+    public static PedidoDto desde(Pedido pedido) {
+        return PedidoDto.builder()
+                .id(pedido.getId())
+                .cliente(pedido.getCliente())
+                .estado(pedido.getEstado())
+                .total(pedido.getTotal())
+                .fechaCreacion(pedido.getFechaCreacion())
+                .lineas(pedido.getLineas().stream()
+                        .map(linea -> PedidoLineaDto.builder()
+                                .productoId(linea.getProducto().getId())
+                                .productoNombre(linea.getProducto().getNombre())
+                                .cantidad(linea.getCantidad())
+                                .precioUnitario(linea.getPrecioUnitario())
+                                .subtotal(linea.getSubtotal())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.management.backend_pinceladas_belleza.pedidos.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PedidoLineaDto {
+    private Long productoId;
+    private String productoNombre;
+    private Integer cantidad;
+    private BigDecimal precioUnitario;
+    private BigDecimal subtotal;
+}
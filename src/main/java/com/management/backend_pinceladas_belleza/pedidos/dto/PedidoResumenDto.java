@@ -0,0 +1,24 @@
+package com.management.backend_pinceladas_belleza.pedidos.dto;
+
+import com.management.backend_pinceladas_belleza.pedidos.entity.EstadoPedido;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila del listado de pedidos. Se construye en JPQL (select new ...); el orden de los campos
+ * define el constructor usado por PedidosRepository.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PedidoResumenDto {
+    private Long id;
+    private String cliente;
+    private EstadoPedido estado;
+    private BigDecimal total;
+    private LocalDateTime fechaCreacion;
+}
@@ -0,0 +1,7 @@
+package com.management.backend_pinceladas_belleza.pedidos.entity;
+
+public enum EstadoPedido {
+    PENDIENTE,
+    COMPLETADO,
+    CANCELADO
+}
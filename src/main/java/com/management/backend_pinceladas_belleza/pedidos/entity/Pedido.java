@@ -0,0 +1,46 @@
+package com.management.backend_pinceladas_belleza.pedidos.entity;
+
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "pedidos")
+public class Pedido {
+
+    // Secuencia con bloques de 50 ids (ver db/scripts/009): la cabecera y las líneas se
+    // insertan en lotes JDBC al confirmar
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedidos_seq")
+    @SequenceGenerator(name = "pedidos_seq", sequenceName = "pedidos_id_seq", allocationSize = 50)
+    private Long id;
+
+    private String cliente;
+
+    @Enumerated(EnumType.STRING)
+    private EstadoPedido estado;
+
+    // Guardado al crear: el listado no suma las líneas
+    private BigDecimal total;
+
+    @Column(name = "fecha_creacion")
+    private LocalDateTime fechaCreacion;
+
+    @Builder.Default
+    @OneToMany(mappedBy = "pedido", cascade = CascadeType.PERSIST)
+    @OrderBy("id asc")
+    private List<PedidoLinea> lineas = new ArrayList<>();
+}
@@ -0,0 +1,43 @@
+package com.management.backend_pinceladas_belleza.pedidos.entity;
+
+import com.management.backend_pinceladas_belleza.productos.entity.Productos;
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "pedidos_lineas")
+public class PedidoLinea {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedidos_lineas_seq")
+    @SequenceGenerator(name = "pedidos_lineas_seq", sequenceName = "pedidos_lineas_id_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "pedido_id", referencedColumnName = "id")
+    private Pedido pedido;
+
+    // Se asigna con una referencia (sin SELECT); solo se usa el id para el INSERT
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "producto_id", referencedColumnName = "id")
+    private Productos producto;
+
+    private Integer cantidad;
+
+    // Precio del producto al momento del pedido
+    @Column(name = "precio_unitario")
+    private BigDecimal precioUnitario;
+
+    private BigDecimal subtotal;
+}
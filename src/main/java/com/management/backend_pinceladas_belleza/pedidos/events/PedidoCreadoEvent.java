@@ -0,0 +1,19 @@
+package com.management.backend_pinceladas_belleza.pedidos.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Se publica al crear un pedido, dentro de su transacción.
+ */
+@Getter
+@AllArgsConstructor
+public class PedidoCreadoEvent {
+    private final Long pedidoId;
+    private final String cliente;
+    private final BigDecimal total;
+    private final List<Long> productoIds;
+}
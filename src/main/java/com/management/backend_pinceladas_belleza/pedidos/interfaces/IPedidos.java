@@ -0,0 +1,15 @@
+package com.management.backend_pinceladas_belleza.pedidos.interfaces;
+
+import com.management.backend_pinceladas_belleza.pedidos.dto.CrearPedidoDto;
+import com.management.backend_pinceladas_belleza.pedidos.dto.PedidoDto;
+import com.management.backend_pinceladas_belleza.pedidos.dto.PedidoResumenDto;
+import com.management.backend_pinceladas_belleza.pedidos.entity.EstadoPedido;
+import org.springframework.data.domain.Page;
+
+public interface IPedidos {
+    Page<PedidoResumenDto> listar(EstadoPedido estado, int pagina, Integer tamano);
+
+    PedidoDto getById(Long id);
+
+    PedidoDto crear(CrearPedidoDto pedido);
+}
@@ -0,0 +1,28 @@
+package com.management.backend_pinceladas_belleza.pedidos.repository;
+
+import com.management.backend_pinceladas_belleza.pedidos.dto.PedidoResumenDto;
+import com.management.backend_pinceladas_belleza.pedidos.entity.EstadoPedido;
+import com.management.backend_pinceladas_belleza.pedidos.entity.Pedido;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PedidosRepository extends JpaRepository<Pedido, Long> {
+
+    @Query(value = "select new com.management.backend_pinceladas_belleza.pedidos.dto.PedidoResumenDto(" +
+            "p.id, p.cliente, p.estado, p.total, p.fechaCreacion) " +
+            "from Pedido p where (:estado is null or p.estado = :estado) order by p.id desc",
+            countQuery = "select count(p) from Pedido p where (:estado is null or p.estado = :estado)")
+    Page<PedidoResumenDto> listar(@Param("estado") EstadoPedido estado, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"lineas", "lineas.producto"})
+    @Query("select p from Pedido p where p.id = :id")
+    Optional<Pedido> findDetalleById(@Param("id") Long id);
+}
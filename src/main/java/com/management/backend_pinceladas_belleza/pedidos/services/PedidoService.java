@@ -0,0 +1,178 @@
+package com.management.backend_pinceladas_belleza.pedidos.services;
+
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+import com.management.backend_pinceladas_belleza.exception.ResourceNotFoundException;
+import com.management.backend_pinceladas_belleza.pedidos.dto.CrearPedidoDto;
+import com.management.backend_pinceladas_belleza.pedidos.dto.LineaPedidoDto;
+import com.management.backend_pinceladas_belleza.pedidos.dto.PedidoDto;
+import com.management.backend_pinceladas_belleza.pedidos.dto.PedidoLineaDto;
+import com.management.backend_pinceladas_belleza.pedidos.dto.PedidoResumenDto;
+import com.management.backend_pinceladas_belleza.pedidos.entity.EstadoPedido;
+import com.management.backend_pinceladas_belleza.pedidos.entity.Pedido;
+import com.management.backend_pinceladas_belleza.pedidos.entity.PedidoLinea;
+import com.management.backend_pinceladas_belleza.pedidos.events.PedidoCreadoEvent;
+import com.management.backend_pinceladas_belleza.pedidos.interfaces.IPedidos;
+import com.management.backend_pinceladas_belleza.pedidos.repository.PedidosRepository;
+import com.management.backend_pinceladas_belleza.productos.dto.AjusteStockDto;
+import com.management.backend_pinceladas_belleza.productos.dto.LineaStockDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.interfaces.IStockProductos;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import com.management.backend_pinceladas_belleza.reservas.interfaces.IReservas;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pedidos de clientes.
+ *
+ * Crear un pedido cuesta un número fijo de sentencias sin importar cuántas líneas tenga: una
+ * consulta de precios para todos los productos, un lote JDBC que descuenta el stock (una fila por
+ * producto) y un lote de INSERT para la cabecera y las líneas (ids por secuencia en bloques de 50).
+ * Todo en la misma transacción: si falta stock de un producto no queda nada escrito.
+ */
+@Service
+@RequiredArgsConstructor
+public class PedidoService implements IPedidos {
+    private final PedidosRepository pedidosRepository;
+    private final ProductosRepository productosRepository;
+    private final IStockProductos stockProductos;
+    private final IReservas reservas;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${pedidos.paginacion.tamano-defecto:20}")
+    private int tamanoPaginaDefecto;
+
+    @Value("${pedidos.paginacion.tamano-maximo:100}")
+    private int tamanoPaginaMaximo;
+
+    @Value("${pedidos.maximo-lineas:200}")
+    private int maximoLineas;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PedidoResumenDto> listar(EstadoPedido estado, int pagina, Integer tamano) {
+        int tamanoPagina = tamano != null ? tamano : tamanoPaginaDefecto;
+        if (tamanoPagina < 1 || tamanoPagina > tamanoPaginaMaximo) {
+            throw new BadRequestException("El tamaño de página debe estar entre 1 y " + tamanoPaginaMaximo);
+        }
+        if (pagina < 0) {
+            throw new BadRequestException("El número de página no puede ser negativo");
+        }
+        return pedidosRepository.listar(estado, PageRequest.of(pagina, tamanoPagina));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PedidoDto getById(Long id) {
+        return PedidoDto.desde(pedidosRepository.findDetalleById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Pedido", "id", id)));
+    }
+
+    @Override
+    @Transactional
+    public PedidoDto crear(CrearPedidoDto datos) {
+        if (datos == null || datos.getCliente() == null || datos.getCliente().isBlank()) {
+            throw new BadRequestException("El cliente es obligatorio");
+        }
+        Map<Long, Integer> cantidades = consolidar(datos.getLineas());
+
+        Map<Long, ProductoResumenDto> productos = productosRepository.findResumenByIdIn(cantidades.keySet()).stream()
+                .collect(Collectors.toMap(ProductoResumenDto::getId, Function.identity()));
+        for (Long productoId : cantidades.keySet()) {
+            if (!productos.containsKey(productoId)) {
+                throw new ResourceNotFoundException("Producto", "id", productoId);
+            }
+        }
+
+        if (datos.getReservaId() != null) {
+            // Misma transacción: las unidades pasan de reservadas a vendidas sin que otro carrito las tome.
+            // Rechaza una reserva de otros productos: liberaría unidades retenidas para otro carrito
+            reservas.consumir(datos.getReservaId(), cantidades);
+        }
+        // Un solo lote para todo el pedido; lanza StockInsuficienteException y revierte si falta stock
+        stockProductos.descontar(AjusteStockDto.builder()
+                .lineas(cantidades.entrySet().stream()
+                        .map(e -> LineaStockDto.builder().productoId(e.getKey()).cantidad(e.getValue()).build())
+                        .collect(Collectors.toList()))
+                .build());
+
+        Pedido pedido = Pedido.builder()
+                .cliente(datos.getCliente().trim())
+                .estado(EstadoPedido.PENDIENTE)
+                .fechaCreacion(LocalDateTime.now())
+                .build();
+        List<PedidoLineaDto> lineasDto = new ArrayList<>(cantidades.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> entrada : cantidades.entrySet()) {
+            ProductoResumenDto producto = productos.get(entrada.getKey());
+            BigDecimal precio = producto.getPrecio() != null ? producto.getPrecio() : BigDecimal.ZERO;
+            BigDecimal subtotal = precio.multiply(BigDecimal.valueOf(entrada.getValue()));
+            pedido.getLineas().add(PedidoLinea.builder()
+                    .pedido(pedido)
+                    // Referencia sin SELECT: el INSERT solo necesita el id
+                    .producto(productosRepository.getReferenceById(entrada.getKey()))
+                    .cantidad(entrada.getValue())
+                    .precioUnitario(precio)
+                    .subtotal(subtotal)
+                    .build());
+            lineasDto.add(PedidoLineaDto.builder()
+                    .productoId(producto.getId())
+                    .productoNombre(producto.getNombre())
+                    .cantidad(entrada.getValue())
+                    .precioUnitario(precio)
+                    .subtotal(subtotal)
+                    .build());
+            total = total.add(subtotal);
+        }
+        pedido.setTotal(total);
+
+        // Cabecera y líneas se insertan en lote al confirmar (cascade PERSIST)
+        Pedido guardado = pedidosRepository.save(pedido);
+        eventPublisher.publishEvent(new PedidoCreadoEvent(
+                guardado.getId(), guardado.getCliente(), total, new ArrayList<>(cantidades.keySet())));
+
+        return PedidoDto.builder()
+                .id(guardado.getId())
+                .cliente(guardado.getCliente())
+                .estado(guardado.getEstado())
+                .total(guardado.getTotal())
+                .fechaCreacion(guardado.getFechaCreacion())
+                .lineas(lineasDto)
+                .build();
+    }
+
+    // Une las líneas repetidas del mismo producto, conservando el orden en que llegaron
+    private Map<Long, Integer> consolidar(List<LineaPedidoDto> lineas) {
+        if (lineas == null || lineas.isEmpty()) {
+            throw new BadRequestException("El pedido debe tener al menos una línea");
+        }
+        if (lineas.size() > maximoLineas) {
+            throw new BadRequestException("El pedido no puede tener más de " + maximoLineas + " líneas");
+        }
+        Map<Long, Integer> cantidades = new LinkedHashMap<>();
+        for (LineaPedidoDto linea : lineas) {
+            if (linea == null || linea.getProductoId() == null) {
+                throw new BadRequestException("Cada línea debe indicar el producto");
+            }
+            if (linea.getCantidad() == null || linea.getCantidad() <= 0) {
+                throw new BadRequestException("La cantidad debe ser mayor que cero para el producto " + linea.getProductoId());
+            }
+            cantidades.merge(linea.getProductoId(), linea.getCantidad(), Integer::sum);
+        }
+        return cantidades;
+    }
+}
@@ -1,8 +1,26 @@
 package com.management.backend_pinceladas_belleza.productos.controller;
 
+import com.management.backend_pinceladas_belleza.catalogo.dto.MarcaCatalogo;
+import com.management.backend_pinceladas_belleza.catalogo.services.CatalogoVersionService;
+import com.management.backend_pinceladas_belleza.common.Idempotencia;
+import com.management.backend_pinceladas_belleza.productos.dto.AjusteStockDto;
+import com.management.backend_pinceladas_belleza.productos.dto.CatalogoSerializado;
+import com.management.backend_pinceladas_belleza.productos.dto.FiltroProductosDto;
+import com.management.backend_pinceladas_belleza.productos.dto.FormatoExportacion;
+import com.management.backend_pinceladas_belleza.productos.dto.IdsProductosDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ImportacionResultadoDto;
+import com.management.backend_pinceladas_belleza.productos.dto.PaginaCursorDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
 import com.management.backend_pinceladas_belleza.productos.dto.ProductosDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductosFiltradosDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductosPorIdsDto;
+import com.management.backend_pinceladas_belleza.productos.dto.SugerenciaDto;
 import com.management.backend_pinceladas_belleza.productos.entity.Productos;
 import com.management.backend_pinceladas_belleza.productos.interfaces.IProductos;
+import com.management.backend_pinceladas_belleza.productos.interfaces.IStockProductos;
+import com.management.backend_pinceladas_belleza.productos.services.ExportadorProductos;
+import com.management.backend_pinceladas_belleza.productos.services.ImportadorProductos;
+import com.management.backend_pinceladas_belleza.productos.services.SnapshotCatalogo;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,10 +30,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -24,40 +54,262 @@ import java.util.List;
 @Tag(name = "Productos", description = "Gestión de productos de belleza")
 public class ProductosController {
     private final IProductos productos;
+    private final CatalogoVersionService catalogoVersion;
+    private final IStockProductos stockProductos;
+    private final ExportadorProductos exportadorProductos;
+    private final ImportadorProductos importadorProductos;
+    private final SnapshotCatalogo snapshotCatalogo;
+    private final Idempotencia idempotencia;
 
     @Operation(summary = "Obtener todos los productos", description = "Retorna una lista de todos los productos disponibles")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de productos obtenida exitosamente",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Productos.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductoResumenDto.class))),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag enviado en If-None-Match", content = @Content)
     })
     @GetMapping()
-    public ResponseEntity<List<Productos>> getAll() {
-        return ResponseEntity.ok(productos.getAll());
+    public ResponseEntity<?> getAll(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        MarcaCatalogo marca = catalogoVersion.actual();
+        if (marca != null && webRequest.checkNotModified(marca.getEtag())) {
+            return null;
+        }
+
+        // Camino rápido: bytes ya serializados (y comprimidos) para la versión vigente
+        CatalogoSerializado snapshot = snapshotCatalogo.vigente(marca);
+        if (snapshot != null) {
+            boolean gzip = acepta(acceptEncoding, "gzip");
+            ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                respuesta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return respuesta.body(gzip ? snapshot.getGzip() : snapshot.getJson());
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(productos.getAllResumen());
+    }
+
+    @Operation(summary = "Obtener productos paginados",
+            description = "Retorna una página de productos usando paginación por cursor (keyset). " +
+                    "Use el campo siguienteCursor de la respuesta para pedir la página siguiente")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de productos obtenida exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaginaCursorDto.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor, tamaño u orden inválidos", content = @Content)
+    })
+    @GetMapping("/page")
+    public ResponseEntity<PaginaCursorDto<ProductoResumenDto>> getPagina(
+            @Parameter(description = "Cursor opaco devuelto por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Cantidad de productos por página") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Orden: RECIENTES, ANTIGUOS o ID") @RequestParam(required = false) String sort) {
+        return ResponseEntity.ok(productos.getPagina(cursor, size, sort));
+    }
+
+    @Operation(summary = "Buscar productos",
+            description = "Búsqueda de texto completo en nombre y descripción, ordenada por relevancia. " +
+                    "Ignora tildes y acepta la sintaxis de búsqueda web (\"frase exacta\", -excluir, OR)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultados de la búsqueda",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Texto de búsqueda o paginación inválidos", content = @Content)
+    })
+    @GetMapping("/search")
+    public ResponseEntity<Page<ProductoResumenDto>> buscar(
+            @Parameter(description = "Texto a buscar", required = true) @RequestParam String q,
+            @Parameter(description = "Número de página (desde 0)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Cantidad de productos por página") @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(productos.buscar(q, page, size));
+    }
+
+    @Operation(summary = "Productos de una categoría y sus subcategorías",
+            description = "Retorna una página con los productos de la categoría indicada y de todas sus descendientes, ordenados por ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Productos obtenidos exitosamente",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Paginación inválida", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Categoría no encontrada", content = @Content)
+    })
+    @GetMapping("/category/{categoriaId}")
+    public ResponseEntity<Page<ProductoResumenDto>> getPorCategoria(
+            @Parameter(description = "ID de la categoría raíz del subárbol", required = true) @PathVariable Long categoriaId,
+            @Parameter(description = "Número de página (desde 0)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Cantidad de productos por página") @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(productos.getPorCategoria(categoriaId, page, size));
+    }
+
+    @Operation(summary = "Filtrar productos",
+            description = "Retorna una página de productos filtrada por categoría, proveedor, rango de precio y stock, " +
+                    "junto con los conteos de facetas del catálogo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Productos filtrados obtenidos exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductosFiltradosDto.class))),
+            @ApiResponse(responseCode = "400", description = "Filtro o paginación inválidos", content = @Content)
+    })
+    @GetMapping("/filter")
+    public ResponseEntity<ProductosFiltradosDto> filtrar(
+            @Parameter(description = "Filtros opcionales: categoriaId, proveedorId, precioMin, precioMax, soloEnStock") FiltroProductosDto filtro,
+            @Parameter(description = "Número de página (desde 0)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Cantidad de productos por página") @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(productos.filtrar(filtro, page, size));
+    }
+
+    @Operation(summary = "Autocompletar productos y categorías",
+            description = "Retorna sugerencias de nombres de productos y categorías que empiezan por el prefijo. " +
+                    "Se resuelve en memoria, sin consultar la base de datos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugerencias obtenidas exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SugerenciaDto.class))),
+            @ApiResponse(responseCode = "400", description = "Límite inválido", content = @Content)
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SugerenciaDto>> sugerir(
+            @Parameter(description = "Texto escrito hasta el momento", required = true) @RequestParam String prefix,
+            @Parameter(description = "Cantidad máxima de sugerencias (1-20)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productos.sugerir(prefix, limit));
+    }
+
+    @Operation(summary = "Obtener productos por lote de IDs",
+            description = "Retorna los productos de una lista de IDs (separados por coma) en el mismo orden, " +
+                    "resolviendo los que no están en caché con una sola consulta. Los IDs inexistentes se listan en noEncontrados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Productos obtenidos exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductosPorIdsDto.class))),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs vacía o demasiado larga", content = @Content)
+    })
+    @GetMapping("/batch")
+    public ResponseEntity<ProductosPorIdsDto> getPorIds(
+            @Parameter(description = "IDs de productos, p. ej. 3,1,7", required = true) @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(productos.getResumenPorIds(ids));
+    }
+
+    @Operation(summary = "Obtener productos por lote de IDs (POST)",
+            description = "Variante de GET /productos/batch para listas largas que no caben en la URL")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Productos obtenidos exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductosPorIdsDto.class))),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs vacía o demasiado larga", content = @Content)
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<ProductosPorIdsDto> postPorIds(
+            @Parameter(description = "IDs de productos", required = true) @RequestBody IdsProductosDto ids) {
+        return ResponseEntity.ok(productos.getResumenPorIds(ids.getIds()));
+    }
+
+    @Operation(summary = "Exportar catálogo",
+            description = "Descarga el catálogo completo en NDJSON (un producto por línea) o CSV. " +
+                    "Los productos se leen por páginas y se escriben a medida que llegan. Solo administradores")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportación iniciada", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Formato no soportado", content = @Content),
+            @ApiResponse(responseCode = "401", description = "No autorizado", content = @Content),
+            @ApiResponse(responseCode = "403", description = "El usuario no tiene rol ADMIN", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Demasiadas exportaciones en curso", content = @Content)
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @Parameter(description = "Formato: NDJSON o CSV") @RequestParam(required = false) String formato,
+            WebRequest webRequest) {
+        FormatoExportacion formatoExportacion = FormatoExportacion.desde(formato);
+        ExportadorProductos.Exportacion cuerpo = exportadorProductos.preparar(formatoExportacion);
+        // Devuelve el cupo al completarse la petición aunque el cuerpo no llegue a ejecutarse
+        WebAsyncUtils.getAsyncManager(webRequest)
+                .registerCallableInterceptor(ExportadorProductos.Exportacion.class.getName(), cuerpo);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoExportacion.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"productos." + formatoExportacion.getExtension() + "\"")
+                .body(cuerpo);
     }
 
     @Operation(summary = "Obtener producto por ID", description = "Retorna un producto específico por su ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Producto encontrado",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Productos.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductoResumenDto.class))),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag enviado en If-None-Match", content = @Content),
             @ApiResponse(responseCode = "404", description = "Producto no encontrado", content = @Content)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Productos> getById(
-            @Parameter(description = "ID del producto a buscar", required = true) @PathVariable Long id) {
-        return ResponseEntity.ok(productos.getById(id));
+    public ResponseEntity<ProductoResumenDto> getById(
+            @Parameter(description = "ID del producto a buscar", required = true) @PathVariable Long id,
+            WebRequest webRequest) {
+        MarcaCatalogo marca = catalogoVersion.actual();
+        if (marca != null && webRequest.checkNotModified(marca.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(productos.getResumenById(id));
     }
 
     @Operation(summary = "Crear nuevo producto", description = "Crea un nuevo producto en el sistema")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Producto creado exitosamente",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Productos.class))),
-            @ApiResponse(responseCode = "400", description = "Datos inválidos", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Datos inválidos o clave de idempotencia usada con otro producto", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Creación con la misma clave de idempotencia en curso", content = @Content)
     })
     @SecurityRequirement(name = "bearerAuth")
     @PostMapping("/create")
     public ResponseEntity<Productos> create(
+            @Parameter(description = "Clave única del intento; un reintento con la misma clave devuelve el producto ya creado")
+            @RequestHeader(value = Idempotencia.CABECERA, required = false) String claveIdempotencia,
             @Parameter(description = "Datos del producto a crear", required = true) @RequestBody ProductosDto productosDto) {
-        return new ResponseEntity<>(productos.createProducto(productosDto), HttpStatus.CREATED);
+        return new ResponseEntity<>(idempotencia.ejecutar(claveIdempotencia, "POST /productos/create", productosDto, Productos.class,
+                () -> productos.createProducto(productosDto)), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Importar productos",
+            description = "Crea productos en masa desde un arreglo JSON (application/json) o un CSV con cabecera (text/csv). " +
+                    "Columnas CSV: nombre, descripcion, precio, cantidadStock, categoriaId, proveedorId, urlDrive. " +
+                    "Las filas inválidas se reportan sin detener la importación")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importación procesada",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportacionResultadoDto.class))),
+            @ApiResponse(responseCode = "400", description = "Contenido ilegible o demasiadas filas", content = @Content)
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    public ResponseEntity<ImportacionResultadoDto> importar(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @Parameter(hidden = true) InputStream cuerpo) throws IOException {
+        Reader contenido = new InputStreamReader(cuerpo, StandardCharsets.UTF_8);
+        ImportacionResultadoDto resultado = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)
+                ? importadorProductos.importarJson(contenido)
+                : importadorProductos.importarCsv(contenido);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @Operation(summary = "Descontar stock",
+            description = "Descuenta stock de uno o varios productos de forma atómica. " +
+                    "Si alguna línea no tiene stock suficiente no se aplica ninguna")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Stock descontado", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Líneas inválidas", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Stock insuficiente", content = @Content)
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/stock/descontar")
+    public ResponseEntity<Void> descontarStock(
+            @Parameter(description = "Productos y cantidades a descontar", required = true) @RequestBody AjusteStockDto ajuste) {
+        stockProductos.descontar(ajuste);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Reponer stock", description = "Suma stock a uno o varios productos de forma atómica")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Stock repuesto", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Líneas inválidas", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado", content = @Content)
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/stock/reponer")
+    public ResponseEntity<Void> reponerStock(
+            @Parameter(description = "Productos y cantidades a reponer", required = true) @RequestBody AjusteStockDto ajuste) {
+        stockProductos.reponer(ajuste);
+        return ResponseEntity.noContent().build();
     }
 
     @Operation(summary = "Actualizar producto", description = "Actualiza la información de un producto existente")
@@ -84,4 +336,17 @@ public class ProductosController {
             @Parameter(description = "ID del producto a eliminar", required = true) @PathVariable Long id) {
         return ResponseEntity.ok(productos.deleteProducto(id));
     }
+
+    private static boolean acepta(String acceptEncoding, String codificacion) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String parte : acceptEncoding.split(",")) {
+            String[] valores = parte.trim().split(";");
+            if (valores[0].trim().equalsIgnoreCase(codificacion)) {
+                return valores.length < 2 || !valores[1].trim().replace(" ", "").equals("q=0");
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,17 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Líneas de un ajuste de stock; se aplican todas o ninguna.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AjusteStockDto {
+    private List<LineaStockDto> lineas;
+}
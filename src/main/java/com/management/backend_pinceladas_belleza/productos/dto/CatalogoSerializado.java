@@ -0,0 +1,15 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * GET /productos ya serializado para una versión del catálogo, en JSON plano y comprimido con gzip.
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogoSerializado {
+    private final long version;
+    private final byte[] json;
+    private final byte[] gzip;
+}
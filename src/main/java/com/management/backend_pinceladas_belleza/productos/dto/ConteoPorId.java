@@ -0,0 +1,10 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+/**
+ * Proyección de los GROUP BY por categoría o proveedor.
+ */
+public interface ConteoPorId {
+    Long getId();
+
+    Long getCantidad();
+}
@@ -0,0 +1,12 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección del GROUP BY por precio usado para armar los rangos de precio.
+ */
+public interface ConteoPorPrecio {
+    BigDecimal getPrecio();
+
+    Long getCantidad();
+}
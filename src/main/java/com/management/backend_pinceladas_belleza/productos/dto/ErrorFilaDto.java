@@ -0,0 +1,16 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import lombok.*;
+
+/**
+ * Fila rechazada en una importación; fila empieza en 1 y no cuenta la cabecera del CSV.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ErrorFilaDto {
+    private int fila;
+    private String mensaje;
+}
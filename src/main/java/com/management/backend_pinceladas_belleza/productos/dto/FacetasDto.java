@@ -0,0 +1,20 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conteo de productos por categoría, proveedor y rango de precio sobre todo el catálogo.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacetasDto {
+    private Map<Long, Long> categorias;
+    private Map<Long, Long> proveedores;
+    private List<RangoPrecioDto> rangosPrecio;
+}
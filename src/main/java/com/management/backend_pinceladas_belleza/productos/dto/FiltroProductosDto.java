@@ -0,0 +1,18 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FiltroProductosDto {
+    private Long categoriaId;
+    private Long proveedorId;
+    private BigDecimal precioMin;
+    private BigDecimal precioMax;
+    private boolean soloEnStock;
+}
@@ -0,0 +1,40 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+
+import java.util.Arrays;
+
+/**
+ * Formatos soportados por la exportación del catálogo.
+ */
+public enum FormatoExportacion {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    FormatoExportacion(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static FormatoExportacion desde(String valor) {
+        if (valor == null || valor.trim().isEmpty()) {
+            return NDJSON;
+        }
+        return Arrays.stream(values())
+                .filter(formato -> formato.name().equalsIgnoreCase(valor.trim()))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException(
+                        "Formato no soportado: '" + valor + "'. Valores permitidos: " + Arrays.toString(values())));
+    }
+}
@@ -0,0 +1,14 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdsProductosDto {
+    private List<Long> ids;
+}
@@ -0,0 +1,16 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportacionResultadoDto {
+    private int totalFilas;
+    private int importados;
+    private List<ErrorFilaDto> errores;
+}
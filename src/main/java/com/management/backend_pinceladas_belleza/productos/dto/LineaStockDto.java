@@ -0,0 +1,13 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LineaStockDto {
+    private Long productoId;
+    private Integer cantidad;
+}
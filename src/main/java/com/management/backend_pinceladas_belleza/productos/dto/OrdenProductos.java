@@ -0,0 +1,26 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+
+import java.util.Arrays;
+
+/**
+ * Órdenes soportados por el listado paginado de productos.
+ * Todos terminan en el id para que el cursor sea único y estable.
+ */
+public enum OrdenProductos {
+    RECIENTES,
+    ANTIGUOS,
+    ID;
+
+    public static OrdenProductos desde(String valor) {
+        if (valor == null || valor.trim().isEmpty()) {
+            return RECIENTES;
+        }
+        return Arrays.stream(values())
+                .filter(orden -> orden.name().equalsIgnoreCase(valor.trim()))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException(
+                        "Orden no soportado: '" + valor + "'. Valores permitidos: " + Arrays.toString(values())));
+    }
+}
@@ -0,0 +1,18 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaginaCursorDto<T> {
+    private List<T> contenido;
+    private String siguienteCursor;
+    private boolean hayMas;
+    private int tamano;
+    private String orden;
+}
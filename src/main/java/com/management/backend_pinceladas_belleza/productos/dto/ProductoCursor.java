@@ -0,0 +1,46 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para la paginación por keyset: guarda el orden y la posición
+ * (fecha de creación e id) del último producto entregado.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductoCursor {
+    private static final String SEPARADOR = "|";
+
+    private final OrdenProductos orden;
+    private final LocalDate fechaCreacion;
+    private final Long id;
+
+    public String codificar() {
+        String fecha = fechaCreacion != null ? fechaCreacion.toString() : "";
+        String plano = orden.name() + SEPARADOR + fecha + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plano.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductoCursor decodificar(String cursor, OrdenProductos ordenEsperado) {
+        try {
+            String plano = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = plano.split("\\|", -1);
+            OrdenProductos orden = OrdenProductos.valueOf(partes[0]);
+            if (orden != ordenEsperado) {
+                throw new BadRequestException("El cursor no corresponde al orden solicitado");
+            }
+            LocalDate fecha = partes[1].isEmpty() ? null : LocalDate.parse(partes[1]);
+            return new ProductoCursor(orden, fecha, Long.valueOf(partes[2]));
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("El cursor de paginación no es válido");
+        }
+    }
+}
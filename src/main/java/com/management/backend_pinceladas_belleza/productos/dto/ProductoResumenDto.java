@@ -0,0 +1,49 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import com.management.backend_pinceladas_belleza.productos.entity.Productos;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Vista plana y de solo lectura de un producto para la tienda.
+ * Se construye directamente en JPQL (select new ...), sin hidratar entidades.
+ * El orden de los campos define el constructor usado por ProductosRepository.RESUMEN.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductoResumenDto {
+    private Long id;
+    private String nombre;
+    private String descripcion;
+    private BigDecimal precio;
+    private Integer cantidadStock;
+    private Long categoriaId;
+    private String categoriaNombre;
+    private Long proveedorId;
+    private String proveedorNombre;
+    private LocalDate fechaCreacion;
+    private String urlDrive;
+    private Long version;
+
+    public static ProductoResumenDto desde(Productos producto) {
+        return ProductoResumenDto.builder()
+                .id(producto.getId())
+                .nombre(producto.getNombre())
+                .descripcion(producto.getDescripcion())
+                .precio(producto.getPrecio())
+                .cantidadStock(producto.getCantidadStock())
+                .categoriaId(producto.getCategoria() != null ? producto.getCategoria().getId() : null)
+                .categoriaNombre(producto.getCategoria() != null ? producto.getCategoria().getNombreCategoria() : null)
+                .proveedorId(producto.getProveedor() != null ? producto.getProveedor().getId() : null)
+                .proveedorNombre(producto.getProveedor() != null ? producto.getProveedor().getNombre() : null)
+                .fechaCreacion(producto.getFechaCreacion())
+                .urlDrive(producto.getUrlDrive())
+                .version(producto.getVersion())
+                .build();
+    }
+}
@@ -19,4 +19,9 @@ public class ProductosDto {
     private Long categoriaId;
     private Long proveedorId;
     private String urlDrive;
+    // Opcionales: reposición automática por órdenes de compra
+    private Integer puntoReorden;
+    private Integer cantidadReorden;
+    // Opcional: si se envía, la actualización falla con 409 cuando el producto cambió desde que se leyó
+    private Long version;
 }
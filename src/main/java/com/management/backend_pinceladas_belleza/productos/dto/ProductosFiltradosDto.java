@@ -0,0 +1,14 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import lombok.*;
+import org.springframework.data.domain.Page;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductosFiltradosDto {
+    private Page<ProductoResumenDto> productos;
+    private FacetasDto facetas;
+}
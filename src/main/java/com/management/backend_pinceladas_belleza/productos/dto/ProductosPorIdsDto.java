@@ -0,0 +1,18 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Resultado de la consulta por lote: productos en el orden pedido e ids que no existen.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductosPorIdsDto {
+    private List<ProductoResumenDto> productos;
+    private List<Long> noEncontrados;
+}
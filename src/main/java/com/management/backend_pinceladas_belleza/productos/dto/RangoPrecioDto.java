@@ -0,0 +1,19 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Rango [desde, hasta) de precios; hasta es null en el último rango.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RangoPrecioDto {
+    private BigDecimal desde;
+    private BigDecimal hasta;
+    private long cantidad;
+}
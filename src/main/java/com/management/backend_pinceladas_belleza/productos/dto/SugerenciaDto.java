@@ -0,0 +1,17 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SugerenciaDto {
+    public static final String PRODUCTO = "PRODUCTO";
+    public static final String CATEGORIA = "CATEGORIA";
+
+    private Long id;
+    private String texto;
+    private String tipo;
+}
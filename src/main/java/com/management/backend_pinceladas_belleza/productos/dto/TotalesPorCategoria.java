@@ -0,0 +1,17 @@
+package com.management.backend_pinceladas_belleza.productos.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección del GROUP BY de inventario por categoría (ver EstadisticasCategorias).
+ * unidades y valor son null si ningún producto de la categoría tiene stock o precio.
+ */
+public interface TotalesPorCategoria {
+    Long getId();
+
+    Long getCantidad();
+
+    Long getUnidades();
+
+    BigDecimal getValor();
+}
@@ -17,8 +17,11 @@ import java.time.LocalDate;
 @Builder
 public class Productos {
 
+    // Secuencia con bloques de 50 ids (ver db/scripts/003): IDENTITY obliga a un INSERT por
+    // sentencia y anula el batching de JDBC en la importación masiva
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "productos_seq")
+    @SequenceGenerator(name = "productos_seq", sequenceName = "productos_id_seq", allocationSize = 50)
     private Long id;
 
     private String nombre;
@@ -30,17 +33,30 @@ public class Productos {
     @Column(name = "cantidad_en_stock")
     private Integer cantidadStock;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "categoria_id", referencedColumnName = "id")
     private Categoria categoria;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "proveedor_id", referencedColumnName = "id")
     private Proveedor proveedor;
 
-    @Column(name = "fecha_created")
+    // Inmutable: el cursor de GET /productos/page la usa como llave (ver db/scripts/001)
+    @Column(name = "fecha_created", updatable = false)
     private LocalDate fechaCreacion;
 
     @Column(name = "url_drive")
     private String urlDrive;
+
+    // Con stock en o bajo punto_reorden se generan órdenes de compra por cantidad_reorden unidades
+    @Column(name = "punto_reorden")
+    private Integer puntoReorden;
+
+    @Column(name = "cantidad_reorden")
+    private Integer cantidadReorden;
+
+    // Control optimista para las escrituras que leen y luego guardan la entidad completa.
+    // Los ajustes de stock lo incrementan en el mismo UPDATE (ver ProductosStockRepositoryImpl)
+    @Version
+    private Long version;
 }
@@ -0,0 +1,20 @@
+package com.management.backend_pinceladas_belleza.productos.events;
+
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Se publica en cada escritura de ProductoService con el estado del producto
+ * antes y después del cambio. anterior es null al crear y actual es null al eliminar.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductoModificadoEvent {
+    private final ProductoResumenDto anterior;
+    private final ProductoResumenDto actual;
+
+    public Long getProductoId() {
+        return actual != null ? actual.getId() : anterior.getId();
+    }
+}
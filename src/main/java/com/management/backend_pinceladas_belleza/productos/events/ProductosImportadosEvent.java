@@ -0,0 +1,17 @@
+package com.management.backend_pinceladas_belleza.productos.events;
+
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Se publica una vez por bloque de la importación masiva con todos los productos creados en él,
+ * en lugar de un ProductoModificadoEvent por fila.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductosImportadosEvent {
+    private final List<ProductoResumenDto> productos;
+}
@@ -0,0 +1,17 @@
+package com.management.backend_pinceladas_belleza.productos.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Se publica cuando un ajuste de stock se aplica con UPDATE directo, sin pasar por la entidad.
+ * descuento es true cuando el stock baja (ventas, pedidos) y false en las reposiciones.
+ */
+@Getter
+@AllArgsConstructor
+public class StockAjustadoEvent {
+    private final List<Long> productoIds;
+    private final boolean descuento;
+}
@@ -1,15 +1,38 @@
 package com.management.backend_pinceladas_belleza.productos.interfaces;
 
+import com.management.backend_pinceladas_belleza.productos.dto.FiltroProductosDto;
+import com.management.backend_pinceladas_belleza.productos.dto.PaginaCursorDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
 import com.management.backend_pinceladas_belleza.productos.dto.ProductosDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductosFiltradosDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductosPorIdsDto;
+import com.management.backend_pinceladas_belleza.productos.dto.SugerenciaDto;
 import com.management.backend_pinceladas_belleza.productos.entity.Productos;
+import org.springframework.data.domain.Page;
 
 import java.util.List;
 
 public interface IProductos {
     public List<Productos> getAll();
 
+    List<ProductoResumenDto> getAllResumen();
+
+    PaginaCursorDto<ProductoResumenDto> getPagina(String cursor, Integer tamano, String orden);
+
+    Page<ProductoResumenDto> buscar(String texto, int pagina, Integer tamano);
+
+    ProductosFiltradosDto filtrar(FiltroProductosDto filtro, int pagina, Integer tamano);
+
+    Page<ProductoResumenDto> getPorCategoria(Long categoriaId, int pagina, Integer tamano);
+
+    List<SugerenciaDto> sugerir(String prefijo, Integer limite);
+
     Productos getById(Long id);
 
+    ProductoResumenDto getResumenById(Long id);
+
+    ProductosPorIdsDto getResumenPorIds(List<Long> ids);
+
     Productos createProducto(ProductosDto producto);
 
     Productos updateProducto(ProductosDto producto);
@@ -0,0 +1,9 @@
+package com.management.backend_pinceladas_belleza.productos.interfaces;
+
+import com.management.backend_pinceladas_belleza.productos.dto.AjusteStockDto;
+
+public interface IStockProductos {
+    void descontar(AjusteStockDto ajuste);
+
+    void reponer(AjusteStockDto ajuste);
+}
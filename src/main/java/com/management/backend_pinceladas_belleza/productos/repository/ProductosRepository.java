@@ -1,9 +1,120 @@
 package com.management.backend_pinceladas_belleza.productos.repository;
 
+import com.management.backend_pinceladas_belleza.productos.dto.ConteoPorId;
+import com.management.backend_pinceladas_belleza.productos.dto.ConteoPorPrecio;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.dto.TotalesPorCategoria;
 import com.management.backend_pinceladas_belleza.productos.entity.Productos;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface ProductosRepository extends JpaRepository<Productos, Long> {
+public interface ProductosRepository extends JpaRepository<Productos, Long>, ProductosStockRepository {
+
+    String RESUMEN = "select new com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto(" +
+            "p.id, p.nombre, p.descripcion, p.precio, p.cantidadStock, c.id, c.nombreCategoria, " +
+            "pr.id, pr.nombre, p.fechaCreacion, p.urlDrive, p.version) " +
+            "from Productos p left join p.categoria c left join p.proveedor pr ";
+
+    // Cada filtro es opcional: un parámetro null no restringe
+    String FILTRO = "where (:categoriaId is null or c.id = :categoriaId) " +
+            "and (:proveedorId is null or pr.id = :proveedorId) " +
+            "and (:precioMin is null or p.precio >= :precioMin) " +
+            "and (:precioMax is null or p.precio <= :precioMax) " +
+            "and (:soloEnStock = false or p.cantidadStock > 0) ";
+
+    String SUBARBOL = "where c.id in (select j.id.descendienteId from CategoriaJerarquia j " +
+            "where j.id.ancestroId = :categoriaId) ";
+
+    // categoria y proveedor son LAZY; las lecturas de entidades los traen en el mismo SELECT
+    @Override
+    @EntityGraph(attributePaths = {"categoria", "proveedor"})
+    List<Productos> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"categoria", "proveedor"})
+    Optional<Productos> findById(Long id);
+
+    @Query(RESUMEN + "order by p.id asc")
+    List<ProductoResumenDto> findAllResumen();
+
+    @Query(RESUMEN + "where p.id = :id")
+    Optional<ProductoResumenDto> findResumenById(@Param("id") Long id);
+
+    @Query(RESUMEN + "where p.id in :ids")
+    List<ProductoResumenDto> findResumenByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Búsqueda de texto completo sobre la columna generada busqueda (ver db/scripts/002).
+    // Devuelve solo ids ordenados por relevancia; Postgres los entrega como BIGINT -> BigInteger.
+    @Query(value = "select p.id from {h-schema}productos p " +
+            "where p.busqueda @@ websearch_to_tsquery('pinceladasdb.es_sin_acentos', :q) " +
+            "order by ts_rank(p.busqueda, websearch_to_tsquery('pinceladasdb.es_sin_acentos', :q)) desc, p.id asc",
+            countQuery = "select count(*) from {h-schema}productos p " +
+                    "where p.busqueda @@ websearch_to_tsquery('pinceladasdb.es_sin_acentos', :q)",
+            nativeQuery = true)
+    Page<Number> buscarIds(@Param("q") String q, Pageable pageable);
+
+    // Paginación por keyset: el Pageable solo aporta el LIMIT, nunca un OFFSET
+    @Query(RESUMEN + "where p.id > :id order by p.id asc")
+    List<ProductoResumenDto> findPaginaPorId(@Param("id") Long id, Pageable pageable);
+
+    @Query(RESUMEN + "where p.fechaCreacion is not null " +
+            "order by p.fechaCreacion desc, p.id desc")
+    List<ProductoResumenDto> findPrimeraPaginaRecientes(Pageable pageable);
+
+    @Query(RESUMEN + "where p.fechaCreacion < :fecha " +
+            "or (p.fechaCreacion = :fecha and p.id < :id) " +
+            "order by p.fechaCreacion desc, p.id desc")
+    List<ProductoResumenDto> findPaginaRecientes(@Param("fecha") LocalDate fecha, @Param("id") Long id, Pageable pageable);
+
+    @Query(RESUMEN + "where p.fechaCreacion is not null " +
+            "order by p.fechaCreacion asc, p.id asc")
+    List<ProductoResumenDto> findPrimeraPaginaAntiguos(Pageable pageable);
+
+    @Query(RESUMEN + "where p.fechaCreacion > :fecha " +
+            "or (p.fechaCreacion = :fecha and p.id > :id) " +
+            "order by p.fechaCreacion asc, p.id asc")
+    List<ProductoResumenDto> findPaginaAntiguos(@Param("fecha") LocalDate fecha, @Param("id") Long id, Pageable pageable);
+
+    @Query(value = RESUMEN + FILTRO + "order by p.id asc",
+            countQuery = "select count(p) from Productos p left join p.categoria c left join p.proveedor pr " + FILTRO)
+    Page<ProductoResumenDto> filtrar(@Param("categoriaId") Long categoriaId,
+                                     @Param("proveedorId") Long proveedorId,
+                                     @Param("precioMin") BigDecimal precioMin,
+                                     @Param("precioMax") BigDecimal precioMax,
+                                     @Param("soloEnStock") boolean soloEnStock,
+                                     Pageable pageable);
+
+    // Productos de la categoría y de todas sus subcategorías con un solo join contra la tabla de
+    // clausura (ver db/scripts/006), sin recorrer el árbol nivel por nivel
+    @Query(value = RESUMEN + SUBARBOL + "order by p.id asc",
+            countQuery = "select count(p) from Productos p join p.categoria c " + SUBARBOL)
+    Page<ProductoResumenDto> findResumenEnSubarbol(@Param("categoriaId") Long categoriaId, Pageable pageable);
+
+    // Conteos para las facetas (ver FacetasProductos)
+    @Query("select c.id as id, count(p) as cantidad from Productos p join p.categoria c group by c.id")
+    List<ConteoPorId> contarPorCategoria();
+
+    @Query("select pr.id as id, count(p) as cantidad from Productos p join p.proveedor pr group by pr.id")
+    List<ConteoPorId> contarPorProveedor();
+
+    @Query("select p.precio as precio, count(p) as cantidad from Productos p where p.precio is not null group by p.precio")
+    List<ConteoPorPrecio> contarPorPrecio();
+
+    // Totales de inventario por categoría (ver EstadisticasCategorias)
+    @Query("select c.id as id, count(p) as cantidad, sum(p.cantidadStock) as unidades, " +
+            "sum(p.precio * p.cantidadStock) as valor " +
+            "from Productos p join p.categoria c group by c.id")
+    List<TotalesPorCategoria> totalizarPorCategoria();
 }
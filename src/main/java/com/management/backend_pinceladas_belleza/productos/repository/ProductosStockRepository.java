@@ -0,0 +1,19 @@
+package com.management.backend_pinceladas_belleza.productos.repository;
+
+import com.management.backend_pinceladas_belleza.productos.dto.LineaStockDto;
+
+import java.util.List;
+
+/**
+ * Ajustes de stock con UPDATE condicional, sin cargar entidades. Se mezcla en ProductosRepository.
+ */
+public interface ProductosStockRepository {
+
+    /**
+     * Descuenta cada línea solo si hay stock suficiente.
+     * Devuelve, en el mismo orden, cuántas filas cambió cada línea (0 = sin stock o inexistente).
+     */
+    int[] descontarStock(List<LineaStockDto> lineas);
+
+    int[] reponerStock(List<LineaStockDto> lineas);
+}
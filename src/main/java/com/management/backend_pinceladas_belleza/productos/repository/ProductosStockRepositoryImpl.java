@@ -0,0 +1,40 @@
+package com.management.backend_pinceladas_belleza.productos.repository;
+
+import com.management.backend_pinceladas_belleza.productos.dto.LineaStockDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ProductosStockRepositoryImpl implements ProductosStockRepository {
+    // La condición en el WHERE hace la verificación y el descuento en un solo paso atómico:
+    // dos ventas concurrentes se serializan en el bloqueo de la fila y ninguna pierde el cambio.
+    // Las unidades retenidas por reservas vigentes no se pueden vender (ver db/scripts/011)
+    private static final String DESCONTAR = "UPDATE pinceladasdb.productos " +
+            "SET cantidad_en_stock = cantidad_en_stock - ?, version = version + 1 " +
+            "WHERE id = ? AND cantidad_en_stock - cantidad_reservada >= ?";
+
+    private static final String REPONER = "UPDATE pinceladasdb.productos " +
+            "SET cantidad_en_stock = COALESCE(cantidad_en_stock, 0) + ?, version = version + 1 " +
+            "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] descontarStock(List<LineaStockDto> lineas) {
+        return jdbcTemplate.batchUpdate(DESCONTAR, lineas, lineas.size(), (ps, linea) -> {
+            ps.setInt(1, linea.getCantidad());
+            ps.setLong(2, linea.getProductoId());
+            ps.setInt(3, linea.getCantidad());
+        })[0];
+    }
+
+    @Override
+    public int[] reponerStock(List<LineaStockDto> lineas) {
+        return jdbcTemplate.batchUpdate(REPONER, lineas, lineas.size(), (ps, linea) -> {
+            ps.setInt(1, linea.getCantidad());
+            ps.setLong(2, linea.getProductoId());
+        })[0];
+    }
+}
@@ -0,0 +1,186 @@
+package com.management.backend_pinceladas_belleza.productos.services;
+
+import com.management.backend_pinceladas_belleza.catalogo.events.CatalogoVersionCambiadaEvent;
+import com.management.backend_pinceladas_belleza.catalogo.services.ReferenciasCache;
+import com.management.backend_pinceladas_belleza.categorias.dto.EstadisticaCategoriaDto;
+import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.dto.TotalesPorCategoria;
+import com.management.backend_pinceladas_belleza.productos.events.ProductoModificadoEvent;
+import com.management.backend_pinceladas_belleza.productos.events.ProductosImportadosEvent;
+import com.management.backend_pinceladas_belleza.productos.events.StockAjustadoEvent;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Totales de inventario por categoría mantenidos en memoria para GET /category/stats.
+ *
+ * Se calculan con un solo GROUP BY al arrancar y se ajustan con cada ProductoModificadoEvent
+ * (se resta el estado anterior y se suma el actual). Los ajustes de stock solo informan ids, así
+ * que marcan los totales como pendientes y un recálculo programado los agrupa en una sola consulta.
+ *
+ * Los cambios que llegan mientras corre el GROUP BY se guardan y se repiten sobre el resultado antes
+ * de reemplazar el mapa; si no, se perderían hasta el próximo recálculo completo. Uno confirmado
+ * justo antes de que la consulta tome su snapshot puede contarse dos veces hasta ese recálculo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EstadisticasCategorias {
+    private final ProductosRepository productosRepository;
+    private final ReferenciasCache referencias;
+
+    private final AtomicBoolean pendiente = new AtomicBoolean();
+    private final Object cambios = new Object();
+
+    // Cambios recibidos durante un recálculo en curso; null si no hay ninguno (protegido por cambios)
+    private List<Delta> durante;
+
+    private volatile Map<Long, Totales> totales = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void recalcular() {
+        pendiente.set(false);
+        synchronized (cambios) {
+            durante = new ArrayList<>();
+        }
+        Map<Long, Totales> nuevos = new ConcurrentHashMap<>();
+        try {
+            for (TotalesPorCategoria fila : productosRepository.totalizarPorCategoria()) {
+                nuevos.put(fila.getId(), new Totales(
+                        fila.getCantidad() != null ? fila.getCantidad() : 0,
+                        fila.getUnidades() != null ? fila.getUnidades() : 0,
+                        fila.getValor() != null ? fila.getValor() : BigDecimal.ZERO));
+            }
+        } catch (DataAccessException e) {
+            // Se reintenta en el próximo ciclo
+            pendiente.set(true);
+            log.warn("No se pudieron recalcular las estadísticas por categoría: {}", e.getMessage());
+            synchronized (cambios) {
+                durante = null;
+            }
+            return;
+        }
+        synchronized (cambios) {
+            durante.forEach(delta -> aplicar(nuevos, delta.producto, delta.signo));
+            durante = null;
+            totales = nuevos;
+        }
+        log.debug("Estadísticas por categoría recalculadas");
+    }
+
+    @Scheduled(initialDelayString = "${categorias.estadisticas.recalculo-stock-ms:2000}",
+            fixedDelayString = "${categorias.estadisticas.recalculo-stock-ms:2000}")
+    public void recalcularSiPendiente() {
+        if (pendiente.get()) {
+            recalcular();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarProducto(ProductoModificadoEvent evento) {
+        registrar(List.of(new Delta(evento.getAnterior(), -1), new Delta(evento.getActual(), 1)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alImportarProductos(ProductosImportadosEvent evento) {
+        registrar(evento.getProductos().stream().map(producto -> new Delta(producto, 1)).collect(Collectors.toList()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alAjustarStock(StockAjustadoEvent evento) {
+        pendiente.set(true);
+    }
+
+    @EventListener(condition = "#evento.remota")
+    public void alCambiarCatalogoRemoto(CatalogoVersionCambiadaEvent evento) {
+        pendiente.set(true);
+    }
+
+    /**
+     * Una fila por categoría existente, incluidas las que no tienen productos.
+     */
+    public List<EstadisticaCategoriaDto> obtener() {
+        Map<Long, Totales> actuales = totales;
+        List<Categoria> categorias = referencias.getCategorias();
+        List<EstadisticaCategoriaDto> resultado = new ArrayList<>(categorias.size());
+        for (Categoria categoria : categorias) {
+            Totales t = actuales.getOrDefault(categoria.getId(), Totales.VACIO);
+            resultado.add(EstadisticaCategoriaDto.builder()
+                    .categoriaId(categoria.getId())
+                    .nombreCategoria(categoria.getNombreCategoria())
+                    .cantidadProductos(t.productos)
+                    .unidadesStock(t.unidades)
+                    .valorInventario(t.valor)
+                    .build());
+        }
+        return resultado;
+    }
+
+    private void registrar(List<Delta> deltas) {
+        synchronized (cambios) {
+            deltas.forEach(delta -> aplicar(totales, delta.producto, delta.signo));
+            if (durante != null) {
+                durante.addAll(deltas);
+            }
+        }
+    }
+
+    private static void aplicar(Map<Long, Totales> destino, ProductoResumenDto producto, int signo) {
+        if (producto == null || producto.getCategoriaId() == null) {
+            return;
+        }
+        long unidades = producto.getCantidadStock() != null ? producto.getCantidadStock() : 0;
+        BigDecimal valor = producto.getPrecio() != null
+                ? producto.getPrecio().multiply(BigDecimal.valueOf(unidades))
+                : BigDecimal.ZERO;
+        Totales delta = signo > 0
+                ? new Totales(1, unidades, valor)
+                : new Totales(-1, -unidades, valor.negate());
+        destino.merge(producto.getCategoriaId(), delta, Totales::sumar);
+    }
+
+    private static class Delta {
+        private final ProductoResumenDto producto;
+        private final int signo;
+
+        private Delta(ProductoResumenDto producto, int signo) {
+            this.producto = producto;
+            this.signo = signo;
+        }
+    }
+
+    // Inmutable: merge reemplaza el valor completo, un lector nunca ve una suma a medias
+    private static class Totales {
+        private static final Totales VACIO = new Totales(0, 0, BigDecimal.ZERO);
+
+        private final long productos;
+        private final long unidades;
+        private final BigDecimal valor;
+
+        private Totales(long productos, long unidades, BigDecimal valor) {
+            this.productos = productos;
+            this.unidades = unidades;
+            this.valor = valor;
+        }
+
+        private Totales sumar(Totales otro) {
+            return new Totales(productos + otro.productos, unidades + otro.unidades, valor.add(otro.valor));
+        }
+    }
+}
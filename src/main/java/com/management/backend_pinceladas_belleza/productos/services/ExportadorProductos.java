@@ -0,0 +1,161 @@
+package com.management.backend_pinceladas_belleza.productos.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.management.backend_pinceladas_belleza.exception.ServicioOcupadoException;
+import com.management.backend_pinceladas_belleza.productos.dto.FormatoExportacion;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Exporta el catálogo completo página por página.
+ *
+ * Cada página es una consulta por keyset sobre el id (ProductosRepository.findPaginaPorId) con
+ * su propia transacción corta: la conexión vuelve al pool mientras la página se escribe en la
+ * respuesta, que puede tardar lo que tarde el cliente en leerla. Un cursor abierto toda la
+ * exportación retenía una de las tres conexiones de la instancia durante minutos. El costo es
+ * que la exportación no es una foto única: un producto modificado a mitad de camino sale con el
+ * estado que tenía al leerse su página.
+ *
+ * Las exportaciones simultáneas se limitan con productos.exportacion.maximo-concurrentes.
+ */
+@Component
+public class ExportadorProductos {
+    private static final String[] COLUMNAS_CSV = {
+            "id", "nombre", "descripcion", "precio", "cantidadStock", "categoriaId", "categoriaNombre",
+            "proveedorId", "proveedorNombre", "fechaCreacion", "urlDrive"
+    };
+
+    private final ProductosRepository productosRepository;
+    private final ObjectMapper objectMapper;
+    private final Semaphore cupos;
+    private final int tamanoPagina;
+
+    public ExportadorProductos(
+            ProductosRepository productosRepository,
+            ObjectMapper objectMapper,
+            @Value("${productos.exportacion.maximo-concurrentes:2}") int maximoConcurrentes,
+            @Value("${productos.exportacion.tamano-pagina:500}") int tamanoPagina
+    ) {
+        this.productosRepository = productosRepository;
+        this.objectMapper = objectMapper;
+        this.cupos = new Semaphore(maximoConcurrentes);
+        this.tamanoPagina = tamanoPagina;
+    }
+
+    /**
+     * Toma un cupo antes de responder, así el rechazo llega como 503 y no como una descarga
+     * cortada. El cupo se devuelve al terminar de escribir el cuerpo o, si el cuerpo nunca llega a
+     * ejecutarse (timeout, cliente desconectado, executor lleno), al completarse la petición
+     * asíncrona: el controlador registra la exportación como interceptor de esa petición.
+     */
+    public Exportacion preparar(FormatoExportacion formato) {
+        if (!cupos.tryAcquire()) {
+            throw new ServicioOcupadoException("Hay demasiadas exportaciones en curso; intente de nuevo en unos minutos");
+        }
+        return new Exportacion(formato);
+    }
+
+    public class Exportacion implements StreamingResponseBody, CallableProcessingInterceptor {
+        private final FormatoExportacion formato;
+        private final AtomicBoolean liberada = new AtomicBoolean();
+
+        private Exportacion(FormatoExportacion formato) {
+            this.formato = formato;
+        }
+
+        @Override
+        public void writeTo(OutputStream salida) throws IOException {
+            try {
+                exportar(formato, salida);
+            } finally {
+                liberar();
+            }
+        }
+
+        @Override
+        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+            liberar();
+        }
+
+        // Lo pueden llamar el cuerpo y el fin de la petición, en cualquier orden: solo el primero devuelve el cupo
+        void liberar() {
+            if (liberada.compareAndSet(false, true)) {
+                cupos.release();
+            }
+        }
+    }
+
+    void exportar(FormatoExportacion formato, OutputStream salida) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), 16 * 1024);
+        ObjectWriter json = objectMapper.writerFor(ProductoResumenDto.class);
+        if (formato == FormatoExportacion.CSV) {
+            escritor.write(String.join(",", COLUMNAS_CSV));
+            escritor.write("\r\n");
+        }
+        long ultimoId = 0L;
+        List<ProductoResumenDto> pagina;
+        do {
+            pagina = productosRepository.findPaginaPorId(ultimoId, PageRequest.of(0, tamanoPagina));
+            for (ProductoResumenDto producto : pagina) {
+                if (formato == FormatoExportacion.CSV) {
+                    escribirCsv(producto, escritor);
+                } else {
+                    escritor.write(json.writeValueAsString(producto));
+                    escritor.write('\n');
+                }
+            }
+            if (!pagina.isEmpty()) {
+                ultimoId = pagina.get(pagina.size() - 1).getId();
+            }
+        } while (pagina.size() == tamanoPagina);
+        escritor.flush();
+    }
+
+    private static void escribirCsv(ProductoResumenDto p, Writer escritor) throws IOException {
+        Object[] valores = {
+                p.getId(), p.getNombre(), p.getDescripcion(), p.getPrecio(), p.getCantidadStock(),
+                p.getCategoriaId(), p.getCategoriaNombre(), p.getProveedorId(), p.getProveedorNombre(),
+                p.getFechaCreacion(), p.getUrlDrive()
+        };
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                escritor.write(',');
+            }
+            escritor.write(campoCsv(valores[i]));
+        }
+        escritor.write("\r\n");
+    }
+
+    // RFC 4180: se encierra entre comillas si contiene separador, comillas o saltos de línea
+    static String campoCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor instanceof BigDecimal
+                ? ((BigDecimal) valor).toPlainString()
+                : valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,194 @@
+package com.management.backend_pinceladas_belleza.productos.services;
+
+import com.management.backend_pinceladas_belleza.catalogo.events.CatalogoVersionCambiadaEvent;
+import com.management.backend_pinceladas_belleza.productos.dto.ConteoPorId;
+import com.management.backend_pinceladas_belleza.productos.dto.ConteoPorPrecio;
+import com.management.backend_pinceladas_belleza.productos.dto.FacetasDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.dto.RangoPrecioDto;
+import com.management.backend_pinceladas_belleza.productos.events.ProductoModificadoEvent;
+import com.management.backend_pinceladas_belleza.productos.events.ProductosImportadosEvent;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Conteos de facetas del catálogo mantenidos en memoria.
+ *
+ * Se calculan con tres GROUP BY al arrancar y luego se ajustan con cada ProductoModificadoEvent
+ * (se resta el estado anterior y se suma el actual), así los listados filtrados no agrupan en
+ * cada petición. Un recálculo periódico corrige la deriva de escrituras hechas en otras instancias.
+ * Los cambios que llegan durante el recálculo se repiten sobre los conteos nuevos antes de publicarlos.
+ */
+@Slf4j
+@Component
+public class FacetasProductos {
+    private final ProductosRepository productosRepository;
+    private final BigDecimal[] limites;
+
+    private final Object cambios = new Object();
+
+    private volatile Conteos conteos;
+
+    // Cambios recibidos durante un recálculo en curso; null si no hay ninguno (protegido por cambios)
+    private List<Delta> durante;
+
+    public FacetasProductos(
+            ProductosRepository productosRepository,
+            @Value("${productos.facetas.rangos-precio:20000,50000,100000}") String rangosPrecio
+    ) {
+        this.productosRepository = productosRepository;
+        this.limites = Arrays.stream(rangosPrecio.split(","))
+                .map(String::trim)
+                .map(BigDecimal::new)
+                .sorted()
+                .toArray(BigDecimal[]::new);
+        this.conteos = new Conteos(limites.length + 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${productos.facetas.recalculo-ms:600000}",
+            fixedDelayString = "${productos.facetas.recalculo-ms:600000}")
+    public synchronized void recalcular() {
+        synchronized (cambios) {
+            durante = new ArrayList<>();
+        }
+        Conteos nuevos = new Conteos(limites.length + 1);
+        try {
+            for (ConteoPorId conteo : productosRepository.contarPorCategoria()) {
+                nuevos.porCategoria.put(conteo.getId(), new AtomicLong(conteo.getCantidad()));
+            }
+            for (ConteoPorId conteo : productosRepository.contarPorProveedor()) {
+                nuevos.porProveedor.put(conteo.getId(), new AtomicLong(conteo.getCantidad()));
+            }
+            for (ConteoPorPrecio conteo : productosRepository.contarPorPrecio()) {
+                if (conteo.getPrecio() != null) {
+                    nuevos.porRango.addAndGet(rango(conteo.getPrecio()), conteo.getCantidad());
+                }
+            }
+            synchronized (cambios) {
+                durante.forEach(delta -> aplicar(nuevos, delta.producto, delta.signo));
+                conteos = nuevos;
+            }
+        } catch (DataAccessException e) {
+            // Se conservan los conteos anteriores; el próximo recálculo programado vuelve a intentarlo
+            log.warn("No se pudieron recalcular las facetas de productos: {}", e.getMessage());
+            return;
+        } finally {
+            synchronized (cambios) {
+                durante = null;
+            }
+        }
+        log.debug("Facetas de productos recalculadas");
+    }
+
+    // Cambios hechos por otra instancia: no llegan como eventos locales, se recarga todo
+    @EventListener(condition = "#evento.remota")
+    public void alCambiarCatalogoRemoto(CatalogoVersionCambiadaEvent evento) {
+        recalcular();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarProducto(ProductoModificadoEvent evento) {
+        registrar(List.of(new Delta(evento.getAnterior(), -1), new Delta(evento.getActual(), 1)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alImportarProductos(ProductosImportadosEvent evento) {
+        registrar(evento.getProductos().stream().map(producto -> new Delta(producto, 1)).collect(Collectors.toList()));
+    }
+
+    public FacetasDto obtener() {
+        Conteos actuales = conteos;
+        List<RangoPrecioDto> rangos = new ArrayList<>(limites.length + 1);
+        for (int i = 0; i <= limites.length; i++) {
+            rangos.add(RangoPrecioDto.builder()
+                    .desde(i == 0 ? BigDecimal.ZERO : limites[i - 1])
+                    .hasta(i < limites.length ? limites[i] : null)
+                    .cantidad(actuales.porRango.get(i))
+                    .build());
+        }
+        return FacetasDto.builder()
+                .categorias(copiar(actuales.porCategoria))
+                .proveedores(copiar(actuales.porProveedor))
+                .rangosPrecio(rangos)
+                .build();
+    }
+
+    private void registrar(List<Delta> deltas) {
+        synchronized (cambios) {
+            Conteos actuales = conteos;
+            deltas.forEach(delta -> aplicar(actuales, delta.producto, delta.signo));
+            if (durante != null) {
+                durante.addAll(deltas);
+            }
+        }
+    }
+
+    private void aplicar(Conteos destino, ProductoResumenDto producto, long delta) {
+        if (producto == null) {
+            return;
+        }
+        if (producto.getCategoriaId() != null) {
+            destino.porCategoria.computeIfAbsent(producto.getCategoriaId(), id -> new AtomicLong()).addAndGet(delta);
+        }
+        if (producto.getProveedorId() != null) {
+            destino.porProveedor.computeIfAbsent(producto.getProveedorId(), id -> new AtomicLong()).addAndGet(delta);
+        }
+        if (producto.getPrecio() != null) {
+            destino.porRango.addAndGet(rango(producto.getPrecio()), delta);
+        }
+    }
+
+    private int rango(BigDecimal precio) {
+        int indice = 0;
+        while (indice < limites.length && precio.compareTo(limites[indice]) >= 0) {
+            indice++;
+        }
+        return indice;
+    }
+
+    private static Map<Long, Long> copiar(Map<Long, AtomicLong> origen) {
+        Map<Long, Long> copia = new TreeMap<>();
+        origen.forEach((id, cantidad) -> {
+            long valor = cantidad.get();
+            if (valor > 0) {
+                copia.put(id, valor);
+            }
+        });
+        return copia;
+    }
+
+    private static class Delta {
+        private final ProductoResumenDto producto;
+        private final long signo;
+
+        private Delta(ProductoResumenDto producto, long signo) {
+            this.producto = producto;
+            this.signo = signo;
+        }
+    }
+
+    private static class Conteos {
+        private final Map<Long, AtomicLong> porCategoria = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLong> porProveedor = new ConcurrentHashMap<>();
+        private final AtomicLongArray porRango;
+
+        private Conteos(int rangos) {
+            this.porRango = new AtomicLongArray(rangos);
+        }
+    }
+}
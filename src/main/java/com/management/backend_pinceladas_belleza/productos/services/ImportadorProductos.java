@@ -0,0 +1,273 @@
+package com.management.backend_pinceladas_belleza.productos.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
+import com.management.backend_pinceladas_belleza.categorias.repository.CategoriaRepository;
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+import com.management.backend_pinceladas_belleza.productos.dto.ErrorFilaDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ImportacionResultadoDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductosDto;
+import com.management.backend_pinceladas_belleza.productos.entity.Productos;
+import com.management.backend_pinceladas_belleza.productos.events.ProductosImportadosEvent;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import com.management.backend_pinceladas_belleza.proveedores.entity.Proveedor;
+import com.management.backend_pinceladas_belleza.proveedores.repository.ProveedoresRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de productos desde un arreglo JSON o un CSV con cabecera.
+ *
+ * Las categorías y proveedores referenciados se cargan con una consulta cada uno. Las filas válidas
+ * se insertan en bloques, cada bloque en su propia transacción, para que Hibernate agrupe los INSERT
+ * en lotes JDBC (ver hibernate.jdbc.batch_size) y un bloque fallido no revierta los anteriores.
+ */
+@Slf4j
+@Component
+public class ImportadorProductos {
+    private static final String[] COLUMNAS_CSV = {
+            "nombre", "descripcion", "precio", "cantidadStock", "categoriaId", "proveedorId", "urlDrive"
+    };
+
+    private final ProductosRepository productosRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final ProveedoresRepository proveedoresRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanoBloque;
+    private final int maximoFilas;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ImportadorProductos(
+            ProductosRepository productosRepository,
+            CategoriaRepository categoriaRepository,
+            ProveedoresRepository proveedoresRepository,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${productos.importacion.tamano-bloque:500}") int tamanoBloque,
+            @Value("${productos.importacion.maximo-filas:20000}") int maximoFilas
+    ) {
+        this.productosRepository = productosRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.proveedoresRepository = proveedoresRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanoBloque = tamanoBloque;
+        this.maximoFilas = maximoFilas;
+    }
+
+    public ImportacionResultadoDto importarJson(Reader contenido) throws IOException {
+        JsonNode raiz;
+        try {
+            raiz = objectMapper.readTree(contenido);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("El contenido no es un JSON válido: " + e.getOriginalMessage());
+        }
+        if (raiz == null || !raiz.isArray()) {
+            throw new BadRequestException("Se esperaba un arreglo JSON de productos");
+        }
+        validarCantidad(raiz.size());
+
+        List<ErrorFilaDto> errores = new ArrayList<>();
+        List<Fila> filas = new ArrayList<>(raiz.size());
+        int numero = 0;
+        for (JsonNode nodo : raiz) {
+            numero++;
+            try {
+                filas.add(new Fila(numero, objectMapper.treeToValue(nodo, ProductosDto.class)));
+            } catch (JsonProcessingException e) {
+                errores.add(new ErrorFilaDto(numero, "Formato inválido: " + e.getOriginalMessage()));
+            }
+        }
+        return importar(filas, numero, errores);
+    }
+
+    public ImportacionResultadoDto importarCsv(Reader contenido) throws IOException {
+        List<List<String>> registros = LectorCsv.leer(contenido);
+        if (registros.isEmpty()) {
+            throw new BadRequestException("El CSV está vacío");
+        }
+        Map<String, Integer> columnas = new HashMap<>();
+        List<String> cabecera = registros.get(0);
+        for (int i = 0; i < cabecera.size(); i++) {
+            columnas.put(cabecera.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columnas.containsKey("nombre") || !columnas.containsKey("precio")) {
+            throw new BadRequestException("La cabecera del CSV debe incluir al menos las columnas nombre y precio. " +
+                    "Columnas soportadas: " + String.join(",", COLUMNAS_CSV));
+        }
+        validarCantidad(registros.size() - 1);
+
+        List<ErrorFilaDto> errores = new ArrayList<>();
+        List<Fila> filas = new ArrayList<>(registros.size() - 1);
+        for (int i = 1; i < registros.size(); i++) {
+            List<String> registro = registros.get(i);
+            try {
+                ProductosDto dto = ProductosDto.builder()
+                        .nombre(valor(registro, columnas, "nombre"))
+                        .descripcion(valor(registro, columnas, "descripcion"))
+                        .precio(decimal(valor(registro, columnas, "precio")))
+                        .cantidadStock(entero(valor(registro, columnas, "cantidadstock")))
+                        .categoriaId(largo(valor(registro, columnas, "categoriaid")))
+                        .proveedorId(largo(valor(registro, columnas, "proveedorid")))
+                        .urlDrive(valor(registro, columnas, "urldrive"))
+                        .build();
+                filas.add(new Fila(i, dto));
+            } catch (NumberFormatException e) {
+                errores.add(new ErrorFilaDto(i, "Valor numérico inválido: " + e.getMessage()));
+            }
+        }
+        return importar(filas, registros.size() - 1, errores);
+    }
+
+    private ImportacionResultadoDto importar(List<Fila> filas, int totalFilas, List<ErrorFilaDto> errores) {
+        // Una consulta por tabla para todas las referencias del archivo
+        Set<Long> categoriaIds = filas.stream().map(f -> f.dto.getCategoriaId()).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> proveedorIds = filas.stream().map(f -> f.dto.getProveedorId()).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Categoria> categorias = categoriaIds.isEmpty() ? Map.of() : categoriaRepository.findAllById(categoriaIds).stream()
+                .collect(Collectors.toMap(Categoria::getId, Function.identity()));
+        Map<Long, Proveedor> proveedores = proveedorIds.isEmpty() ? Map.of() : proveedoresRepository.findAllById(proveedorIds).stream()
+                .collect(Collectors.toMap(Proveedor::getId, Function.identity()));
+
+        List<Fila> validas = new ArrayList<>(filas.size());
+        for (Fila fila : filas) {
+            String error = validar(fila.dto, categorias, proveedores);
+            if (error != null) {
+                errores.add(new ErrorFilaDto(fila.numero, error));
+            } else {
+                validas.add(fila);
+            }
+        }
+
+        LocalDate hoy = LocalDate.now();
+        int importados = 0;
+        for (int desde = 0; desde < validas.size(); desde += tamanoBloque) {
+            List<Fila> bloque = validas.subList(desde, Math.min(desde + tamanoBloque, validas.size()));
+            List<Productos> entidades = bloque.stream()
+                    .map(fila -> aEntidad(fila.dto, categorias, proveedores, hoy))
+                    .collect(Collectors.toList());
+            try {
+                transactionTemplate.executeWithoutResult(estado -> {
+                    // Por el proxy del repositorio: las violaciones de restricciones llegan traducidas
+                    productosRepository.saveAllAndFlush(entidades);
+                    entityManager.clear();
+                    // Dentro de la transacción del bloque: el outbox registra el evento en ella y los
+                    // oyentes locales lo reciben recién al confirmar. Uno por bloque, no por fila
+                    eventPublisher.publishEvent(new ProductosImportadosEvent(entidades.stream()
+                            .map(ProductoResumenDto::desde)
+                            .collect(Collectors.toList())));
+                });
+            } catch (DataAccessException | TransactionException | PersistenceException e) {
+                // Cualquier falla al guardar o confirmar se reporta por fila y se sigue con el próximo bloque
+                log.warn("Falló el bloque de importación que inicia en la fila {}", bloque.get(0).numero, e);
+                String mensaje = "No se pudo guardar el bloque: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                bloque.forEach(fila -> errores.add(new ErrorFilaDto(fila.numero, mensaje)));
+                continue;
+            }
+            importados += entidades.size();
+        }
+
+        errores.sort(Comparator.comparingInt(ErrorFilaDto::getFila));
+        return ImportacionResultadoDto.builder()
+                .totalFilas(totalFilas)
+                .importados(importados)
+                .errores(errores)
+                .build();
+    }
+
+    private static String validar(ProductosDto dto, Map<Long, Categoria> categorias, Map<Long, Proveedor> proveedores) {
+        if (dto.getNombre() == null || dto.getNombre().trim().isEmpty()) {
+            return "El nombre del producto es requerido";
+        }
+        if (dto.getPrecio() == null || dto.getPrecio().signum() <= 0) {
+            return "El precio del producto debe ser mayor a 0";
+        }
+        if (dto.getCantidadStock() != null && dto.getCantidadStock() < 0) {
+            return "La cantidad en stock no puede ser negativa";
+        }
+        if (dto.getCategoriaId() == null || !categorias.containsKey(dto.getCategoriaId())) {
+            return "Categoría no encontrada con id: " + dto.getCategoriaId();
+        }
+        if (dto.getProveedorId() == null || !proveedores.containsKey(dto.getProveedorId())) {
+            return "Proveedor no encontrado con id: " + dto.getProveedorId();
+        }
+        return null;
+    }
+
+    private static Productos aEntidad(ProductosDto dto, Map<Long, Categoria> categorias,
+                                      Map<Long, Proveedor> proveedores, LocalDate fecha) {
+        return Productos.builder()
+                .nombre(dto.getNombre().trim())
+                .descripcion(dto.getDescripcion())
+                .precio(dto.getPrecio())
+                .cantidadStock(dto.getCantidadStock() != null ? dto.getCantidadStock() : 0)
+                .categoria(categorias.get(dto.getCategoriaId()))
+                .proveedor(proveedores.get(dto.getProveedorId()))
+                .fechaCreacion(fecha)
+                .urlDrive(dto.getUrlDrive())
+                .build();
+    }
+
+    private void validarCantidad(int filas) {
+        if (filas > maximoFilas) {
+            throw new BadRequestException("La importación admite como máximo " + maximoFilas + " filas");
+        }
+    }
+
+    private static String valor(List<String> registro, Map<String, Integer> columnas, String columna) {
+        Integer indice = columnas.get(columna);
+        if (indice == null || indice >= registro.size()) {
+            return null;
+        }
+        String valor = registro.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static BigDecimal decimal(String valor) {
+        return valor == null ? null : new BigDecimal(valor);
+    }
+
+    private static Integer entero(String valor) {
+        return valor == null ? null : Integer.valueOf(valor);
+    }
+
+    private static Long largo(String valor) {
+        return valor == null ? null : Long.valueOf(valor);
+    }
+
+    private static class Fila {
+        private final int numero;
+        private final ProductosDto dto;
+
+        private Fila(int numero, ProductosDto dto) {
+            this.numero = numero;
+            this.dto = dto;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.management.backend_pinceladas_belleza.productos.services;
+
+import com.management.backend_pinceladas_belleza.catalogo.events.CatalogoVersionCambiadaEvent;
+import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
+import com.management.backend_pinceladas_belleza.categorias.events.CategoriaModificadaEvent;
+import com.management.backend_pinceladas_belleza.categorias.repository.CategoriaRepository;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.dto.SugerenciaDto;
+import com.management.backend_pinceladas_belleza.productos.events.ProductoModificadoEvent;
+import com.management.backend_pinceladas_belleza.productos.events.ProductosImportadosEvent;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice de prefijos en memoria para el autocompletado de nombres de productos y categorías.
+ *
+ * Cada término normalizado (sin tildes, en minúsculas) se guarda en un mapa ordenado, de modo que
+ * una búsqueda por prefijo es un recorrido de subMap sin acceso a base de datos. Se indexa el
+ * nombre completo y cada una de sus palabras, así "rojo" también sugiere "Labial Rojo".
+ * Se carga al arrancar y se mantiene con los eventos de escritura de productos y categorías.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndiceAutocompletado {
+    private static final char SEPARADOR = '\u0000';
+
+    private final ProductosRepository productosRepository;
+    private final CategoriaRepository categoriaRepository;
+
+    // termino + SEPARADOR + entrada -> sugerencia; la entrada hace única la clave
+    private volatile ConcurrentSkipListMap<String, SugerenciaDto> indice = new ConcurrentSkipListMap<>();
+    // entrada (p. ej. "PRODUCTO:12") -> claves que ocupa en el índice, para poder reindexar
+    private volatile Map<String, List<String>> clavesPorEntrada = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void cargar() {
+        ConcurrentSkipListMap<String, SugerenciaDto> nuevoIndice = new ConcurrentSkipListMap<>();
+        Map<String, List<String>> nuevasClaves = new HashMap<>();
+        for (ProductoResumenDto producto : productosRepository.findAllResumen()) {
+            agregar(nuevoIndice, nuevasClaves, new SugerenciaDto(producto.getId(), producto.getNombre(), SugerenciaDto.PRODUCTO));
+        }
+        for (Categoria categoria : categoriaRepository.findAll()) {
+            agregar(nuevoIndice, nuevasClaves, new SugerenciaDto(categoria.getId(), categoria.getNombreCategoria(), SugerenciaDto.CATEGORIA));
+        }
+        indice = nuevoIndice;
+        clavesPorEntrada = nuevasClaves;
+        log.info("Índice de autocompletado cargado con {} entradas", nuevasClaves.size());
+    }
+
+    public List<SugerenciaDto> sugerir(String prefijo, int limite) {
+        String termino = normalizar(prefijo);
+        if (termino.isEmpty()) {
+            return List.of();
+        }
+        Map<String, SugerenciaDto> resultado = new LinkedHashMap<>();
+        for (SugerenciaDto sugerencia : indice.subMap(termino, true, termino + Character.MAX_VALUE, true).values()) {
+            resultado.putIfAbsent(entrada(sugerencia), sugerencia);
+            if (resultado.size() >= limite) {
+                break;
+            }
+        }
+        return new ArrayList<>(resultado.values());
+    }
+
+    // Cambios hechos por otra instancia: no llegan como eventos locales, se recarga todo
+    @EventListener(condition = "#evento.remota")
+    public void alCambiarCatalogoRemoto(CatalogoVersionCambiadaEvent evento) {
+        cargar();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void alModificarProducto(ProductoModificadoEvent evento) {
+        ProductoResumenDto actual = evento.getActual();
+        if (actual == null) {
+            quitar(indice, clavesPorEntrada, SugerenciaDto.PRODUCTO + ":" + evento.getProductoId());
+        } else {
+            agregar(indice, clavesPorEntrada, new SugerenciaDto(actual.getId(), actual.getNombre(), SugerenciaDto.PRODUCTO));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void alImportarProductos(ProductosImportadosEvent evento) {
+        for (ProductoResumenDto producto : evento.getProductos()) {
+            agregar(indice, clavesPorEntrada, new SugerenciaDto(producto.getId(), producto.getNombre(), SugerenciaDto.PRODUCTO));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void alModificarCategoria(CategoriaModificadaEvent evento) {
+        Categoria categoria = evento.getCategoria();
+        if (categoria == null) {
+            quitar(indice, clavesPorEntrada, SugerenciaDto.CATEGORIA + ":" + evento.getCategoriaId());
+        } else {
+            agregar(indice, clavesPorEntrada, new SugerenciaDto(categoria.getId(), categoria.getNombreCategoria(), SugerenciaDto.CATEGORIA));
+        }
+    }
+
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinTildes = Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sinTildes.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+    }
+
+    private static void agregar(Map<String, SugerenciaDto> destino, Map<String, List<String>> claves, SugerenciaDto sugerencia) {
+        String entrada = entrada(sugerencia);
+        quitar(destino, claves, entrada);
+
+        String nombre = normalizar(sugerencia.getTexto());
+        if (nombre.isEmpty()) {
+            return;
+        }
+        Set<String> terminos = new LinkedHashSet<>();
+        terminos.add(nombre);
+        terminos.addAll(Arrays.asList(nombre.split(" ")));
+
+        List<String> ocupadas = new ArrayList<>(terminos.size());
+        for (String termino : terminos) {
+            String clave = termino + SEPARADOR + entrada;
+            destino.put(clave, sugerencia);
+            ocupadas.add(clave);
+        }
+        claves.put(entrada, ocupadas);
+    }
+
+    private static void quitar(Map<String, SugerenciaDto> destino, Map<String, List<String>> claves, String entrada) {
+        List<String> anteriores = claves.remove(entrada);
+        if (anteriores != null) {
+            anteriores.forEach(destino::remove);
+        }
+    }
+
+    private static String entrada(SugerenciaDto sugerencia) {
+        return sugerencia.getTipo() + ":" + sugerencia.getId();
+    }
+}
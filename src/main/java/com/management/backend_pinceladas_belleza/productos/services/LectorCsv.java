@@ -0,0 +1,71 @@
+package com.management.backend_pinceladas_belleza.productos.services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector CSV mínimo (RFC 4180): separador coma, campos entre comillas dobles con "" como escape
+ * y saltos de línea permitidos dentro de las comillas. Ignora las líneas vacías.
+ */
+final class LectorCsv {
+
+    private LectorCsv() {
+    }
+
+    static List<List<String>> leer(Reader entrada) throws IOException {
+        List<List<String>> registros = new ArrayList<>();
+        List<String> registro = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        boolean campoIniciado = false;
+
+        int c = entrada.read();
+        // Descarta el BOM que agregan algunas hojas de cálculo
+        if (c == '\uFEFF') {
+            c = entrada.read();
+        }
+        while (c != -1) {
+            char caracter = (char) c;
+            if (entreComillas) {
+                if (caracter == '"') {
+                    int siguiente = entrada.read();
+                    if (siguiente == '"') {
+                        campo.append('"');
+                    } else {
+                        entreComillas = false;
+                        c = siguiente;
+                        continue;
+                    }
+                } else {
+                    campo.append(caracter);
+                }
+            } else if (caracter == '"') {
+                entreComillas = true;
+                campoIniciado = true;
+            } else if (caracter == ',') {
+                registro.add(campo.toString());
+                campo.setLength(0);
+                campoIniciado = true;
+            } else if (caracter == '\n' || caracter == '\r') {
+                if (campoIniciado || campo.length() > 0) {
+                    registro.add(campo.toString());
+                    registros.add(registro);
+                    registro = new ArrayList<>();
+                    campo.setLength(0);
+                    campoIniciado = false;
+                }
+            } else {
+                campo.append(caracter);
+                campoIniciado = true;
+            }
+            c = entrada.read();
+        }
+        if (campoIniciado || campo.length() > 0) {
+            registro.add(campo.toString());
+            registros.add(registro);
+        }
+        return registros;
+    }
+}
@@ -1,33 +1,205 @@
 package com.management.backend_pinceladas_belleza.productos.services;
 
+import com.management.backend_pinceladas_belleza.catalogo.services.ReferenciasCache;
+import com.management.backend_pinceladas_belleza.common.CoalescedorLecturas;
+import com.management.backend_pinceladas_belleza.config.CacheConfiguration;
 import com.management.backend_pinceladas_belleza.exception.BadRequestException;
 import com.management.backend_pinceladas_belleza.exception.ResourceNotFoundException;
+import com.management.backend_pinceladas_belleza.productos.dto.FiltroProductosDto;
+import com.management.backend_pinceladas_belleza.productos.dto.OrdenProductos;
+import com.management.backend_pinceladas_belleza.productos.dto.PaginaCursorDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoCursor;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
 import com.management.backend_pinceladas_belleza.productos.dto.ProductosDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductosFiltradosDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductosPorIdsDto;
+import com.management.backend_pinceladas_belleza.productos.dto.SugerenciaDto;
 import com.management.backend_pinceladas_belleza.productos.entity.Productos;
+import com.management.backend_pinceladas_belleza.productos.events.ProductoModificadoEvent;
+import com.management.backend_pinceladas_belleza.productos.events.ProductosImportadosEvent;
 import com.management.backend_pinceladas_belleza.productos.interfaces.IProductos;
 import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
 import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
-import com.management.backend_pinceladas_belleza.categorias.repository.CategoriaRepository;
 import com.management.backend_pinceladas_belleza.proveedores.entity.Proveedor;
-import com.management.backend_pinceladas_belleza.proveedores.repository.ProveedoresRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductoService implements IProductos {
     private final ProductosRepository productosRepository;
-    private final CategoriaRepository categoriaRepository;
-    private final ProveedoresRepository proveedoresRepository;
+    private final ReferenciasCache referencias;
+    private final IndiceAutocompletado indiceAutocompletado;
+    private final FacetasProductos facetasProductos;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CoalescedorLecturas coalescedor;
+    private final CacheManager cacheManager;
+
+    @Value("${productos.paginacion.tamano-defecto:20}")
+    private int tamanoPaginaDefecto;
+
+    @Value("${productos.paginacion.tamano-maximo:100}")
+    private int tamanoPaginaMaximo;
+
+    @Value("${productos.batch.maximo-ids:500}")
+    private int maximoIdsPorLote;
 
     @Override
     public List<Productos> getAll() {
         return productosRepository.findAll();
     }
 
+    @Override
+    @Cacheable(cacheNames = CacheConfiguration.PRODUCTOS_LISTA, key = "'resumen'")
+    public List<ProductoResumenDto> getAllResumen() {
+        // Tras expirar la caché, las peticiones simultáneas comparten una sola consulta
+        return coalescedor.ejecutar("productos:resumen", productosRepository::findAllResumen);
+    }
+
+    @Override
+    public PaginaCursorDto<ProductoResumenDto> getPagina(String cursor, Integer tamano, String orden) {
+        OrdenProductos ordenProductos = OrdenProductos.desde(orden);
+        int tamanoPagina = validarTamanoPagina(tamano);
+
+        // Se pide un elemento extra para saber si existe una página siguiente sin hacer COUNT
+        Pageable limite = PageRequest.of(0, tamanoPagina + 1);
+        ProductoCursor posicion = cursor == null || cursor.trim().isEmpty()
+                ? null
+                : ProductoCursor.decodificar(cursor.trim(), ordenProductos);
+
+        List<ProductoResumenDto> resultado;
+        switch (ordenProductos) {
+            case ID:
+                resultado = productosRepository.findPaginaPorId(posicion != null ? posicion.getId() : 0L, limite);
+                break;
+            case ANTIGUOS:
+                resultado = posicion == null
+                        ? productosRepository.findPrimeraPaginaAntiguos(limite)
+                        : productosRepository.findPaginaAntiguos(posicion.getFechaCreacion(), posicion.getId(), limite);
+                break;
+            default:
+                resultado = posicion == null
+                        ? productosRepository.findPrimeraPaginaRecientes(limite)
+                        : productosRepository.findPaginaRecientes(posicion.getFechaCreacion(), posicion.getId(), limite);
+                break;
+        }
+
+        boolean hayMas = resultado.size() > tamanoPagina;
+        List<ProductoResumenDto> contenido = hayMas ? resultado.subList(0, tamanoPagina) : resultado;
+        String siguienteCursor = null;
+        if (hayMas) {
+            ProductoResumenDto ultimo = contenido.get(contenido.size() - 1);
+            siguienteCursor = new ProductoCursor(ordenProductos, ultimo.getFechaCreacion(), ultimo.getId()).codificar();
+        }
+
+        return PaginaCursorDto.<ProductoResumenDto>builder()
+                .contenido(contenido)
+                .siguienteCursor(siguienteCursor)
+                .hayMas(hayMas)
+                .tamano(contenido.size())
+                .orden(ordenProductos.name())
+                .build();
+    }
+
+    @Override
+    public Page<ProductoResumenDto> buscar(String texto, int pagina, Integer tamano) {
+        if (texto == null || texto.trim().isEmpty()) {
+            throw new BadRequestException("El texto de búsqueda es requerido");
+        }
+        if (texto.length() > 100) {
+            throw new BadRequestException("El texto de búsqueda no puede superar 100 caracteres");
+        }
+        int tamanoPagina = validarTamanoPagina(tamano);
+        if (pagina < 0) {
+            throw new BadRequestException("El número de página no puede ser negativo");
+        }
+
+        PageRequest pageable = PageRequest.of(pagina, tamanoPagina);
+        Page<Number> ids = productosRepository.buscarIds(texto.trim(), pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+
+        // El IN no conserva el orden por relevancia; se reordena según los ids del ranking
+        List<Long> idsOrdenados = ids.getContent().stream().map(Number::longValue).collect(Collectors.toList());
+        Map<Long, ProductoResumenDto> porId = productosRepository.findResumenByIdIn(idsOrdenados).stream()
+                .collect(Collectors.toMap(ProductoResumenDto::getId, Function.identity()));
+        List<ProductoResumenDto> contenido = idsOrdenados.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(contenido, pageable, ids.getTotalElements());
+    }
+
+    @Override
+    public ProductosFiltradosDto filtrar(FiltroProductosDto filtro, int pagina, Integer tamano) {
+        FiltroProductosDto criterios = filtro != null ? filtro : new FiltroProductosDto();
+        if (criterios.getPrecioMin() != null && criterios.getPrecioMax() != null
+                && criterios.getPrecioMin().compareTo(criterios.getPrecioMax()) > 0) {
+            throw new BadRequestException("El precio mínimo no puede ser mayor que el precio máximo");
+        }
+        int tamanoPagina = validarTamanoPagina(tamano);
+        if (pagina < 0) {
+            throw new BadRequestException("El número de página no puede ser negativo");
+        }
+
+        Page<ProductoResumenDto> productos = productosRepository.filtrar(
+                criterios.getCategoriaId(),
+                criterios.getProveedorId(),
+                criterios.getPrecioMin(),
+                criterios.getPrecioMax(),
+                criterios.isSoloEnStock(),
+                PageRequest.of(pagina, tamanoPagina));
+
+        // Las facetas salen de los conteos en memoria, no de un GROUP BY por petición
+        return ProductosFiltradosDto.builder()
+                .productos(productos)
+                .facetas(facetasProductos.obtener())
+                .build();
+    }
+
+    @Override
+    public Page<ProductoResumenDto> getPorCategoria(Long categoriaId, int pagina, Integer tamano) {
+        int tamanoPagina = validarTamanoPagina(tamano);
+        if (pagina < 0) {
+            throw new BadRequestException("El número de página no puede ser negativo");
+        }
+        referencias.buscarCategoria(categoriaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Categoría", "id", categoriaId));
+        return productosRepository.findResumenEnSubarbol(categoriaId, PageRequest.of(pagina, tamanoPagina));
+    }
+
+    @Override
+    public List<SugerenciaDto> sugerir(String prefijo, Integer limite) {
+        int cantidad = limite != null ? limite : 10;
+        if (cantidad < 1 || cantidad > 20) {
+            throw new BadRequestException("El límite de sugerencias debe estar entre 1 y 20");
+        }
+        return indiceAutocompletado.sugerir(prefijo, cantidad);
+    }
+
     @Override
     public Productos getById(Long id) {
         return productosRepository.findById(id)
@@ -35,6 +207,67 @@ public class ProductoService implements IProductos {
     }
 
     @Override
+    public ProductosPorIdsDto getResumenPorIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("Debe indicar al menos un ID de producto");
+        }
+        LinkedHashSet<Long> unicos = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null) {
+                throw new BadRequestException("La lista de IDs no puede contener valores nulos");
+            }
+            unicos.add(id);
+        }
+        if (unicos.size() > maximoIdsPorLote) {
+            throw new BadRequestException("Se permiten como máximo " + maximoIdsPorLote + " IDs por consulta");
+        }
+
+        // Primero la caché de productos individuales; solo los faltantes van a la base en un único IN
+        Cache cache = cacheManager.getCache(CacheConfiguration.PRODUCTOS);
+        Map<Long, ProductoResumenDto> encontrados = new HashMap<>();
+        List<Long> faltantes = new ArrayList<>();
+        for (Long id : unicos) {
+            ProductoResumenDto enCache = cache != null ? cache.get(id, ProductoResumenDto.class) : null;
+            if (enCache != null) {
+                encontrados.put(id, enCache);
+            } else {
+                faltantes.add(id);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            for (ProductoResumenDto producto : productosRepository.findResumenByIdIn(faltantes)) {
+                encontrados.put(producto.getId(), producto);
+                if (cache != null) {
+                    cache.put(producto.getId(), producto);
+                }
+            }
+        }
+
+        List<ProductoResumenDto> productos = new ArrayList<>(encontrados.size());
+        List<Long> noEncontrados = new ArrayList<>();
+        for (Long id : unicos) {
+            ProductoResumenDto producto = encontrados.get(id);
+            if (producto != null) {
+                productos.add(producto);
+            } else {
+                noEncontrados.add(id);
+            }
+        }
+        return ProductosPorIdsDto.builder()
+                .productos(productos)
+                .noEncontrados(noEncontrados)
+                .build();
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfiguration.PRODUCTOS, key = "#id")
+    public ProductoResumenDto getResumenById(Long id) {
+        return coalescedor.ejecutar("productos:resumen:" + id, () -> productosRepository.findResumenById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Producto", "id", id)));
+    }
+
+    @Override
+    @Transactional
     public Productos createProducto(ProductosDto producto) {
         if (producto.getNombre() == null || producto.getNombre().trim().isEmpty()) {
             throw new BadRequestException("El nombre del producto es requerido");
@@ -44,10 +277,12 @@ public class ProductoService implements IProductos {
             throw new BadRequestException("El precio del producto debe ser mayor a 0");
         }
 
-        Categoria categoria = categoriaRepository.findById(producto.getCategoriaId())
+        validarReorden(producto);
+
+        Categoria categoria = referencias.buscarCategoria(producto.getCategoriaId())
                 .orElseThrow(() -> new ResourceNotFoundException("Categoría", "id", producto.getCategoriaId()));
 
-        Proveedor proveedor = proveedoresRepository.findById(producto.getProveedorId())
+        Proveedor proveedor = referencias.buscarProveedor(producto.getProveedorId())
                 .orElseThrow(() -> new ResourceNotFoundException("Proveedor", "id", producto.getProveedorId()));
 
         Productos productos = Productos.builder()
@@ -59,18 +294,28 @@ public class ProductoService implements IProductos {
                 .proveedor(proveedor)
                 .fechaCreacion(LocalDate.now())
                 .urlDrive(producto.getUrlDrive())
+                .puntoReorden(producto.getPuntoReorden())
+                .cantidadReorden(producto.getCantidadReorden())
                 .build();
 
-        return productosRepository.save(productos);
+        Productos guardado = productosRepository.save(productos);
+        eventPublisher.publishEvent(new ProductoModificadoEvent(null, ProductoResumenDto.desde(guardado)));
+        return guardado;
     }
 
     @Override
+    @Transactional
     public Productos updateProducto(ProductosDto producto) {
         if (producto.getId() == null) {
             throw new BadRequestException("El ID del producto es requerido para actualizar");
         }
+        validarReorden(producto);
         
         Productos productoEntity = getById(producto.getId());
+        if (producto.getVersion() != null && !producto.getVersion().equals(productoEntity.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Productos.class, producto.getId());
+        }
+        ProductoResumenDto anterior = ProductoResumenDto.desde(productoEntity);
         productoEntity.setNombre(producto.getNombre());
         productoEntity.setPrecio(producto.getPrecio());
         productoEntity.setDescripcion(producto.getDescripcion());
@@ -78,26 +323,81 @@ public class ProductoService implements IProductos {
         
         // Buscar y asignar categoría y proveedor por ID
         if (producto.getCategoriaId() != null) {
-            Categoria categoria = categoriaRepository.findById(producto.getCategoriaId())
+            Categoria categoria = referencias.buscarCategoria(producto.getCategoriaId())
                     .orElseThrow(() -> new ResourceNotFoundException("Categoría", "id", producto.getCategoriaId()));
             productoEntity.setCategoria(categoria);
         }
         
         if (producto.getProveedorId() != null) {
-            Proveedor proveedor = proveedoresRepository.findById(producto.getProveedorId())
+            Proveedor proveedor = referencias.buscarProveedor(producto.getProveedorId())
                     .orElseThrow(() -> new ResourceNotFoundException("Proveedor", "id", producto.getProveedorId()));
             productoEntity.setProveedor(proveedor);
         }
         
-        productoEntity.setFechaCreacion(LocalDate.now());
         productoEntity.setUrlDrive(producto.getUrlDrive());
-        return productosRepository.save(productoEntity);
+        // Los clientes que no conocen los campos de reorden no los borran
+        if (producto.getPuntoReorden() != null) {
+            productoEntity.setPuntoReorden(producto.getPuntoReorden());
+        }
+        if (producto.getCantidadReorden() != null) {
+            productoEntity.setCantidadReorden(producto.getCantidadReorden());
+        }
+        Productos guardado = productosRepository.save(productoEntity);
+        eventPublisher.publishEvent(new ProductoModificadoEvent(anterior, ProductoResumenDto.desde(guardado)));
+        return guardado;
     }
 
     @Override
+    @Transactional
     public String deleteProducto(Long id) {
         Productos productoEntity = getById(id);
         productosRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProductoModificadoEvent(ProductoResumenDto.desde(productoEntity), null));
         return "Producto eliminado exitosamente";
     }
+
+    /**
+     * Invalida las vistas en caché después del commit, no al salir del método: con @CacheEvict
+     * la invalidación podía correr antes de confirmar (siempre al crear, porque Idempotencia
+     * envuelve la llamada en otra transacción) y una lectura concurrente volvía a guardar el
+     * estado viejo. Sin transacción activa se invalida en el momento.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarProducto(ProductoModificadoEvent evento) {
+        Cache productos = cacheManager.getCache(CacheConfiguration.PRODUCTOS);
+        if (productos != null) {
+            productos.evict(evento.getProductoId());
+        }
+        limpiarLista();
+    }
+
+    // Cada bloque de la importación confirma por separado; la lista se invalida tras cada uno
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alImportarProductos(ProductosImportadosEvent evento) {
+        limpiarLista();
+    }
+
+    private void limpiarLista() {
+        Cache lista = cacheManager.getCache(CacheConfiguration.PRODUCTOS_LISTA);
+        if (lista != null) {
+            lista.clear();
+        }
+    }
+
+    private static void validarReorden(ProductosDto producto) {
+        if (producto.getPuntoReorden() != null && producto.getPuntoReorden() < 0) {
+            throw new BadRequestException("El punto de reorden no puede ser negativo");
+        }
+        if (producto.getCantidadReorden() != null && producto.getCantidadReorden() <= 0) {
+            throw new BadRequestException("La cantidad de reorden debe ser mayor a 0");
+        }
+    }
+
+    private int validarTamanoPagina(Integer tamano) {
+        int tamanoPagina = tamano != null ? tamano : tamanoPaginaDefecto;
+        if (tamanoPagina < 1 || tamanoPagina > tamanoPaginaMaximo) {
+            throw new BadRequestException("El tamaño de página debe estar entre 1 y " + tamanoPaginaMaximo);
+        }
+        return tamanoPagina;
+    }
 }
@@ -0,0 +1,108 @@
+package com.management.backend_pinceladas_belleza.productos.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.backend_pinceladas_belleza.catalogo.dto.MarcaCatalogo;
+import com.management.backend_pinceladas_belleza.catalogo.events.CatalogoVersionCambiadaEvent;
+import com.management.backend_pinceladas_belleza.productos.dto.CatalogoSerializado;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Respuesta de GET /productos pre-serializada.
+ *
+ * Se reconstruye en un hilo propio cada vez que cambia la versión del catálogo; si llegan varias
+ * escrituras durante una reconstrucción se hace una sola más al terminar. El controlador solo
+ * usa el snapshot si corresponde a la versión vigente, si no responde por la vía normal.
+ */
+@Slf4j
+@Component
+public class SnapshotCatalogo {
+    private final ProductosRepository productosRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean habilitado;
+
+    private final ExecutorService ejecutor = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "snapshot-catalogo");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private final AtomicBoolean pendiente = new AtomicBoolean();
+    // Los eventos llegan desde varios hilos (escrituras locales y el sondeo): nunca debe retroceder
+    private final AtomicLong versionSolicitada = new AtomicLong();
+
+    private volatile CatalogoSerializado actual;
+
+    public SnapshotCatalogo(
+            ProductosRepository productosRepository,
+            ObjectMapper objectMapper,
+            @Value("${productos.snapshot.habilitado:true}") boolean habilitado
+    ) {
+        this.productosRepository = productosRepository;
+        this.objectMapper = objectMapper;
+        this.habilitado = habilitado;
+    }
+
+    /**
+     * Devuelve el snapshot solo si fue construido para la versión indicada.
+     */
+    public CatalogoSerializado vigente(MarcaCatalogo marca) {
+        CatalogoSerializado snapshot = actual;
+        if (marca == null || snapshot == null || snapshot.getVersion() != marca.getVersion()) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    @EventListener
+    public void alCambiarCatalogo(CatalogoVersionCambiadaEvent evento) {
+        if (!habilitado) {
+            return;
+        }
+        versionSolicitada.accumulateAndGet(evento.getVersion(), Math::max);
+        if (pendiente.compareAndSet(false, true)) {
+            ejecutor.execute(this::reconstruir);
+        }
+    }
+
+    @PreDestroy
+    public void detener() {
+        ejecutor.shutdownNow();
+    }
+
+    private void reconstruir() {
+        pendiente.set(false);
+        // La versión se toma antes de leer: si hay otra escritura durante la lectura, el snapshot
+        // queda con la versión anterior y no se sirve hasta la próxima reconstrucción
+        long version = versionSolicitada.get();
+        try {
+            List<ProductoResumenDto> productos = productosRepository.findAllResumen();
+            byte[] json = objectMapper.writeValueAsBytes(productos);
+            actual = new CatalogoSerializado(version, json, comprimir(json));
+            log.debug("Snapshot del catálogo v{} reconstruido: {} productos, {} bytes", version, productos.size(), json.length);
+        } catch (Exception e) {
+            log.warn("No se pudo reconstruir el snapshot del catálogo v{}", version, e);
+        }
+    }
+
+    private static byte[] comprimir(byte[] datos) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(datos);
+        }
+        return salida.toByteArray();
+    }
+}
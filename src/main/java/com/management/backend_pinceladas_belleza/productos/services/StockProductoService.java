@@ -0,0 +1,110 @@
+package com.management.backend_pinceladas_belleza.productos.services;
+
+import com.management.backend_pinceladas_belleza.config.CacheConfiguration;
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+import com.management.backend_pinceladas_belleza.exception.ResourceNotFoundException;
+import com.management.backend_pinceladas_belleza.exception.StockInsuficienteException;
+import com.management.backend_pinceladas_belleza.productos.dto.AjusteStockDto;
+import com.management.backend_pinceladas_belleza.productos.dto.LineaStockDto;
+import com.management.backend_pinceladas_belleza.productos.events.StockAjustadoEvent;
+import com.management.backend_pinceladas_belleza.productos.interfaces.IStockProductos;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Ajustes de stock sin leer-modificar-escribir: cada línea es un UPDATE condicional y todas
+ * las líneas de una llamada viajan en un solo lote JDBC dentro de la misma transacción.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockProductoService implements IStockProductos {
+    private final ProductosRepository productosRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    @Override
+    @Transactional
+    public void descontar(AjusteStockDto ajuste) {
+        List<LineaStockDto> lineas = consolidar(ajuste);
+        int[] filas = productosRepository.descontarStock(lineas);
+
+        for (int i = 0; i < filas.length; i++) {
+            if (filas[i] == 0) {
+                // La excepción revierte las líneas ya aplicadas del lote
+                LineaStockDto linea = lineas.get(i);
+                if (!productosRepository.existsById(linea.getProductoId())) {
+                    throw new ResourceNotFoundException("Producto", "id", linea.getProductoId());
+                }
+                throw new StockInsuficienteException(linea.getProductoId(), linea.getCantidad());
+            }
+        }
+        publicar(lineas, true);
+    }
+
+    @Override
+    @Transactional
+    public void reponer(AjusteStockDto ajuste) {
+        List<LineaStockDto> lineas = consolidar(ajuste);
+        int[] filas = productosRepository.reponerStock(lineas);
+
+        for (int i = 0; i < filas.length; i++) {
+            if (filas[i] == 0) {
+                throw new ResourceNotFoundException("Producto", "id", lineas.get(i).getProductoId());
+            }
+        }
+        publicar(lineas, false);
+    }
+
+    // Las vistas en caché muestran el stock; se invalidan solo si la transacción confirma
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alAjustarStock(StockAjustadoEvent evento) {
+        Cache productos = cacheManager.getCache(CacheConfiguration.PRODUCTOS);
+        if (productos != null) {
+            evento.getProductoIds().forEach(productos::evict);
+        }
+        Cache lista = cacheManager.getCache(CacheConfiguration.PRODUCTOS_LISTA);
+        if (lista != null) {
+            lista.clear();
+        }
+    }
+
+    private void publicar(List<LineaStockDto> lineas, boolean descuento) {
+        eventPublisher.publishEvent(new StockAjustadoEvent(
+                lineas.stream().map(LineaStockDto::getProductoId).collect(Collectors.toList()), descuento));
+    }
+
+    /**
+     * Valida las líneas, suma las repetidas y las ordena por id: todas las transacciones
+     * bloquean las filas en el mismo orden y dos ajustes cruzados no se bloquean mutuamente.
+     */
+    private static List<LineaStockDto> consolidar(AjusteStockDto ajuste) {
+        if (ajuste == null || ajuste.getLineas() == null || ajuste.getLineas().isEmpty()) {
+            throw new BadRequestException("El ajuste debe incluir al menos una línea");
+        }
+        Map<Long, Integer> porProducto = new TreeMap<>();
+        for (LineaStockDto linea : ajuste.getLineas()) {
+            if (linea.getProductoId() == null) {
+                throw new BadRequestException("El ID del producto es requerido en cada línea");
+            }
+            if (linea.getCantidad() == null || linea.getCantidad() <= 0) {
+                throw new BadRequestException("La cantidad debe ser mayor a 0 en cada línea");
+            }
+            porProducto.merge(linea.getProductoId(), linea.getCantidad(), Math::addExact);
+        }
+        List<LineaStockDto> lineas = new ArrayList<>(porProducto.size());
+        porProducto.forEach((id, cantidad) -> lineas.add(new LineaStockDto(id, cantidad)));
+        return lineas;
+    }
+}
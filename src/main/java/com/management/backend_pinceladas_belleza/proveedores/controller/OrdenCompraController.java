@@ -0,0 +1,108 @@
+package com.management.backend_pinceladas_belleza.proveedores.controller;
+
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenCompraDto;
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenCompraResumenDto;
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenGeneradaDto;
+import com.management.backend_pinceladas_belleza.proveedores.entity.EstadoOrdenCompra;
+import com.management.backend_pinceladas_belleza.proveedores.interfaces.IOrdenesCompra;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("proveedor/orders")
+@RequiredArgsConstructor
+@Tag(name = "Órdenes de compra", description = "Reposición de stock con órdenes de compra a proveedores")
+@SecurityRequirement(name = "bearerAuth")
+public class OrdenCompraController {
+    private final IOrdenesCompra ordenesCompra;
+
+    @Operation(summary = "Generar órdenes por punto de reorden",
+            description = "Crea una orden en borrador por proveedor con los productos cuyo stock está en o bajo su punto de reorden " +
+                    "y que no están ya en una orden abierta. También se ejecuta a diario")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Órdenes generadas (vacío si no hay productos para reponer)",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrdenGeneradaDto.class)))
+    })
+    @PostMapping("/generate")
+    public ResponseEntity<List<OrdenGeneradaDto>> generar() {
+        return ResponseEntity.ok(ordenesCompra.generarPorPuntoReorden());
+    }
+
+    @Operation(summary = "Listar órdenes de compra", description = "Retorna una página de órdenes, las más recientes primero, con su total")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de órdenes obtenida exitosamente",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Estado o paginación inválidos", content = @Content)
+    })
+    @GetMapping()
+    public ResponseEntity<Page<OrdenCompraResumenDto>> listar(
+            @Parameter(description = "Filtrar por estado: BORRADOR, ENVIADA, RECIBIDA o CANCELADA") @RequestParam(required = false) EstadoOrdenCompra estado,
+            @Parameter(description = "Número de página (desde 0)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Cantidad de órdenes por página") @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ordenesCompra.listar(estado, page, size));
+    }
+
+    @Operation(summary = "Obtener orden de compra", description = "Retorna una orden con todas sus líneas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orden encontrada",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrdenCompraDto.class))),
+            @ApiResponse(responseCode = "404", description = "Orden no encontrada", content = @Content)
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<OrdenCompraDto> getById(
+            @Parameter(description = "ID de la orden", required = true) @PathVariable Long id) {
+        return ResponseEntity.ok(ordenesCompra.getById(id));
+    }
+
+    @Operation(summary = "Enviar orden de compra", description = "Marca una orden en borrador como enviada al proveedor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orden enviada",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrdenCompraDto.class))),
+            @ApiResponse(responseCode = "400", description = "La orden no está en borrador", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Orden no encontrada", content = @Content)
+    })
+    @PostMapping("/{id}/send")
+    public ResponseEntity<OrdenCompraDto> enviar(
+            @Parameter(description = "ID de la orden", required = true) @PathVariable Long id) {
+        return ResponseEntity.ok(ordenesCompra.enviar(id));
+    }
+
+    @Operation(summary = "Recibir orden de compra", description = "Repone el stock de todas las líneas y cierra la orden")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orden recibida y stock repuesto",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrdenCompraDto.class))),
+            @ApiResponse(responseCode = "400", description = "La orden ya está cerrada", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Orden no encontrada", content = @Content),
+            @ApiResponse(responseCode = "409", description = "La orden fue modificada por otra operación simultánea", content = @Content)
+    })
+    @PostMapping("/{id}/receive")
+    public ResponseEntity<OrdenCompraDto> recibir(
+            @Parameter(description = "ID de la orden", required = true) @PathVariable Long id) {
+        return ResponseEntity.ok(ordenesCompra.recibir(id));
+    }
+
+    @Operation(summary = "Cancelar orden de compra", description = "Cancela una orden abierta sin modificar el stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orden cancelada",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrdenCompraDto.class))),
+            @ApiResponse(responseCode = "400", description = "La orden ya está cerrada", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Orden no encontrada", content = @Content)
+    })
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<OrdenCompraDto> cancelar(
+            @Parameter(description = "ID de la orden", required = true) @PathVariable Long id) {
+        return ResponseEntity.ok(ordenesCompra.cancelar(id));
+    }
+}
@@ -1,6 +1,9 @@
 package com.management.backend_pinceladas_belleza.proveedores.controller;
 
+import com.management.backend_pinceladas_belleza.catalogo.dto.MarcaCatalogo;
+import com.management.backend_pinceladas_belleza.catalogo.services.CatalogoVersionService;
 import com.management.backend_pinceladas_belleza.proveedores.dto.ProveedorDto;
+import com.management.backend_pinceladas_belleza.proveedores.dto.ProveedorResumenDto;
 import com.management.backend_pinceladas_belleza.proveedores.entity.Proveedor;
 import com.management.backend_pinceladas_belleza.proveedores.interfaces.IProveedores;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,9 +15,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -25,15 +31,50 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class ProveedorController {
     private final IProveedores proveedoresImp;
+    private final CatalogoVersionService catalogoVersion;
 
     @Operation(summary = "Obtener todos los proveedores", description = "Retorna una lista de todos los proveedores disponibles")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de proveedores obtenida exitosamente",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Proveedor.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Proveedor.class))),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag enviado en If-None-Match", content = @Content)
     })
     @GetMapping()
-    public ResponseEntity<List<Proveedor>> findAll() {
-        return ResponseEntity.ok(proveedoresImp.getProveedor());
+    public ResponseEntity<List<Proveedor>> findAll(WebRequest webRequest) {
+        MarcaCatalogo marca = catalogoVersion.actual();
+        if (marca != null && webRequest.checkNotModified(marca.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(proveedoresImp.getProveedor());
+    }
+
+    @Operation(summary = "Listar proveedores por página",
+            description = "Retorna una página de proveedores ordenada por nombre, opcionalmente filtrada por texto contenido en el nombre")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de proveedores obtenida exitosamente",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Texto de búsqueda o paginación inválidos", content = @Content)
+    })
+    @GetMapping("/page")
+    public ResponseEntity<Page<Proveedor>> buscar(
+            @Parameter(description = "Texto contenido en el nombre (sin distinguir mayúsculas)") @RequestParam(required = false) String q,
+            @Parameter(description = "Número de página (desde 0)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Cantidad de proveedores por página") @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(proveedoresImp.buscarProveedores(q, page, size));
+    }
+
+    @Operation(summary = "Resumen por proveedor",
+            description = "Retorna, para cada proveedor, la cantidad de productos, cuántos tienen stock bajo y el valor del inventario")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resumen obtenido exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProveedorResumenDto.class))),
+            @ApiResponse(responseCode = "400", description = "Umbral inválido", content = @Content)
+    })
+    @GetMapping("/summary")
+    public ResponseEntity<List<ProveedorResumenDto>> resumen(
+            @Parameter(description = "Stock máximo para contar un producto como stock bajo (por defecto el configurado)")
+            @RequestParam(required = false) Integer umbral) {
+        return ResponseEntity.ok(proveedoresImp.getResumen(umbral));
     }
 
     @Operation(summary = "Obtener proveedor por ID", description = "Retorna un proveedor específico por su ID")
@@ -0,0 +1,46 @@
+package com.management.backend_pinceladas_belleza.proveedores.dto;
+
+import com.management.backend_pinceladas_belleza.proveedores.entity.EstadoOrdenCompra;
+import com.management.backend_pinceladas_belleza.proveedores.entity.OrdenCompra;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Detalle de una orden de compra con sus líneas.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrdenCompraDto {
+    private Long id;
+    private Long proveedorId;
+    private String proveedorNombre;
+    private EstadoOrdenCompra estado;
+    private LocalDateTime fechaCreacion;
+    private LocalDateTime fechaRecepcion;
+    private List<OrdenCompraLineaDto> lineas;
+
+    public static OrdenCompraDto desde(OrdenCompra orden) {
+        return OrdenCompraDto.builder()
+                .id(orden.getId())
+                .proveedorId(orden.getProveedor().getId())
+                .proveedorNombre(orden.getProveedor().getNombre())
+                .estado(orden.getEstado())
+                .fechaCreacion(orden.getFechaCreacion())
+                .fechaRecepcion(orden.getFechaRecepcion())
+                .lineas(orden.getLineas().stream()
+                        .map(linea -> OrdenCompraLineaDto.builder()
+                                .productoId(linea.getProducto().getId())
+                                .productoNombre(linea.getProducto().getNombre())
+                                .cantidad(linea.getCantidad())
+                                .precioUnitario(linea.getPrecioUnitario())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
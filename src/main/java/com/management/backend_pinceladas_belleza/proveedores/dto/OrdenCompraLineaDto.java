@@ -0,0 +1,17 @@
+package com.management.backend_pinceladas_belleza.proveedores.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrdenCompraLineaDto {
+    private Long productoId;
+    private String productoNombre;
+    private Integer cantidad;
+    private BigDecimal precioUnitario;
+}
@@ -0,0 +1,26 @@
+package com.management.backend_pinceladas_belleza.proveedores.dto;
+
+import com.management.backend_pinceladas_belleza.proveedores.entity.EstadoOrdenCompra;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila del listado de órdenes de compra. Se construye en JPQL (select new ...); el orden de
+ * los campos define el constructor usado por OrdenCompraRepository.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrdenCompraResumenDto {
+    private Long id;
+    private Long proveedorId;
+    private String proveedorNombre;
+    private EstadoOrdenCompra estado;
+    private LocalDateTime fechaCreacion;
+    private Long cantidadLineas;
+    private BigDecimal total;
+}
@@ -0,0 +1,17 @@
+package com.management.backend_pinceladas_belleza.proveedores.dto;
+
+import lombok.*;
+
+/**
+ * Orden creada por la generación por punto de reorden.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrdenGeneradaDto {
+    private Long ordenId;
+    private Long proveedorId;
+    private int lineas;
+}
@@ -0,0 +1,22 @@
+package com.management.backend_pinceladas_belleza.proveedores.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Resumen de un proveedor para la pantalla de administración: cantidad de productos, cuántos
+ * tienen stock en o bajo el umbral y el valor del inventario (precio * stock).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProveedorResumenDto {
+    private Long proveedorId;
+    private String nombre;
+    private long cantidadProductos;
+    private long productosStockBajo;
+    private BigDecimal valorInventario;
+}
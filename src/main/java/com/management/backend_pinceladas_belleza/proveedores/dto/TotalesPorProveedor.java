@@ -0,0 +1,19 @@
+package com.management.backend_pinceladas_belleza.proveedores.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección del GROUP BY de productos por proveedor (ver ProveedoresRepository.totalizar).
+ * valor es null si el proveedor no tiene productos con precio y stock.
+ */
+public interface TotalesPorProveedor {
+    Long getId();
+
+    String getNombre();
+
+    Long getProductos();
+
+    Long getStockBajo();
+
+    BigDecimal getValor();
+}
@@ -0,0 +1,16 @@
+package com.management.backend_pinceladas_belleza.proveedores.entity;
+
+/**
+ * BORRADOR -> ENVIADA -> RECIBIDA; BORRADOR y ENVIADA pueden pasar a CANCELADA.
+ * Mientras un producto esté en una orden BORRADOR o ENVIADA no se vuelve a pedir.
+ */
+public enum EstadoOrdenCompra {
+    BORRADOR,
+    ENVIADA,
+    RECIBIDA,
+    CANCELADA;
+
+    public boolean isAbierta() {
+        return this == BORRADOR || this == ENVIADA;
+    }
+}
@@ -0,0 +1,54 @@
+package com.management.backend_pinceladas_belleza.proveedores.entity;
+
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Orden de compra a un proveedor. Las generadas por punto de reorden se insertan con SQL
+ * (ver OrdenCompraGeneracionImpl); la entidad se usa para consultarlas y cambiarles el estado.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "ordenes_compra")
+public class OrdenCompra {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "proveedor_id", referencedColumnName = "id")
+    private Proveedor proveedor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado")
+    private EstadoOrdenCompra estado;
+
+    @Column(name = "fecha_creacion")
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_recepcion")
+    private LocalDateTime fechaRecepcion;
+
+    // Dos recepciones simultáneas de la misma orden: la segunda falla al confirmar (409) y se
+    // revierte también su reposición de stock, que corre en la misma transacción
+    @Version
+    private Long version;
+
+    @Builder.Default
+    @OneToMany(mappedBy = "orden", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id asc")
+    private List<OrdenCompraLinea> lineas = new ArrayList<>();
+}
@@ -0,0 +1,39 @@
+package com.management.backend_pinceladas_belleza.proveedores.entity;
+
+import com.management.backend_pinceladas_belleza.productos.entity.Productos;
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "ordenes_compra_lineas")
+public class OrdenCompraLinea {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "orden_id", referencedColumnName = "id")
+    private OrdenCompra orden;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "producto_id", referencedColumnName = "id")
+    private Productos producto;
+
+    private Integer cantidad;
+
+    // Precio del producto al generar la orden
+    @Column(name = "precio_unitario")
+    private BigDecimal precioUnitario;
+}
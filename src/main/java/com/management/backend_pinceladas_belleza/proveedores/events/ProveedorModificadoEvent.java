@@ -0,0 +1,15 @@
+package com.management.backend_pinceladas_belleza.proveedores.events;
+
+import com.management.backend_pinceladas_belleza.proveedores.entity.Proveedor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Se publica en cada escritura de ProveedorService. proveedor es null cuando se eliminó.
+ */
+@Getter
+@AllArgsConstructor
+public class ProveedorModificadoEvent {
+    private final Long proveedorId;
+    private final Proveedor proveedor;
+}
@@ -0,0 +1,31 @@
+package com.management.backend_pinceladas_belleza.proveedores.interfaces;
+
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenCompraDto;
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenCompraResumenDto;
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenGeneradaDto;
+import com.management.backend_pinceladas_belleza.proveedores.entity.EstadoOrdenCompra;
+import org.springframework.data.domain.Page;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface IOrdenesCompra {
+    List<OrdenGeneradaDto> generarPorPuntoReorden();
+
+    /**
+     * Generación limitada a los productos indicados. A diferencia de la general, si otra instancia
+     * tiene el bloqueo lanza CannotAcquireLockException: quien llama debe reintentar, porque esa
+     * generación pudo empezar antes de que se confirmara el cambio de stock que motiva esta.
+     */
+    List<OrdenGeneradaDto> generarPorPuntoReorden(Collection<Long> productoIds);
+
+    Page<OrdenCompraResumenDto> listar(EstadoOrdenCompra estado, int pagina, Integer tamano);
+
+    OrdenCompraDto getById(Long id);
+
+    OrdenCompraDto enviar(Long id);
+
+    OrdenCompraDto recibir(Long id);
+
+    OrdenCompraDto cancelar(Long id);
+}
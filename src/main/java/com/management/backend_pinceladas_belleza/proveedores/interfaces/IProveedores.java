@@ -1,13 +1,19 @@
 package com.management.backend_pinceladas_belleza.proveedores.interfaces;
 
 import com.management.backend_pinceladas_belleza.proveedores.dto.ProveedorDto;
+import com.management.backend_pinceladas_belleza.proveedores.dto.ProveedorResumenDto;
 import com.management.backend_pinceladas_belleza.proveedores.entity.Proveedor;
+import org.springframework.data.domain.Page;
 
 import java.util.List;
 
 public interface IProveedores {
     List<Proveedor> getProveedor();
 
+    Page<Proveedor> buscarProveedores(String texto, int pagina, Integer tamano);
+
+    List<ProveedorResumenDto> getResumen(Integer umbralStockBajo);
+
     Proveedor getProveedorById(Long id);
 
     Proveedor createProveedor(ProveedorDto proveedor);
@@ -0,0 +1,21 @@
+package com.management.backend_pinceladas_belleza.proveedores.repository;
+
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenGeneradaDto;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OrdenCompraGeneracion {
+    /**
+     * Toma el bloqueo de la generación para la transacción actual; false si otra instancia
+     * la está ejecutando.
+     */
+    boolean bloquearGeneracion();
+
+    List<OrdenGeneradaDto> generarPorPuntoReorden();
+
+    /**
+     * Igual que generarPorPuntoReorden, pero solo considera los productos indicados.
+     */
+    List<OrdenGeneradaDto> generarPorPuntoReorden(Collection<Long> productoIds);
+}
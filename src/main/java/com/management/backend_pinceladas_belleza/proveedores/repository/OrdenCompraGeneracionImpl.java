@@ -0,0 +1,76 @@
+package com.management.backend_pinceladas_belleza.proveedores.repository;
+
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenGeneradaDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class OrdenCompraGeneracionImpl implements OrdenCompraGeneracion {
+    // Clave del advisory lock de Postgres; se libera sola al terminar la transacción
+    private static final long CLAVE_BLOQUEO = 20_008L;
+
+    private static final String BLOQUEAR = "SELECT pg_try_advisory_xact_lock(?)";
+
+    // Una sola sentencia: elige los productos bajo su punto de reorden que no estén ya en una
+    // orden abierta, crea una orden BORRADOR por proveedor y le inserta las líneas. Escala con
+    // el catálogo sin una consulta por producto. %s: filtro opcional por productos.
+    private static final String GENERAR = "WITH candidatos AS (" +
+            "  SELECT p.id AS producto_id, p.proveedor_id, p.cantidad_reorden AS cantidad, p.precio" +
+            "  FROM pinceladasdb.productos p" +
+            "  WHERE p.punto_reorden IS NOT NULL AND p.proveedor_id IS NOT NULL AND p.cantidad_reorden > 0" +
+            "    AND COALESCE(p.cantidad_en_stock, 0) <= p.punto_reorden" +
+            "    AND NOT EXISTS (SELECT 1 FROM pinceladasdb.ordenes_compra_lineas l" +
+            "        JOIN pinceladasdb.ordenes_compra o ON o.id = l.orden_id" +
+            "        WHERE l.producto_id = p.id AND o.estado IN ('BORRADOR', 'ENVIADA'))" +
+            "%s" +
+            "), ordenes AS (" +
+            "  INSERT INTO pinceladasdb.ordenes_compra (proveedor_id, estado, fecha_creacion)" +
+            "  SELECT DISTINCT proveedor_id, 'BORRADOR', now() FROM candidatos" +
+            "  RETURNING id, proveedor_id" +
+            "), lineas AS (" +
+            "  INSERT INTO pinceladasdb.ordenes_compra_lineas (orden_id, producto_id, cantidad, precio_unitario)" +
+            "  SELECT o.id, c.producto_id, c.cantidad, c.precio" +
+            "  FROM candidatos c JOIN ordenes o ON o.proveedor_id = c.proveedor_id" +
+            "  RETURNING orden_id" +
+            ") " +
+            "SELECT o.id AS orden_id, o.proveedor_id, count(*) AS lineas " +
+            "FROM lineas l JOIN ordenes o ON o.id = l.orden_id " +
+            "GROUP BY o.id, o.proveedor_id ORDER BY o.id";
+
+    private static final String GENERAR_CATALOGO = String.format(GENERAR, "");
+
+    // Por clave primaria: no recorre el catálogo
+    private static final String GENERAR_PRODUCTOS = String.format(GENERAR, "    AND p.id = ANY (?)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean bloquearGeneracion() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(BLOQUEAR, Boolean.class, CLAVE_BLOQUEO));
+    }
+
+    @Override
+    public List<OrdenGeneradaDto> generarPorPuntoReorden() {
+        return jdbcTemplate.query(GENERAR_CATALOGO, OrdenCompraGeneracionImpl::orden);
+    }
+
+    @Override
+    public List<OrdenGeneradaDto> generarPorPuntoReorden(Collection<Long> productoIds) {
+        return jdbcTemplate.query(GENERAR_PRODUCTOS,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", productoIds.toArray())),
+                OrdenCompraGeneracionImpl::orden);
+    }
+
+    private static OrdenGeneradaDto orden(ResultSet rs, int fila) throws SQLException {
+        return OrdenGeneradaDto.builder()
+                .ordenId(rs.getLong("orden_id"))
+                .proveedorId(rs.getLong("proveedor_id"))
+                .lineas(rs.getInt("lineas"))
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.management.backend_pinceladas_belleza.proveedores.repository;
+
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenCompraResumenDto;
+import com.management.backend_pinceladas_belleza.proveedores.entity.EstadoOrdenCompra;
+import com.management.backend_pinceladas_belleza.proveedores.entity.OrdenCompra;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OrdenCompraRepository extends JpaRepository<OrdenCompra, Long>, OrdenCompraGeneracion {
+
+    // Totales por orden en la misma consulta del listado, sin cargar las líneas
+    @Query(value = "select new com.management.backend_pinceladas_belleza.proveedores.dto.OrdenCompraResumenDto(" +
+            "o.id, pr.id, pr.nombre, o.estado, o.fechaCreacion, count(l.id), sum(l.cantidad * l.precioUnitario)) " +
+            "from OrdenCompra o join o.proveedor pr left join o.lineas l " +
+            "where (:estado is null or o.estado = :estado) " +
+            "group by o.id, pr.id, pr.nombre, o.estado, o.fechaCreacion " +
+            "order by o.id desc",
+            countQuery = "select count(o) from OrdenCompra o where (:estado is null or o.estado = :estado)")
+    Page<OrdenCompraResumenDto> listar(@Param("estado") EstadoOrdenCompra estado, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"proveedor", "lineas", "lineas.producto"})
+    @Query("select o from OrdenCompra o where o.id = :id")
+    Optional<OrdenCompra> findDetalleById(@Param("id") Long id);
+}
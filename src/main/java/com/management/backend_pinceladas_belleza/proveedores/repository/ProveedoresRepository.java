@@ -1,9 +1,28 @@
 package com.management.backend_pinceladas_belleza.proveedores.repository;
 
+import com.management.backend_pinceladas_belleza.proveedores.dto.TotalesPorProveedor;
 import com.management.backend_pinceladas_belleza.proveedores.entity.Proveedor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ProveedoresRepository extends JpaRepository<Proveedor, Long> {
+
+    // upper(nombre) like upper('%texto%'), con comodines escapados; usa el índice de trigramas (db/scripts/007)
+    Page<Proveedor> findByNombreContainingIgnoreCase(String nombre, Pageable pageable);
+
+    // Un solo GROUP BY sobre productos.proveedor_id; el left join conserva los proveedores sin productos
+    @Query("select pr.id as id, pr.nombre as nombre, count(p.id) as productos, " +
+            "sum(case when p.id is not null and coalesce(p.cantidadStock, 0) <= :umbral then 1 else 0 end) as stockBajo, " +
+            "sum(p.precio * p.cantidadStock) as valor " +
+            "from Proveedor pr left join Productos p on p.proveedor = pr " +
+            "group by pr.id, pr.nombre " +
+            "order by pr.nombre asc, pr.id asc")
+    List<TotalesPorProveedor> totalizar(@Param("umbral") int umbral);
 }
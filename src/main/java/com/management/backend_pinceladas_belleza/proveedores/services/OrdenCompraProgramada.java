@@ -0,0 +1,28 @@
+package com.management.backend_pinceladas_belleza.proveedores.services;
+
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenGeneradaDto;
+import com.management.backend_pinceladas_belleza.proveedores.interfaces.IOrdenesCompra;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Generación diaria por punto de reorden. Está separada de OrdenCompraService para llamar a
+ * generarPorPuntoReorden a través del proxy: una llamada interna no abriría la transacción y el
+ * advisory lock se liberaría apenas tomado, dejando que todas las instancias generen a la vez.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrdenCompraProgramada {
+    private final IOrdenesCompra ordenesCompra;
+
+    @Scheduled(cron = "${proveedores.reorden.cron:0 0 6 * * *}")
+    public void generar() {
+        List<OrdenGeneradaDto> ordenes = ordenesCompra.generarPorPuntoReorden();
+        log.info("Generación por punto de reorden: {} órdenes en borrador", ordenes.size());
+    }
+}
@@ -0,0 +1,141 @@
+package com.management.backend_pinceladas_belleza.proveedores.services;
+
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+import com.management.backend_pinceladas_belleza.exception.ResourceNotFoundException;
+import com.management.backend_pinceladas_belleza.productos.dto.AjusteStockDto;
+import com.management.backend_pinceladas_belleza.productos.dto.LineaStockDto;
+import com.management.backend_pinceladas_belleza.productos.interfaces.IStockProductos;
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenCompraDto;
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenCompraResumenDto;
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenGeneradaDto;
+import com.management.backend_pinceladas_belleza.proveedores.entity.EstadoOrdenCompra;
+import com.management.backend_pinceladas_belleza.proveedores.entity.OrdenCompra;
+import com.management.backend_pinceladas_belleza.proveedores.interfaces.IOrdenesCompra;
+import com.management.backend_pinceladas_belleza.proveedores.repository.OrdenCompraRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Órdenes de compra a proveedores.
+ *
+ * La generación por punto de reorden es una sola sentencia SQL sobre todo el catálogo (ver
+ * OrdenCompraGeneracionImpl) y corre a diario (OrdenCompraProgramada) y bajo demanda; un advisory
+ * lock evita que dos instancias generen a la vez. El lock es de transacción: solo protege si se
+ * llama a través del proxy transaccional, nunca desde otro método de esta clase. Recibir una
+ * orden repone el stock de todas sus líneas en un lote.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrdenCompraService implements IOrdenesCompra {
+    private final OrdenCompraRepository ordenCompraRepository;
+    private final IStockProductos stockProductos;
+
+    @Value("${proveedores.paginacion.tamano-defecto:20}")
+    private int tamanoPaginaDefecto;
+
+    @Value("${proveedores.paginacion.tamano-maximo:100}")
+    private int tamanoPaginaMaximo;
+
+    @Override
+    @Transactional
+    public List<OrdenGeneradaDto> generarPorPuntoReorden() {
+        if (!ordenCompraRepository.bloquearGeneracion()) {
+            log.info("Generación de órdenes de compra en curso en otra instancia; se omite");
+            return List.of();
+        }
+        return ordenCompraRepository.generarPorPuntoReorden();
+    }
+
+    @Override
+    @Transactional
+    public List<OrdenGeneradaDto> generarPorPuntoReorden(Collection<Long> productoIds) {
+        if (productoIds == null || productoIds.isEmpty()) {
+            return List.of();
+        }
+        if (!ordenCompraRepository.bloquearGeneracion()) {
+            throw new CannotAcquireLockException("Generación de órdenes de compra en curso en otra instancia");
+        }
+        return ordenCompraRepository.generarPorPuntoReorden(productoIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<OrdenCompraResumenDto> listar(EstadoOrdenCompra estado, int pagina, Integer tamano) {
+        int tamanoPagina = tamano != null ? tamano : tamanoPaginaDefecto;
+        if (tamanoPagina < 1 || tamanoPagina > tamanoPaginaMaximo) {
+            throw new BadRequestException("El tamaño de página debe estar entre 1 y " + tamanoPaginaMaximo);
+        }
+        if (pagina < 0) {
+            throw new BadRequestException("El número de página no puede ser negativo");
+        }
+        return ordenCompraRepository.listar(estado, PageRequest.of(pagina, tamanoPagina));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrdenCompraDto getById(Long id) {
+        return OrdenCompraDto.desde(buscar(id));
+    }
+
+    @Override
+    @Transactional
+    public OrdenCompraDto enviar(Long id) {
+        OrdenCompra orden = buscar(id);
+        if (orden.getEstado() != EstadoOrdenCompra.BORRADOR) {
+            throw new BadRequestException("Solo se puede enviar una orden en borrador; estado actual: " + orden.getEstado());
+        }
+        orden.setEstado(EstadoOrdenCompra.ENVIADA);
+        return OrdenCompraDto.desde(orden);
+    }
+
+    @Override
+    @Transactional
+    public OrdenCompraDto recibir(Long id) {
+        OrdenCompra orden = buscar(id);
+        if (!orden.getEstado().isAbierta()) {
+            throw new BadRequestException("La orden ya está cerrada; estado actual: " + orden.getEstado());
+        }
+        if (!orden.getLineas().isEmpty()) {
+            // Mismo lote JDBC y misma transacción que el cambio de estado
+            stockProductos.reponer(AjusteStockDto.builder()
+                    .lineas(orden.getLineas().stream()
+                            .map(linea -> LineaStockDto.builder()
+                                    .productoId(linea.getProducto().getId())
+                                    .cantidad(linea.getCantidad())
+                                    .build())
+                            .collect(Collectors.toList()))
+                    .build());
+        }
+        orden.setEstado(EstadoOrdenCompra.RECIBIDA);
+        orden.setFechaRecepcion(LocalDateTime.now());
+        return OrdenCompraDto.desde(orden);
+    }
+
+    @Override
+    @Transactional
+    public OrdenCompraDto cancelar(Long id) {
+        OrdenCompra orden = buscar(id);
+        if (!orden.getEstado().isAbierta()) {
+            throw new BadRequestException("La orden ya está cerrada; estado actual: " + orden.getEstado());
+        }
+        orden.setEstado(EstadoOrdenCompra.CANCELADA);
+        return OrdenCompraDto.desde(orden);
+    }
+
+    private OrdenCompra buscar(Long id) {
+        return ordenCompraRepository.findDetalleById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Orden de compra", "id", id));
+    }
+}
@@ -1,26 +1,89 @@
 package com.management.backend_pinceladas_belleza.proveedores.services;
 
+import com.management.backend_pinceladas_belleza.catalogo.services.ReferenciasCache;
+import com.management.backend_pinceladas_belleza.common.CoalescedorLecturas;
 import com.management.backend_pinceladas_belleza.exception.BadRequestException;
 import com.management.backend_pinceladas_belleza.exception.ResourceNotFoundException;
 import com.management.backend_pinceladas_belleza.proveedores.dto.ProveedorDto;
+import com.management.backend_pinceladas_belleza.proveedores.dto.ProveedorResumenDto;
 import com.management.backend_pinceladas_belleza.proveedores.entity.Proveedor;
+import com.management.backend_pinceladas_belleza.proveedores.events.ProveedorModificadoEvent;
 import com.management.backend_pinceladas_belleza.proveedores.interfaces.IProveedores;
 import com.management.backend_pinceladas_belleza.proveedores.repository.ProveedoresRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProveedorService implements IProveedores {
 
     private final ProveedoresRepository proveedoresRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CoalescedorLecturas coalescedor;
+    private final ReferenciasCache referencias;
+
+    @Value("${proveedores.paginacion.tamano-defecto:20}")
+    private int tamanoPaginaDefecto;
+
+    @Value("${proveedores.paginacion.tamano-maximo:100}")
+    private int tamanoPaginaMaximo;
+
+    @Value("${proveedores.resumen.umbral-stock-bajo:5}")
+    private int umbralStockBajo;
 
     @Override
     public List<Proveedor> getProveedor() {
-        return proveedoresRepository.findAll();
+        if (referencias.isCargado()) {
+            return referencias.getProveedores();
+        }
+        return coalescedor.ejecutar("proveedores:todos", proveedoresRepository::findAll);
+    }
+
+    @Override
+    public Page<Proveedor> buscarProveedores(String texto, int pagina, Integer tamano) {
+        int tamanoPagina = tamano != null ? tamano : tamanoPaginaDefecto;
+        if (tamanoPagina < 1 || tamanoPagina > tamanoPaginaMaximo) {
+            throw new BadRequestException("El tamaño de página debe estar entre 1 y " + tamanoPaginaMaximo);
+        }
+        if (pagina < 0) {
+            throw new BadRequestException("El número de página no puede ser negativo");
+        }
+        if (texto != null && texto.length() > 100) {
+            throw new BadRequestException("El texto de búsqueda no puede superar 100 caracteres");
+        }
+
+        PageRequest pageable = PageRequest.of(pagina, tamanoPagina, Sort.by("nombre", "id"));
+        if (texto == null || texto.trim().isEmpty()) {
+            return proveedoresRepository.findAll(pageable);
+        }
+        return proveedoresRepository.findByNombreContainingIgnoreCase(texto.trim(), pageable);
+    }
+
+    @Override
+    public List<ProveedorResumenDto> getResumen(Integer umbral) {
+        int umbralEfectivo = umbral != null ? umbral : umbralStockBajo;
+        if (umbralEfectivo < 0) {
+            throw new BadRequestException("El umbral de stock bajo no puede ser negativo");
+        }
+        return proveedoresRepository.totalizar(umbralEfectivo).stream()
+                .map(fila -> ProveedorResumenDto.builder()
+                        .proveedorId(fila.getId())
+                        .nombre(fila.getNombre())
+                        .cantidadProductos(fila.getProductos() != null ? fila.getProductos() : 0)
+                        .productosStockBajo(fila.getStockBajo() != null ? fila.getStockBajo() : 0)
+                        .valorInventario(fila.getValor() != null ? fila.getValor() : BigDecimal.ZERO)
+                        .build())
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -39,7 +102,9 @@ public class ProveedorService implements IProveedores {
         proveedorEntity.setNombre(proveedor.getNombre());
         proveedorEntity.setContacto(proveedor.getContacto());
         proveedorEntity.setFechaCreated(LocalDate.now());
-        return proveedoresRepository.save(proveedorEntity);
+        Proveedor guardado = proveedoresRepository.save(proveedorEntity);
+        eventPublisher.publishEvent(new ProveedorModificadoEvent(guardado.getId(), guardado));
+        return guardado;
     }
 
     @Override
@@ -51,13 +116,16 @@ public class ProveedorService implements IProveedores {
         Proveedor proveedorEntity = getProveedorById(proveedor.getId());
         proveedorEntity.setNombre(proveedor.getNombre());
         proveedorEntity.setContacto(proveedor.getContacto());
-        return proveedoresRepository.save(proveedorEntity);
+        Proveedor guardado = proveedoresRepository.save(proveedorEntity);
+        eventPublisher.publishEvent(new ProveedorModificadoEvent(guardado.getId(), guardado));
+        return guardado;
     }
 
     @Override
     public String deleteProveedor(Long id) {
         Proveedor proveedorEntity = getProveedorById(id);
         proveedoresRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProveedorModificadoEvent(id, null));
         return "Proveedor eliminado exitosamente";
     }
 }
@@ -0,0 +1,66 @@
+package com.management.backend_pinceladas_belleza.proveedores.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.backend_pinceladas_belleza.outbox.dto.EventoOutbox;
+import com.management.backend_pinceladas_belleza.outbox.interfaces.ConsumidorOutbox;
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenGeneradaDto;
+import com.management.backend_pinceladas_belleza.proveedores.interfaces.IOrdenesCompra;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Genera las órdenes de compra en borrador apenas el stock baja, sin esperar al proceso diario.
+ *
+ * Solo atiende stock.descontado y limita la generación a los productos que trae, una vez por lote:
+ * no recorre el catálogo. Las reposiciones (stock.repuesto, también al recibir una orden de compra)
+ * no pueden llevar un producto bajo su punto de reorden. Un pedido descuenta su stock en la misma
+ * transacción en que se crea, así que su stock.descontado ya lo cubre y pedido.creado no se atiende.
+ *
+ * Si otra instancia está generando, la excepción hace que el relay reintente el lote más tarde. La
+ * generación no crea órdenes repetidas, así que entregar el mismo evento dos veces no tiene efecto.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReordenPorVentas implements ConsumidorOutbox {
+    private final IOrdenesCompra ordenesCompra;
+    private final ObjectMapper objectMapper;
+
+    @Value("${proveedores.reorden.al-descontar:true}")
+    private boolean habilitado;
+
+    @Override
+    public boolean acepta(String tipo) {
+        return habilitado && EventoOutbox.STOCK_DESCONTADO.equals(tipo);
+    }
+
+    @Override
+    public void consumir(List<EventoOutbox> eventos) {
+        Set<Long> productoIds = new TreeSet<>();
+        for (EventoOutbox evento : eventos) {
+            try {
+                JsonNode ids = objectMapper.readTree(evento.getDatos()).path("productoIds");
+                ids.forEach(id -> productoIds.add(id.asLong()));
+            } catch (JsonProcessingException e) {
+                // Reintentarlo no lo arregla: se descarta
+                log.warn("Evento {} del outbox con datos inválidos: {}", evento.getId(), e.getOriginalMessage());
+            }
+        }
+        if (productoIds.isEmpty()) {
+            return;
+        }
+        // CannotAcquireLockException si otra instancia tiene el bloqueo: el lote se reintenta
+        List<OrdenGeneradaDto> ordenes = ordenesCompra.generarPorPuntoReorden(productoIds);
+        if (!ordenes.isEmpty()) {
+            log.info("Reorden por {} eventos de stock: {} órdenes en borrador", eventos.size(), ordenes.size());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.management.backend_pinceladas_belleza.reservas.controller;
+
+import com.management.backend_pinceladas_belleza.reservas.dto.CrearReservaDto;
+import com.management.backend_pinceladas_belleza.reservas.dto.DisponibilidadDto;
+import com.management.backend_pinceladas_belleza.reservas.dto.ReservaDto;
+import com.management.backend_pinceladas_belleza.reservas.interfaces.IReservas;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/reservas")
+@RequiredArgsConstructor
+@Tag(name = "Reservas", description = "Reservas temporales de stock para el checkout")
+@SecurityRequirement(name = "bearerAuth")
+public class ReservasController {
+    private final IReservas reservas;
+
+    @Operation(summary = "Reservar stock",
+            description = "Retiene unidades de uno o más productos para un carrito durante los minutos indicados. " +
+                    "Al vencer se devuelven al disponible; un pedido con reservaId las usa antes de descontar el stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Reserva creada",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservaDto.class))),
+            @ApiResponse(responseCode = "400", description = "Datos de la reserva inválidos", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Stock disponible insuficiente para algún producto", content = @Content)
+    })
+    @PostMapping()
+    public ResponseEntity<ReservaDto> reservar(@RequestBody CrearReservaDto reserva) {
+        return new ResponseEntity<>(reservas.reservar(reserva), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Liberar reserva", description = "Devuelve al disponible las unidades retenidas antes del vencimiento")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Reserva liberada o ya vencida")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> liberar(
+            @Parameter(description = "ID de la reserva", required = true) @PathVariable UUID id) {
+        reservas.liberar(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Consultar disponibilidad", description = "Stock físico, reservado y disponible de los productos indicados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Disponibilidad obtenida exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = DisponibilidadDto.class))),
+            @ApiResponse(responseCode = "400", description = "Sin productos o demasiados productos", content = @Content)
+    })
+    @GetMapping("/availability")
+    public ResponseEntity<List<DisponibilidadDto>> disponibilidad(
+            @Parameter(description = "IDs de producto separados por coma", required = true) @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(reservas.disponibilidad(ids));
+    }
+}
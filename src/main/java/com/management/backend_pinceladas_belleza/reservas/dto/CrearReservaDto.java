@@ -0,0 +1,19 @@
+package com.management.backend_pinceladas_belleza.reservas.dto;
+
+import com.management.backend_pinceladas_belleza.productos.dto.LineaStockDto;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CrearReservaDto {
+    // Identificador del carrito que retiene las unidades
+    private String carrito;
+    private List<LineaStockDto> lineas;
+    // Duración de la reserva; sin valor se usa reservas.minutos-defecto
+    private Integer minutos;
+}
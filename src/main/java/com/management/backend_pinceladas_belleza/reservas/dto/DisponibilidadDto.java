@@ -0,0 +1,18 @@
+package com.management.backend_pinceladas_belleza.reservas.dto;
+
+import lombok.*;
+
+/**
+ * Stock físico, retenido por reservas vigentes y disponible para la venta de un producto.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DisponibilidadDto {
+    private Long productoId;
+    private Integer stock;
+    private Integer reservado;
+    private Integer disponible;
+}
@@ -0,0 +1,20 @@
+package com.management.backend_pinceladas_belleza.reservas.dto;
+
+import com.management.backend_pinceladas_belleza.productos.dto.LineaStockDto;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservaDto {
+    private UUID id;
+    private String carrito;
+    private LocalDateTime expira;
+    private List<LineaStockDto> lineas;
+}
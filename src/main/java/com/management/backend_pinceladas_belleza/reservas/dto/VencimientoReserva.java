@@ -0,0 +1,17 @@
+package com.management.backend_pinceladas_belleza.reservas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Reserva pendiente y su vencimiento; se usa para reconstruir la rueda al arrancar.
+ */
+@Getter
+@AllArgsConstructor
+public class VencimientoReserva {
+    private final UUID reservaId;
+    private final LocalDateTime expira;
+}
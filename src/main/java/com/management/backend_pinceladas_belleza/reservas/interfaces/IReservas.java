@@ -0,0 +1,26 @@
+package com.management.backend_pinceladas_belleza.reservas.interfaces;
+
+import com.management.backend_pinceladas_belleza.reservas.dto.CrearReservaDto;
+import com.management.backend_pinceladas_belleza.reservas.dto.DisponibilidadDto;
+import com.management.backend_pinceladas_belleza.reservas.dto.ReservaDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface IReservas {
+    ReservaDto reservar(CrearReservaDto reserva);
+
+    /**
+     * Devuelve las unidades retenidas al disponible. Sin efecto si la reserva ya venció o no existe.
+     */
+    void liberar(UUID reservaId);
+
+    /**
+     * Libera la reserva para que sus unidades se vendan en el mismo pedido. Debe cubrir exactamente
+     * los productos y cantidades del pedido; una reserva vencida o inexistente no tiene efecto.
+     */
+    void consumir(UUID reservaId, Map<Long, Integer> cantidades);
+
+    List<DisponibilidadDto> disponibilidad(List<Long> productoIds);
+}
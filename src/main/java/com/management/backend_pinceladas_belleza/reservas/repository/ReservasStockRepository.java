@@ -0,0 +1,128 @@
+package com.management.backend_pinceladas_belleza.reservas.repository;
+
+import com.management.backend_pinceladas_belleza.productos.dto.LineaStockDto;
+import com.management.backend_pinceladas_belleza.reservas.dto.DisponibilidadDto;
+import com.management.backend_pinceladas_belleza.reservas.dto.VencimientoReserva;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reservas de stock (ver db/scripts/011) por JDBC.
+ *
+ * Cada operación es un UPDATE condicional o una sola sentencia con CTE: los bloqueos de fila de
+ * productos duran lo que la sentencia, no lo que dura la reserva. No incrementa productos.version:
+ * reservar y liberar no deben hacer fallar una edición concurrente del producto.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservasStockRepository {
+    private static final String RETENER = "UPDATE pinceladasdb.productos " +
+            "SET cantidad_reservada = cantidad_reservada + ? " +
+            "WHERE id = ? AND cantidad_en_stock - cantidad_reservada >= ?";
+
+    private static final String INSERTAR = "INSERT INTO pinceladasdb.reservas_stock " +
+            "(reserva_id, producto_id, carrito, cantidad, expira) VALUES (?, ?, ?, ?, ?)";
+
+    // Borra las filas y devuelve las unidades al disponible, agrupadas por producto, en una sola sentencia.
+    // bloqueados toma las filas de productos por id ascendente, el mismo orden que reservar y descontar:
+    // el UPDATE solo no garantiza orden y dos liberaciones cruzadas podían trabarse
+    private static final String LIBERAR = "WITH liberadas AS (" +
+            "DELETE FROM pinceladasdb.reservas_stock WHERE %s RETURNING producto_id, cantidad), " +
+            "por_producto AS (SELECT producto_id, SUM(cantidad) AS cantidad FROM liberadas GROUP BY producto_id), " +
+            "bloqueados AS (SELECT p.id FROM pinceladasdb.productos p JOIN por_producto pp ON pp.producto_id = p.id " +
+            "ORDER BY p.id FOR UPDATE OF p) " +
+            "UPDATE pinceladasdb.productos p SET cantidad_reservada = p.cantidad_reservada - pp.cantidad " +
+            "FROM por_producto pp JOIN bloqueados b ON b.id = pp.producto_id WHERE p.id = pp.producto_id";
+
+    private static final String LIBERAR_RESERVA = String.format(LIBERAR, "reserva_id = ?");
+
+    // La rueda puede adelantarse al reloj de la base por el redondeo del tic: se vuelve a verificar expira
+    private static final String LIBERAR_VENCIDAS_POR_ID = String.format(LIBERAR, "reserva_id = ANY (?) AND expira <= now()");
+
+    private static final String LIBERAR_VENCIDAS = String.format(LIBERAR, "expira <= now()");
+
+    // Bloquea las filas de la reserva: el vencimiento no puede borrarlas entre la lectura y la liberación
+    private static final String LINEAS = "SELECT producto_id, cantidad FROM pinceladasdb.reservas_stock " +
+            "WHERE reserva_id = ? ORDER BY producto_id FOR UPDATE";
+
+    private static final String PENDIENTES = "SELECT reserva_id, MIN(expira) AS expira " +
+            "FROM pinceladasdb.reservas_stock GROUP BY reserva_id";
+
+    private static final String DISPONIBILIDAD = "SELECT id, cantidad_en_stock, cantidad_reservada " +
+            "FROM pinceladasdb.productos WHERE id = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Un elemento por línea, en el mismo orden: 0 si no había disponible suficiente o el producto no existe.
+     */
+    public int[] retener(List<LineaStockDto> lineas) {
+        return jdbcTemplate.batchUpdate(RETENER, lineas, lineas.size(), (ps, linea) -> {
+            ps.setInt(1, linea.getCantidad());
+            ps.setLong(2, linea.getProductoId());
+            ps.setInt(3, linea.getCantidad());
+        })[0];
+    }
+
+    public void insertar(UUID reservaId, String carrito, List<LineaStockDto> lineas, LocalDateTime expira) {
+        Timestamp vence = Timestamp.valueOf(expira);
+        jdbcTemplate.batchUpdate(INSERTAR, lineas, lineas.size(), (ps, linea) -> {
+            ps.setObject(1, reservaId);
+            ps.setLong(2, linea.getProductoId());
+            ps.setString(3, carrito);
+            ps.setInt(4, linea.getCantidad());
+            ps.setTimestamp(5, vence);
+        });
+    }
+
+    /**
+     * Productos cuyo contador de reservado cambió (0 si la reserva ya no existía).
+     */
+    public int liberar(UUID reservaId) {
+        return jdbcTemplate.update(LIBERAR_RESERVA, reservaId);
+    }
+
+    public int liberarVencidas(Collection<UUID> reservaIds) {
+        return jdbcTemplate.update(LIBERAR_VENCIDAS_POR_ID,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", reservaIds.toArray())));
+    }
+
+    public int liberarVencidas() {
+        return jdbcTemplate.update(LIBERAR_VENCIDAS);
+    }
+
+    /**
+     * Líneas de la reserva ordenadas por producto; vacía si ya venció o no existe.
+     */
+    public List<LineaStockDto> lineas(UUID reservaId) {
+        return jdbcTemplate.query(LINEAS, (rs, i) -> new LineaStockDto(rs.getLong("producto_id"), rs.getInt("cantidad")),
+                reservaId);
+    }
+
+    public List<VencimientoReserva> pendientes() {
+        return jdbcTemplate.query(PENDIENTES, (rs, i) -> new VencimientoReserva(
+                rs.getObject("reserva_id", UUID.class), rs.getTimestamp("expira").toLocalDateTime()));
+    }
+
+    public List<DisponibilidadDto> disponibilidad(Collection<Long> productoIds) {
+        return jdbcTemplate.query(DISPONIBILIDAD,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", productoIds.toArray())),
+                (rs, i) -> {
+                    int stock = rs.getInt("cantidad_en_stock");
+                    int reservado = rs.getInt("cantidad_reservada");
+                    return DisponibilidadDto.builder()
+                            .productoId(rs.getLong("id"))
+                            .stock(stock)
+                            .reservado(reservado)
+                            .disponible(Math.max(stock - reservado, 0))
+                            .build();
+                });
+    }
+}
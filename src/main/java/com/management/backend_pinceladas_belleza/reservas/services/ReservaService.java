@@ -0,0 +1,223 @@
+package com.management.backend_pinceladas_belleza.reservas.services;
+
+import com.management.backend_pinceladas_belleza.common.RuedaTemporizadores;
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+import com.management.backend_pinceladas_belleza.exception.ResourceNotFoundException;
+import com.management.backend_pinceladas_belleza.exception.StockInsuficienteException;
+import com.management.backend_pinceladas_belleza.productos.dto.LineaStockDto;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import com.management.backend_pinceladas_belleza.reservas.dto.CrearReservaDto;
+import com.management.backend_pinceladas_belleza.reservas.dto.DisponibilidadDto;
+import com.management.backend_pinceladas_belleza.reservas.dto.ReservaDto;
+import com.management.backend_pinceladas_belleza.reservas.dto.VencimientoReserva;
+import com.management.backend_pinceladas_belleza.reservas.interfaces.IReservas;
+import com.management.backend_pinceladas_belleza.reservas.repository.ReservasStockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Reservas temporales de stock para el checkout.
+ *
+ * Reservar suma las unidades a productos.cantidad_reservada con un UPDATE condicional por
+ * producto (un lote) y guarda la reserva; ningún bloqueo de fila queda abierto durante la reserva.
+ * Los vencimientos se ordenan en una rueda de temporizadores en memoria: cada tic libera en una
+ * sola sentencia todas las reservas vencidas. Un barrido periódico en la base libera las que
+ * quedaron de una instancia que se reinició; al arrancar, la rueda se reconstruye desde la tabla.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReservaService implements IReservas {
+    // 2048 ranuras de 1 s cubren más de 30 minutos: una reserva vence en su primera vuelta
+    private static final int RANURAS = 2048;
+    private static final long RESOLUCION_MS = 1000;
+    private static final int LARGO_MAXIMO_CARRITO = 100;
+
+    private final ReservasStockRepository reservasRepository;
+    private final ProductosRepository productosRepository;
+
+    private final RuedaTemporizadores<UUID> vencimientos =
+            new RuedaTemporizadores<>(RANURAS, RESOLUCION_MS, System.currentTimeMillis());
+
+    @Value("${reservas.minutos-defecto:10}")
+    private int minutosDefecto;
+
+    @Value("${reservas.minutos-maximo:30}")
+    private int minutosMaximo;
+
+    @Value("${productos.batch.maximo-ids:500}")
+    private int maximoIds;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        try {
+            List<VencimientoReserva> pendientes = reservasRepository.pendientes();
+            for (VencimientoReserva pendiente : pendientes) {
+                vencimientos.programar(pendiente.getReservaId(), aMilisegundos(pendiente.getExpira()));
+            }
+            log.info("Reservas de stock pendientes: {}", pendientes.size());
+        } catch (DataAccessException e) {
+            // El barrido periódico libera igual las vencidas
+            log.warn("No se pudieron cargar las reservas pendientes: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional
+    public ReservaDto reservar(CrearReservaDto datos) {
+        if (datos == null || datos.getCarrito() == null || datos.getCarrito().isBlank()
+                || datos.getCarrito().length() > LARGO_MAXIMO_CARRITO) {
+            throw new BadRequestException("El carrito es obligatorio y debe tener hasta " + LARGO_MAXIMO_CARRITO + " caracteres");
+        }
+        int minutos = datos.getMinutos() != null ? datos.getMinutos() : minutosDefecto;
+        if (minutos < 1 || minutos > minutosMaximo) {
+            throw new BadRequestException("La reserva debe durar entre 1 y " + minutosMaximo + " minutos");
+        }
+        List<LineaStockDto> lineas = consolidar(datos.getLineas());
+
+        int[] filas = reservasRepository.retener(lineas);
+        for (int i = 0; i < filas.length; i++) {
+            if (filas[i] == 0) {
+                // La excepción revierte las líneas ya retenidas del lote
+                LineaStockDto linea = lineas.get(i);
+                if (!productosRepository.existsById(linea.getProductoId())) {
+                    throw new ResourceNotFoundException("Producto", "id", linea.getProductoId());
+                }
+                throw new StockInsuficienteException(linea.getProductoId(), linea.getCantidad());
+            }
+        }
+
+        UUID id = UUID.randomUUID();
+        LocalDateTime expira = LocalDateTime.now().plusMinutes(minutos);
+        reservasRepository.insertar(id, datos.getCarrito(), lineas, expira);
+        // Si la transacción se revierte el vencimiento no encuentra filas y no libera nada
+        vencimientos.programar(id, aMilisegundos(expira));
+
+        return ReservaDto.builder()
+                .id(id)
+                .carrito(datos.getCarrito())
+                .expira(expira)
+                .lineas(lineas)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void liberar(UUID reservaId) {
+        reservasRepository.liberar(reservaId);
+        cancelarAlConfirmar(reservaId);
+    }
+
+    @Override
+    @Transactional
+    public void consumir(UUID reservaId, Map<Long, Integer> cantidades) {
+        List<LineaStockDto> reservadas = reservasRepository.lineas(reservaId);
+        if (reservadas.isEmpty()) {
+            // Vencida: el pedido se valida contra el disponible como cualquier otro
+            return;
+        }
+        Map<Long, Integer> porProducto = new TreeMap<>();
+        reservadas.forEach(linea -> porProducto.put(linea.getProductoId(), linea.getCantidad()));
+        if (!porProducto.equals(new TreeMap<>(cantidades))) {
+            throw new BadRequestException("La reserva " + reservaId + " no corresponde a las líneas del pedido");
+        }
+        reservasRepository.liberar(reservaId);
+        cancelarAlConfirmar(reservaId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DisponibilidadDto> disponibilidad(List<Long> productoIds) {
+        if (productoIds == null || productoIds.isEmpty()) {
+            throw new BadRequestException("Debe indicar al menos un producto");
+        }
+        if (productoIds.size() > maximoIds) {
+            throw new BadRequestException("No se pueden consultar más de " + maximoIds + " productos a la vez");
+        }
+        return reservasRepository.disponibilidad(new LinkedHashSet<>(productoIds));
+    }
+
+    @Scheduled(fixedDelay = RESOLUCION_MS)
+    public void liberarVencidas() {
+        List<UUID> vencidas = vencimientos.avanzar(System.currentTimeMillis());
+        if (vencidas.isEmpty()) {
+            return;
+        }
+        try {
+            int productos = reservasRepository.liberarVencidas(vencidas);
+            log.debug("Reservas vencidas liberadas: {} ({} productos)", vencidas.size(), productos);
+        } catch (DataAccessException e) {
+            // Siguen vencidas en la tabla: las libera el barrido
+            log.warn("No se pudieron liberar {} reservas vencidas: {}", vencidas.size(), e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${reservas.barrido-ms:60000}", fixedDelayString = "${reservas.barrido-ms:60000}")
+    public void barrer() {
+        int productos = reservasRepository.liberarVencidas();
+        if (productos > 0) {
+            log.info("Barrido de reservas vencidas: {} productos liberados", productos);
+        }
+    }
+
+    /**
+     * Si la transacción se revierte la reserva sigue en la tabla y debe seguir en la rueda.
+     */
+    private void cancelarAlConfirmar(UUID reservaId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            vencimientos.cancelar(reservaId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                vencimientos.cancelar(reservaId);
+            }
+        });
+    }
+
+    /**
+     * Suma las líneas repetidas y las ordena por id: todas las reservas bloquean las filas en el
+     * mismo orden, igual que los ajustes de stock.
+     */
+    private static List<LineaStockDto> consolidar(List<LineaStockDto> lineas) {
+        if (lineas == null || lineas.isEmpty()) {
+            throw new BadRequestException("La reserva debe incluir al menos una línea");
+        }
+        Map<Long, Integer> porProducto = new TreeMap<>();
+        for (LineaStockDto linea : lineas) {
+            if (linea == null || linea.getProductoId() == null) {
+                throw new BadRequestException("El ID del producto es requerido en cada línea");
+            }
+            if (linea.getCantidad() == null || linea.getCantidad() <= 0) {
+                throw new BadRequestException("La cantidad debe ser mayor a 0 en cada línea");
+            }
+            porProducto.merge(linea.getProductoId(), linea.getCantidad(), Math::addExact);
+        }
+        List<LineaStockDto> resultado = new ArrayList<>(porProducto.size());
+        porProducto.forEach((id, cantidad) -> resultado.add(new LineaStockDto(id, cantidad)));
+        return resultado;
+    }
+
+    private static long aMilisegundos(LocalDateTime fecha) {
+        return fecha.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,7 @@
+-- Paginación por keyset de GET /productos/page
+-- El orden RECIENTES/ANTIGUOS recorre (fecha_created, id); el orden ID usa la llave primaria.
+
+UPDATE pinceladasdb.productos SET fecha_created = CURRENT_DATE WHERE fecha_created IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_productos_fecha_created_id
+    ON pinceladasdb.productos (fecha_created, id);
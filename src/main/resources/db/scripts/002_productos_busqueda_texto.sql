@@ -0,0 +1,19 @@
+-- Búsqueda de texto completo de GET /productos/search
+-- Configuración en español que ignora tildes: "labial rosado" encuentra "Labiál Rosádo" y "labiales".
+
+CREATE EXTENSION IF NOT EXISTS unaccent SCHEMA public;
+
+CREATE TEXT SEARCH CONFIGURATION pinceladasdb.es_sin_acentos (COPY = pg_catalog.spanish);
+ALTER TEXT SEARCH CONFIGURATION pinceladasdb.es_sin_acentos
+    ALTER MAPPING FOR hword, hword_part, word WITH public.unaccent, spanish_stem;
+
+-- El nombre pesa más que la descripción en el ranking (A > B)
+ALTER TABLE pinceladasdb.productos
+    ADD COLUMN IF NOT EXISTS busqueda tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('pinceladasdb.es_sin_acentos', coalesce(nombre, '')), 'A') ||
+        setweight(to_tsvector('pinceladasdb.es_sin_acentos', coalesce(descripcion, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_productos_busqueda
+    ON pinceladasdb.productos USING GIN (busqueda);
@@ -0,0 +1,9 @@
+-- Los ids de productos pasan de IDENTITY a una secuencia con allocationSize = 50 en Hibernate
+-- (optimizador pooled): cada nextval reserva un bloque de 50 ids y los INSERT se pueden agrupar
+-- en lotes JDBC. El DEFAULT de la columna sigue usando la misma secuencia, así los INSERT
+-- manuales toman el siguiente bloque y no chocan con los ids reservados por la aplicación.
+ALTER SEQUENCE pinceladasdb.productos_id_seq INCREMENT BY 50;
+
+-- Garantiza que el próximo bloque empiece después del id más alto existente
+SELECT setval('pinceladasdb.productos_id_seq',
+              (SELECT COALESCE(MAX(id), 0) + 50 FROM pinceladasdb.productos));
@@ -0,0 +1,4 @@
+-- Columna de control optimista para Productos (@Version).
+-- Los ajustes de stock (POST /productos/stock/...) la incrementan en el mismo UPDATE.
+ALTER TABLE pinceladasdb.productos
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
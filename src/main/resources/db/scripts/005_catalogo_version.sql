@@ -0,0 +1,4 @@
+-- Versión global del catálogo para los ETag de GET /productos, /category y /proveedor.
+-- Cada escritura confirmada hace nextval; las instancias sondean last_value para enterarse
+-- de los cambios hechos por otras.
+CREATE SEQUENCE IF NOT EXISTS pinceladasdb.catalogo_version_seq;
@@ -0,0 +1,25 @@
+-- Categorías anidadas (Maquillaje > Labiales > Mate).
+-- padre_id guarda el padre directo; categorias_jerarquia es la tabla de clausura con un par
+-- (ancestro, descendiente) por cada camino del árbol, incluido el de cada categoría consigo
+-- misma (profundidad 0). Así "todo el subárbol" es un solo join, sin recursión.
+ALTER TABLE pinceladasdb.categorias
+    ADD COLUMN IF NOT EXISTS padre_id BIGINT REFERENCES pinceladasdb.categorias (id);
+
+CREATE TABLE IF NOT EXISTS pinceladasdb.categorias_jerarquia (
+    ancestro_id     BIGINT  NOT NULL REFERENCES pinceladasdb.categorias (id) ON DELETE CASCADE,
+    descendiente_id BIGINT  NOT NULL REFERENCES pinceladasdb.categorias (id) ON DELETE CASCADE,
+    profundidad     INTEGER NOT NULL,
+    PRIMARY KEY (ancestro_id, descendiente_id)
+);
+
+-- La PK cubre "descendientes de X"; este índice cubre "ancestros de X"
+CREATE INDEX IF NOT EXISTS idx_categorias_jerarquia_descendiente
+    ON pinceladasdb.categorias_jerarquia (descendiente_id, ancestro_id);
+
+CREATE INDEX IF NOT EXISTS idx_categorias_padre
+    ON pinceladasdb.categorias (padre_id);
+
+-- Las categorías existentes quedan como raíces
+INSERT INTO pinceladasdb.categorias_jerarquia (ancestro_id, descendiente_id, profundidad)
+SELECT id, id, 0 FROM pinceladasdb.categorias
+ON CONFLICT DO NOTHING;
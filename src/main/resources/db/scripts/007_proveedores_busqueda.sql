@@ -0,0 +1,11 @@
+-- Búsqueda de proveedores por nombre (GET /proveedor/page?q=...).
+-- La consulta es upper(nombre) LIKE '%texto%'; un índice B-tree no sirve para comodines al
+-- inicio, el índice de trigramas sí.
+CREATE EXTENSION IF NOT EXISTS pg_trgm SCHEMA public;
+
+CREATE INDEX IF NOT EXISTS idx_proveedores_nombre_trgm
+    ON pinceladasdb.proveedores USING gin (upper(nombre) public.gin_trgm_ops);
+
+-- Agrupación por proveedor del resumen (GET /proveedor/summary)
+CREATE INDEX IF NOT EXISTS idx_productos_proveedor
+    ON pinceladasdb.productos (proveedor_id);
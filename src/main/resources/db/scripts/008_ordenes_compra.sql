@@ -0,0 +1,38 @@
+-- Órdenes de compra a proveedores generadas por punto de reorden.
+-- Un producto entra en una orden cuando cantidad_en_stock <= punto_reorden; se piden
+-- cantidad_reorden unidades. Sin punto_reorden el producto no participa.
+ALTER TABLE pinceladasdb.productos
+    ADD COLUMN IF NOT EXISTS punto_reorden INTEGER,
+    ADD COLUMN IF NOT EXISTS cantidad_reorden INTEGER;
+
+-- La generación recorre solo los productos con punto de reorden
+CREATE INDEX IF NOT EXISTS idx_productos_reorden
+    ON pinceladasdb.productos (proveedor_id)
+    WHERE punto_reorden IS NOT NULL;
+
+CREATE TABLE IF NOT EXISTS pinceladasdb.ordenes_compra (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    proveedor_id    BIGINT      NOT NULL REFERENCES pinceladasdb.proveedores (id),
+    estado          VARCHAR(20) NOT NULL,
+    fecha_creacion  TIMESTAMP   NOT NULL DEFAULT now(),
+    fecha_recepcion TIMESTAMP,
+    version         BIGINT      NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_ordenes_compra_estado
+    ON pinceladasdb.ordenes_compra (estado, id);
+
+CREATE TABLE IF NOT EXISTS pinceladasdb.ordenes_compra_lineas (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    orden_id        BIGINT  NOT NULL REFERENCES pinceladasdb.ordenes_compra (id) ON DELETE CASCADE,
+    producto_id     BIGINT  NOT NULL REFERENCES pinceladasdb.productos (id),
+    cantidad        INTEGER NOT NULL,
+    precio_unitario NUMERIC
+);
+
+CREATE INDEX IF NOT EXISTS idx_ordenes_compra_lineas_orden
+    ON pinceladasdb.ordenes_compra_lineas (orden_id);
+
+-- "¿El producto ya está en una orden abierta?" se responde con este índice
+CREATE INDEX IF NOT EXISTS idx_ordenes_compra_lineas_producto
+    ON pinceladasdb.ordenes_compra_lineas (producto_id, orden_id);
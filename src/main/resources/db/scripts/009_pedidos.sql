@@ -0,0 +1,29 @@
+-- Pedidos de clientes. Las secuencias avanzan de a 50 igual que allocationSize en Hibernate
+-- (optimizador pooled): la cabecera y todas las líneas de un pedido se insertan en lotes JDBC
+-- sin pedir un id por fila.
+CREATE SEQUENCE IF NOT EXISTS pinceladasdb.pedidos_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS pinceladasdb.pedidos_lineas_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS pinceladasdb.pedidos (
+    id             BIGINT      PRIMARY KEY DEFAULT nextval('pinceladasdb.pedidos_id_seq'),
+    cliente        VARCHAR(150) NOT NULL,
+    estado         VARCHAR(20) NOT NULL,
+    total          NUMERIC     NOT NULL,
+    fecha_creacion TIMESTAMP   NOT NULL DEFAULT now()
+);
+
+-- El listado pagina por id descendente, opcionalmente por estado
+CREATE INDEX IF NOT EXISTS idx_pedidos_estado_id
+    ON pinceladasdb.pedidos (estado, id DESC);
+
+CREATE TABLE IF NOT EXISTS pinceladasdb.pedidos_lineas (
+    id              BIGINT  PRIMARY KEY DEFAULT nextval('pinceladasdb.pedidos_lineas_id_seq'),
+    pedido_id       BIGINT  NOT NULL REFERENCES pinceladasdb.pedidos (id) ON DELETE CASCADE,
+    producto_id     BIGINT  NOT NULL REFERENCES pinceladasdb.productos (id),
+    cantidad        INTEGER NOT NULL,
+    precio_unitario NUMERIC NOT NULL,
+    subtotal        NUMERIC NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_pedidos_lineas_pedido
+    ON pinceladasdb.pedidos_lineas (pedido_id);
@@ -0,0 +1,14 @@
+-- Respuestas de POST con cabecera Idempotency-Key.
+-- La fila se inserta antes de ejecutar la operación (respuesta NULL = en curso) y se completa en
+-- la misma transacción que la escritura de negocio. Las filas vencidas se purgan a diario.
+CREATE TABLE IF NOT EXISTS pinceladasdb.idempotencia (
+    alcance   VARCHAR(60)  NOT NULL,
+    clave     VARCHAR(100) NOT NULL,
+    huella    VARCHAR(64)  NOT NULL,
+    respuesta TEXT,
+    creado    TIMESTAMP    NOT NULL DEFAULT now(),
+    PRIMARY KEY (alcance, clave)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotencia_creado
+    ON pinceladasdb.idempotencia (creado);
@@ -0,0 +1,26 @@
+-- Reservas temporales de stock para el checkout.
+-- productos.cantidad_reservada es el total retenido por reservas vigentes: el disponible es
+-- cantidad_en_stock - cantidad_reservada y se obtiene sin recorrer reservas_stock. Reservar,
+-- liberar y vender ajustan el contador con UPDATE condicionales; ninguna reserva mantiene
+-- bloqueos de fila abiertos mientras el cliente decide.
+ALTER TABLE pinceladasdb.productos
+    ADD COLUMN IF NOT EXISTS cantidad_reservada INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE pinceladasdb.productos
+    DROP CONSTRAINT IF EXISTS chk_productos_cantidad_reservada;
+ALTER TABLE pinceladasdb.productos
+    ADD CONSTRAINT chk_productos_cantidad_reservada CHECK (cantidad_reservada >= 0);
+
+-- Una fila por producto de cada reserva; todas las filas de una reserva comparten reserva_id y expira
+CREATE TABLE IF NOT EXISTS pinceladasdb.reservas_stock (
+    reserva_id  UUID         NOT NULL,
+    producto_id BIGINT       NOT NULL REFERENCES pinceladasdb.productos (id),
+    carrito     VARCHAR(100) NOT NULL,
+    cantidad    INTEGER      NOT NULL CHECK (cantidad > 0),
+    expira      TIMESTAMP    NOT NULL,
+    PRIMARY KEY (reserva_id, producto_id)
+);
+
+-- Barrido de reservas vencidas que ninguna instancia liberó (instancia reiniciada)
+CREATE INDEX IF NOT EXISTS idx_reservas_stock_expira
+    ON pinceladasdb.reservas_stock (expira);
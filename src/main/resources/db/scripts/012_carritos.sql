@@ -0,0 +1,11 @@
+-- Copia persistente de los carritos en memoria (ver CarritoService).
+-- contenido: pares (producto_id BIGINT, cantidad INTEGER) de 12 bytes, big-endian. Un carrito
+-- vacío o inactivo no tiene fila; las filas sin cambios desde la inactividad máxima se purgan.
+CREATE TABLE IF NOT EXISTS pinceladasdb.carritos (
+    id          VARCHAR(100) PRIMARY KEY,
+    contenido   BYTEA        NOT NULL,
+    actualizado TIMESTAMP    NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_carritos_actualizado
+    ON pinceladasdb.carritos (actualizado);
@@ -0,0 +1,17 @@
+-- Bandeja de salida (transactional outbox): los eventos de pedidos, stock y productos se insertan
+-- en la misma transacción que la escritura y un proceso en segundo plano los entrega a los
+-- consumidores. Una fila se borra cuando todos los consumidores la procesaron.
+-- procesar_desde: las filas tomadas por una instancia quedan reservadas hasta ese momento (si la
+-- instancia cae, otra las vuelve a tomar) y las fallidas se reintentan con espera creciente.
+CREATE TABLE IF NOT EXISTS pinceladasdb.outbox (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tipo           VARCHAR(60) NOT NULL,
+    datos          TEXT        NOT NULL,
+    creado         TIMESTAMP   NOT NULL DEFAULT now(),
+    procesar_desde TIMESTAMP   NOT NULL DEFAULT now(),
+    intentos       INTEGER     NOT NULL DEFAULT 0,
+    ultimo_error   VARCHAR(500)
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_procesar_desde
+    ON pinceladasdb.outbox (procesar_desde, id);
@@ -0,0 +1,7 @@
+-- Versión de cada carrito (ver CarritoService): la fila es la fuente de verdad y cada instancia
+-- valida su copia en memoria contra esta versión antes de usarla y al escribir. Los valores salen
+-- de una secuencia y no se repiten aunque la fila se purgue y el carrito vuelva a crearse.
+CREATE SEQUENCE IF NOT EXISTS pinceladasdb.carritos_version_seq;
+
+ALTER TABLE pinceladasdb.carritos
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT nextval('pinceladasdb.carritos_version_seq');
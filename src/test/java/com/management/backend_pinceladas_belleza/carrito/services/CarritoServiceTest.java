@@ -0,0 +1,216 @@
+package com.management.backend_pinceladas_belleza.carrito.services;
+
+import com.management.backend_pinceladas_belleza.carrito.dto.CarritoDto;
+import com.management.backend_pinceladas_belleza.carrito.dto.CopiaCarrito;
+import com.management.backend_pinceladas_belleza.carrito.repository.CarritosRepository;
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductosPorIdsDto;
+import com.management.backend_pinceladas_belleza.productos.interfaces.IProductos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - CarritoService")
+class CarritoServiceTest {
+
+    @Mock
+    private CarritosRepository carritosRepository;
+
+    @Mock
+    private IProductos productos;
+
+    private CarritoService carritoService;
+
+    // Filas de pinceladasdb.carritos simuladas, con la misma regla de versiones que el repositorio
+    private final Map<String, CopiaCarrito> tabla = new HashMap<>();
+    private long secuencia;
+
+    @BeforeEach
+    void setUp() {
+        carritoService = new CarritoService(carritosRepository, productos, 1000, 120);
+        ReflectionTestUtils.setField(carritoService, "maximoProductos", 2);
+        ReflectionTestUtils.setField(carritoService, "maximoUnidades", 10);
+    }
+
+    @Test
+    @DisplayName("Debe calcular el total con los precios de la caché de productos")
+    void testAgregar_DebeCalcularTotal() {
+        // ARRANGE
+        simularTabla();
+        // El producto 2 se agregó y luego dejó de existir en el catálogo
+        when(productos.getResumenPorIds(anyList())).thenAnswer(inv -> {
+            List<Long> ids = inv.getArgument(0);
+            return ProductosPorIdsDto.builder()
+                    .productos(ids.contains(1L) ? List.of(resumen(1L, "25000.00")) : List.of())
+                    .noEncontrados(ids.contains(2L) ? List.of(2L) : List.of())
+                    .build();
+        });
+        carritoService.agregar("c1", 2L, 1);
+        carritoService.agregar("c1", 1L, 2);
+
+        // ACT
+        CarritoDto resultado = carritoService.agregar("c1", 1L, 1);
+
+        // ASSERT
+        assertEquals(1, resultado.getItems().size());
+        assertEquals(3, resultado.getItems().get(0).getCantidad());
+        assertEquals(0, new BigDecimal("75000.00").compareTo(resultado.getTotal()));
+        assertEquals(List.of(2L), resultado.getNoDisponibles());
+        assertEquals(3, cantidadGuardada("c1", 1L));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar más productos distintos o unidades que el máximo")
+    void testAgregar_SobreLimites_DebeLanzarExcepcion() {
+        // ARRANGE
+        simularTabla();
+        sinPrecios();
+        carritoService.agregar("c1", 1L, 9);
+        carritoService.agregar("c1", 2L, 1);
+
+        // ACT & ASSERT
+        assertThrows(BadRequestException.class, () -> carritoService.agregar("c1", 3L, 1));
+        assertThrows(BadRequestException.class, () -> carritoService.agregar("c1", 1L, 2));
+        assertEquals(9, cantidadGuardada("c1", 1L));
+    }
+
+    @Test
+    @DisplayName("Debe recargar la copia en memoria cuando otra instancia guardó una versión más nueva")
+    void testObtener_VersionNuevaEnBase_DebeRecargar() {
+        // ARRANGE
+        simularTabla();
+        sinPrecios();
+        carritoService.agregar("c1", 1L, 2);
+        // Otra instancia agrega el producto 2
+        tabla.put("c1", new CopiaCarrito(++secuencia, contenido(1L, 2, 2L, 5)));
+
+        // ACT
+        CarritoDto resultado = carritoService.obtener("c1");
+
+        // ASSERT
+        assertEquals(7, resultado.getUnidades());
+    }
+
+    @Test
+    @DisplayName("Debe recargar y volver a aplicar el cambio si otra instancia escribió entre la lectura y la escritura")
+    void testAgregar_ConflictoDeVersion_DebeReintentarSinPerderCambios() {
+        // ARRANGE
+        simularTabla();
+        sinPrecios();
+        carritoService.agregar("c1", 1L, 2);
+        long versionLeida = tabla.get("c1").getVersion();
+        // La primera escritura pierde contra otra instancia que agregó el producto 2
+        doAnswer(inv -> {
+            tabla.put("c1", new CopiaCarrito(++secuencia, contenido(1L, 2, 2L, 5)));
+            return Optional.empty();
+        }).when(carritosRepository).guardar(eq("c1"), any(), eq(versionLeida));
+
+        // ACT
+        CarritoDto resultado = carritoService.agregar("c1", 1L, 1);
+
+        // ASSERT
+        assertEquals(3, cantidadGuardada("c1", 1L));
+        assertEquals(5, cantidadGuardada("c1", 2L));
+        assertEquals(8, resultado.getUnidades());
+    }
+
+    @Test
+    @DisplayName("Debe volver a guardar un carrito en uso cuya fila se purgó")
+    void testObtener_FilaPurgada_DebeVolverAGuardar() {
+        // ARRANGE
+        simularTabla();
+        sinPrecios();
+        carritoService.agregar("c1", 1L, 4);
+        tabla.clear();
+
+        // ACT
+        CarritoDto resultado = carritoService.obtener("c1");
+
+        // ASSERT
+        assertEquals(4, resultado.getUnidades());
+        assertEquals(4, cantidadGuardada("c1", 1L));
+    }
+
+    @Test
+    @DisplayName("Debe dejar la fila vacía al vaciar, sin borrarla")
+    void testVaciar_DebeGuardarContenidoVacio() {
+        // ARRANGE
+        simularTabla();
+        sinPrecios();
+        carritoService.agregar("c1", 1L, 4);
+        long versionAnterior = tabla.get("c1").getVersion();
+
+        // ACT
+        carritoService.vaciar("c1");
+        CarritoDto vacio = carritoService.obtener("c1");
+
+        // ASSERT
+        assertEquals(0, tabla.get("c1").getContenido().length);
+        assertTrue(tabla.get("c1").getVersion() > versionAnterior);
+        assertTrue(vacio.getItems().isEmpty());
+    }
+
+    private void simularTabla() {
+        lenient().when(carritosRepository.buscar(anyString(), anyLong())).thenAnswer(inv -> {
+            CopiaCarrito fila = tabla.get(inv.<String>getArgument(0));
+            long conocida = inv.getArgument(1);
+            return Optional.ofNullable(fila)
+                    .map(f -> new CopiaCarrito(f.getVersion(), f.getVersion() != conocida ? f.getContenido() : null));
+        });
+        lenient().when(carritosRepository.guardar(anyString(), any(), anyLong())).thenAnswer(inv -> {
+            String id = inv.getArgument(0);
+            CopiaCarrito fila = tabla.get(id);
+            long esperada = inv.getArgument(2);
+            if ((fila != null ? fila.getVersion() : 0) != esperada) {
+                return Optional.empty();
+            }
+            tabla.put(id, new CopiaCarrito(++secuencia, inv.getArgument(1)));
+            return Optional.of(secuencia);
+        });
+    }
+
+    private void sinPrecios() {
+        when(productos.getResumenPorIds(anyList())).thenReturn(ProductosPorIdsDto.builder()
+                .productos(List.of()).noEncontrados(List.of()).build());
+    }
+
+    private int cantidadGuardada(String carritoId, long productoId) {
+        ByteBuffer buffer = ByteBuffer.wrap(tabla.get(carritoId).getContenido());
+        while (buffer.remaining() >= 12) {
+            long id = buffer.getLong();
+            int cantidad = buffer.getInt();
+            if (id == productoId) {
+                return cantidad;
+            }
+        }
+        return 0;
+    }
+
+    private static byte[] contenido(long producto1, int cantidad1, long producto2, int cantidad2) {
+        return ByteBuffer.allocate(24).putLong(producto1).putInt(cantidad1).putLong(producto2).putInt(cantidad2).array();
+    }
+
+    private static ProductoResumenDto resumen(Long id, String precio) {
+        return ProductoResumenDto.builder().id(id).nombre("Producto " + id).precio(new BigDecimal(precio)).build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.management.backend_pinceladas_belleza.catalogo.services;
+
+import com.management.backend_pinceladas_belleza.catalogo.events.CatalogoVersionCambiadaEvent;
+import com.management.backend_pinceladas_belleza.catalogo.repository.CatalogoVersionRepository;
+import com.management.backend_pinceladas_belleza.productos.events.StockAjustadoEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - CatalogoVersionService")
+class CatalogoVersionServiceTest {
+
+    @Mock
+    private CatalogoVersionRepository catalogoVersionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @InjectMocks
+    private CatalogoVersionService catalogoVersion;
+
+    @BeforeEach
+    void setUp() {
+        when(catalogoVersionRepository.actual()).thenReturn(10L);
+        catalogoVersion.sincronizar();
+        clearInvocations(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Debe avanzar la marca local sin recargar cuando la versión sigue a la anterior")
+    void testRegistrarCambio_VersionConsecutiva_DebeAvanzarSinRecargar() {
+        // ARRANGE
+        when(catalogoVersionRepository.incrementar()).thenReturn(11L);
+
+        // ACT
+        catalogoVersion.alAjustarStock(new StockAjustadoEvent(List.of(1L), true));
+
+        // ASSERT
+        assertEquals(11L, catalogoVersion.actual().getVersion());
+        verifyNoInteractions(cacheManager, entityManagerFactory);
+        ArgumentCaptor<CatalogoVersionCambiadaEvent> evento = ArgumentCaptor.forClass(CatalogoVersionCambiadaEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertFalse(evento.getValue().isRemota());
+    }
+
+    @Test
+    @DisplayName("Debe dejar la recarga de un salto de versión para el sondeo, sin emitir ETag mientras tanto")
+    void testRegistrarCambio_SaltoDeVersion_DebeDiferirRecarga() {
+        // ARRANGE: otra escritura tomó la 11 entre medio
+        when(catalogoVersionRepository.incrementar()).thenReturn(12L);
+
+        // ACT
+        catalogoVersion.alAjustarStock(new StockAjustadoEvent(List.of(1L), true));
+
+        // ASSERT: el hilo de la petición no recarga nada
+        assertNull(catalogoVersion.actual());
+        verifyNoInteractions(cacheManager, entityManagerFactory, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Debe recargar en el sondeo la recarga pendiente aunque la versión ya esté al día")
+    void testSincronizar_RecargaPendiente_DebeRecargarYPublicarRemota() {
+        // ARRANGE
+        when(catalogoVersionRepository.incrementar()).thenReturn(12L);
+        when(catalogoVersionRepository.actual()).thenReturn(12L);
+        when(entityManagerFactory.getCache()).thenReturn(mock(Cache.class));
+        catalogoVersion.alAjustarStock(new StockAjustadoEvent(List.of(1L), true));
+
+        // ACT
+        catalogoVersion.sincronizar();
+        catalogoVersion.sincronizar();
+
+        // ASSERT: una sola recarga, y la marca vuelve a emitirse
+        assertEquals(12L, catalogoVersion.actual().getVersion());
+        ArgumentCaptor<CatalogoVersionCambiadaEvent> evento = ArgumentCaptor.forClass(CatalogoVersionCambiadaEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(evento.capture());
+        assertTrue(evento.getValue().isRemota());
+        verify(entityManagerFactory, times(2)).getCache();
+    }
+}
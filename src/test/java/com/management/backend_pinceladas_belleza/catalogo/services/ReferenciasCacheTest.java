@@ -0,0 +1,158 @@
+package com.management.backend_pinceladas_belleza.catalogo.services;
+
+import com.management.backend_pinceladas_belleza.categorias.dto.CategoriaNodoDto;
+import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
+import com.management.backend_pinceladas_belleza.categorias.events.CategoriaModificadaEvent;
+import com.management.backend_pinceladas_belleza.categorias.repository.CategoriaRepository;
+import com.management.backend_pinceladas_belleza.proveedores.entity.Proveedor;
+import com.management.backend_pinceladas_belleza.proveedores.events.ProveedorModificadoEvent;
+import com.management.backend_pinceladas_belleza.proveedores.repository.ProveedoresRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - ReferenciasCache")
+class ReferenciasCacheTest {
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
+    @Mock
+    private ProveedoresRepository proveedoresRepository;
+
+    @InjectMocks
+    private ReferenciasCache referencias;
+
+    @Test
+    @DisplayName("Debe resolver categorías y proveedores en memoria después de cargar")
+    void testBuscar_DespuesDeCargar_NoDebeConsultarBase() {
+        // ARRANGE
+        when(categoriaRepository.findAll()).thenReturn(List.of(categoria(1L, "Maquillaje")));
+        when(proveedoresRepository.findAll()).thenReturn(List.of(proveedor(1L, "Proveedor Test")));
+
+        // ACT
+        referencias.cargar();
+
+        // ASSERT
+        assertTrue(referencias.isCargado());
+        assertEquals("Maquillaje", referencias.buscarCategoria(1L).orElseThrow().getNombreCategoria());
+        assertEquals("Proveedor Test", referencias.buscarProveedor(1L).orElseThrow().getNombre());
+        assertTrue(referencias.buscarCategoria(null).isEmpty());
+        verify(categoriaRepository, never()).findById(any());
+        verify(proveedoresRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Debe buscar en la base lo que falta en memoria e incorporarlo al encontrarlo")
+    void testBuscar_CreadoEnOtraInstancia_DebeConsultarYGuardar() {
+        // ARRANGE
+        when(categoriaRepository.findAll()).thenReturn(List.of(categoria(1L, "Maquillaje")));
+        when(proveedoresRepository.findAll()).thenReturn(List.of());
+        when(categoriaRepository.findById(2L)).thenReturn(Optional.of(categoria(2L, "Uñas")));
+        when(proveedoresRepository.findById(9L)).thenReturn(Optional.empty());
+        referencias.cargar();
+
+        // ACT
+        Optional<Categoria> primera = referencias.buscarCategoria(2L);
+        Optional<Categoria> segunda = referencias.buscarCategoria(2L);
+        Optional<Proveedor> inexistente = referencias.buscarProveedor(9L);
+
+        // ASSERT
+        assertEquals("Uñas", primera.orElseThrow().getNombreCategoria());
+        assertTrue(segunda.isPresent());
+        assertTrue(inexistente.isEmpty());
+        assertEquals(2, referencias.getCategorias().size());
+        assertEquals(2, referencias.getArbol().size());
+        verify(categoriaRepository, times(1)).findById(2L);
+    }
+
+    @Test
+    @DisplayName("Debe consultar la base mientras no se hayan cargado las referencias")
+    void testBuscar_SinCargar_DebeConsultarBase() {
+        // ARRANGE
+        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria(1L, "Maquillaje")));
+
+        // ACT
+        Optional<Categoria> resultado = referencias.buscarCategoria(1L);
+
+        // ASSERT
+        assertFalse(referencias.isCargado());
+        assertTrue(resultado.isPresent());
+        verify(categoriaRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Debe aplicar altas, cambios y bajas recibidos por eventos")
+    void testEventos_DebenActualizarMapas() {
+        // ARRANGE
+        when(categoriaRepository.findAll()).thenReturn(List.of(categoria(1L, "Maquillaje")));
+        when(proveedoresRepository.findAll()).thenReturn(List.of(proveedor(1L, "Proveedor Test")));
+        referencias.cargar();
+        List<Categoria> anteriores = referencias.getCategorias();
+
+        // ACT
+        referencias.alModificarCategoria(new CategoriaModificadaEvent(2L, categoria(2L, "Uñas")));
+        referencias.alModificarCategoria(new CategoriaModificadaEvent(1L, null));
+        referencias.alModificarProveedor(new ProveedorModificadoEvent(1L, proveedor(1L, "Proveedor Nuevo")));
+
+        // ASSERT
+        assertEquals(1, anteriores.size());
+        assertEquals(1, referencias.getCategorias().size());
+        assertEquals("Uñas", referencias.getCategorias().get(0).getNombreCategoria());
+        assertTrue(referencias.buscarCategoria(1L).isEmpty());
+        assertEquals("Proveedor Nuevo", referencias.buscarProveedor(1L).orElseThrow().getNombre());
+    }
+
+    @Test
+    @DisplayName("Debe armar el árbol de categorías ordenado por nombre en cada nivel")
+    void testGetArbol_DebeAnidarSubcategorias() {
+        // ARRANGE
+        Categoria labiales = categoria(2L, "Labiales");
+        labiales.setPadreId(1L);
+        Categoria mate = categoria(3L, "Mate");
+        mate.setPadreId(2L);
+        Categoria brillo = categoria(4L, "Brillo");
+        brillo.setPadreId(2L);
+        when(categoriaRepository.findAll()).thenReturn(List.of(mate, categoria(1L, "Maquillaje"), brillo, labiales));
+        when(proveedoresRepository.findAll()).thenReturn(List.of());
+        referencias.cargar();
+
+        // ACT
+        List<CategoriaNodoDto> arbol = referencias.getArbol();
+
+        // ASSERT
+        assertEquals(1, arbol.size());
+        assertEquals("Maquillaje", arbol.get(0).getNombreCategoria());
+        CategoriaNodoDto nodoLabiales = arbol.get(0).getHijos().get(0);
+        assertEquals("Labiales", nodoLabiales.getNombreCategoria());
+        assertEquals("Brillo", nodoLabiales.getHijos().get(0).getNombreCategoria());
+        assertEquals("Mate", nodoLabiales.getHijos().get(1).getNombreCategoria());
+        assertSame(arbol, referencias.getArbol());
+    }
+
+    private static Categoria categoria(Long id, String nombre) {
+        Categoria categoria = new Categoria();
+        categoria.setId(id);
+        categoria.setNombreCategoria(nombre);
+        categoria.setEstado((short) 1);
+        return categoria;
+    }
+
+    private static Proveedor proveedor(Long id, String nombre) {
+        Proveedor proveedor = new Proveedor();
+        proveedor.setId(id);
+        proveedor.setNombre(nombre);
+        return proveedor;
+    }
+}
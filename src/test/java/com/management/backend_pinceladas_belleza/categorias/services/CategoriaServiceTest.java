@@ -1,17 +1,23 @@
 package com.management.backend_pinceladas_belleza.categorias.services;
 
+import com.management.backend_pinceladas_belleza.catalogo.services.ReferenciasCache;
 import com.management.backend_pinceladas_belleza.categorias.dto.CategoriaDto;
 import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
+import com.management.backend_pinceladas_belleza.categorias.repository.CategoriaJerarquiaRepository;
 import com.management.backend_pinceladas_belleza.categorias.repository.CategoriaRepository;
+import com.management.backend_pinceladas_belleza.common.CoalescedorLecturas;
 import com.management.backend_pinceladas_belleza.exception.BadRequestException;
 import com.management.backend_pinceladas_belleza.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -28,6 +34,18 @@ class CategoriaServiceTest {
     @Mock
     private CategoriaRepository categoriaRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private CoalescedorLecturas coalescedor = new CoalescedorLecturas();
+
+    @Mock
+    private ReferenciasCache referencias;
+
+    @Mock
+    private CategoriaJerarquiaRepository jerarquiaRepository;
+
     @InjectMocks
     private CategoriaService categoriaService;
 
@@ -63,6 +81,22 @@ class CategoriaServiceTest {
         verify(categoriaRepository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("Debe retornar las categorías en memoria sin consultar la base")
+    void testObtenerCategorias_CuandoReferenciasCargadas_DebeUsarMemoria() {
+        // ARRANGE
+        when(referencias.isCargado()).thenReturn(true);
+        when(referencias.getCategorias()).thenReturn(Arrays.asList(categoria));
+
+        // ACT
+        List<Categoria> resultado = categoriaService.obtenerCategorias();
+
+        // ASSERT
+        assertEquals(1, resultado.size());
+        assertEquals("Maquillaje", resultado.get(0).getNombreCategoria());
+        verify(categoriaRepository, never()).findAll();
+    }
+
     @Test
     @DisplayName("Debe retornar categoría cuando existe el ID")
     void testObtenerCategoriaId_CuandoExiste_DebeRetornarCategoria() {
@@ -232,4 +266,104 @@ class CategoriaServiceTest {
         assertTrue(exception.getMessage().contains("Categoría"));
         verify(categoriaRepository, never()).deleteById(any());
     }
+
+    @Test
+    @DisplayName("Debe registrar los caminos de la jerarquía al crear una subcategoría")
+    void testInsertarCategoria_ConPadre_DebeInsertarEnJerarquia() {
+        // ARRANGE
+        Categoria padre = Categoria.builder().id(5L).nombreCategoria("Maquillaje").build();
+        Categoria labiales = Categoria.builder().id(6L).nombreCategoria("Labiales").padreId(5L).build();
+        categoriaDto.setNombreCategoria("Labiales");
+        categoriaDto.setPadreId(5L);
+        when(referencias.buscarCategoria(5L)).thenReturn(Optional.of(padre));
+        when(categoriaRepository.save(any(Categoria.class))).thenReturn(labiales);
+
+        // ACT
+        Categoria resultado = categoriaService.insertarCategoria(categoriaDto);
+
+        // ASSERT
+        assertEquals(5L, resultado.getPadreId());
+        verify(jerarquiaRepository, times(1)).insertar(6L, 5L);
+    }
+
+    @Test
+    @DisplayName("Debe conservar el padre al actualizar solo nombre y estado")
+    void testActualizarCategoria_SinPadre_NoDebeMoverCategoria() {
+        // ARRANGE: el cliente no envía padreId
+        categoria.setPadreId(5L);
+        Categoria cambios = Categoria.builder().id(1L).nombreCategoria("Ojos").estado((short) 0).build();
+        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+        when(categoriaRepository.save(any(Categoria.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // ACT
+        Categoria resultado = categoriaService.actualizarCategoria(cambios);
+
+        // ASSERT
+        assertEquals("Ojos", resultado.getNombreCategoria());
+        assertEquals(5L, resultado.getPadreId());
+        verifyNoInteractions(jerarquiaRepository);
+    }
+
+    @Test
+    @DisplayName("Debe bloquear la jerarquía antes de validar y mover la categoría")
+    void testMoverCategoria_DebeBloquearAntesDeValidar() {
+        // ARRANGE
+        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+        when(referencias.buscarCategoria(7L)).thenReturn(Optional.of(Categoria.builder().id(7L).build()));
+        when(categoriaRepository.save(any(Categoria.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // ACT
+        Categoria resultado = categoriaService.moverCategoria(1L, 7L);
+
+        // ASSERT
+        assertEquals(7L, resultado.getPadreId());
+        InOrder orden = inOrder(jerarquiaRepository, categoriaRepository);
+        orden.verify(jerarquiaRepository).bloquear();
+        orden.verify(categoriaRepository).findById(1L);
+        orden.verify(jerarquiaRepository).esDescendiente(7L, 1L);
+        orden.verify(jerarquiaRepository).mover(1L, 7L);
+    }
+
+    @Test
+    @DisplayName("Debe dejar la categoría como raíz cuando el nuevo padre es null")
+    void testMoverCategoria_PadreNull_DebeDejarComoRaiz() {
+        // ARRANGE
+        categoria.setPadreId(5L);
+        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+        when(categoriaRepository.save(any(Categoria.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // ACT
+        Categoria resultado = categoriaService.moverCategoria(1L, null);
+
+        // ASSERT
+        assertNull(resultado.getPadreId());
+        verify(jerarquiaRepository, times(1)).mover(1L, null);
+        verify(jerarquiaRepository, never()).esDescendiente(any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe lanzar BadRequestException al mover una categoría dentro de su propio subárbol")
+    void testMoverCategoria_PadreDescendiente_DebeLanzarExcepcion() {
+        // ARRANGE
+        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+        when(referencias.buscarCategoria(7L)).thenReturn(Optional.of(Categoria.builder().id(7L).build()));
+        when(jerarquiaRepository.esDescendiente(7L, 1L)).thenReturn(true);
+
+        // ACT & ASSERT
+        assertThrows(BadRequestException.class, () -> categoriaService.moverCategoria(1L, 7L));
+        verify(jerarquiaRepository, never()).mover(any(), any());
+        verify(categoriaRepository, never()).save(any(Categoria.class));
+    }
+
+    @Test
+    @DisplayName("Debe lanzar BadRequestException al eliminar una categoría con subcategorías")
+    void testEliminarCategoria_ConSubcategorias_DebeLanzarExcepcion() {
+        // ARRANGE
+        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+        when(categoriaRepository.existsByPadreId(1L)).thenReturn(true);
+
+        // ACT & ASSERT
+        assertThrows(BadRequestException.class, () -> categoriaService.eliminarCategoria(1L));
+        verify(categoriaRepository, never()).deleteById(any());
+    }
 }
@@ -0,0 +1,82 @@
+package com.management.backend_pinceladas_belleza.common;
+
+import com.management.backend_pinceladas_belleza.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas Unitarias - CoalescedorLecturas")
+class CoalescedorLecturasTest {
+
+    private final CoalescedorLecturas coalescedor = new CoalescedorLecturas();
+
+    @Test
+    @DisplayName("Debe ejecutar una sola carga para llamadas concurrentes con la misma clave")
+    void testEjecutar_LlamadasConcurrentes_DebenCompartirCarga() throws Exception {
+        // ARRANGE
+        int hilos = 8;
+        AtomicInteger cargas = new AtomicInteger();
+        CountDownLatch cargaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+
+        try {
+            // ACT
+            List<Future<String>> resultados = new ArrayList<>();
+            resultados.add(ejecutor.submit(() -> coalescedor.ejecutar("clave", () -> {
+                cargas.incrementAndGet();
+                cargaIniciada.countDown();
+                esperar(liberarCarga);
+                return "resultado";
+            })));
+            assertTrue(cargaIniciada.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < hilos; i++) {
+                resultados.add(ejecutor.submit(() -> coalescedor.ejecutar("clave", () -> {
+                    cargas.incrementAndGet();
+                    return "otro";
+                })));
+            }
+            // Los que llegan tarde quedan esperando la carga en curso
+            Thread.sleep(100);
+            liberarCarga.countDown();
+
+            // ASSERT
+            for (Future<String> resultado : resultados) {
+                assertEquals("resultado", resultado.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, cargas.get());
+            assertEquals(0, coalescedor.enCurso());
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe propagar la excepción de la carga y liberar la clave")
+    void testEjecutar_CargaFallida_DebePropagarExcepcion() {
+        assertThrows(ResourceNotFoundException.class, () -> coalescedor.ejecutar("producto:9", () -> {
+            throw new ResourceNotFoundException("Producto", "id", 9L);
+        }));
+
+        assertEquals("ok", coalescedor.ejecutar("producto:9", () -> "ok"));
+        assertEquals(0, coalescedor.enCurso());
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
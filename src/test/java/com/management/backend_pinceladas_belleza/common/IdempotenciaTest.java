@@ -0,0 +1,149 @@
+package com.management.backend_pinceladas_belleza.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+import com.management.backend_pinceladas_belleza.exception.DuplicateResourceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - Idempotencia")
+class IdempotenciaTest {
+
+    private static final String ALCANCE = "POST /pedidos";
+
+    @Mock
+    private IdempotenciaRepository idempotenciaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private Idempotencia idempotencia;
+
+    private final AtomicInteger ejecuciones = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencia = new Idempotencia(idempotenciaRepository, new ObjectMapper(), transactionManager, 100, 24);
+        ReflectionTestUtils.setField(idempotencia, "segundosEnCurso", 60);
+    }
+
+    @Test
+    @DisplayName("Debe ejecutar una sola vez y devolver la respuesta guardada en los reintentos")
+    void testEjecutar_Reintento_NoDebeReejecutar() {
+        // ARRANGE
+        when(idempotenciaRepository.reservar(eq(ALCANCE), eq("clave-1"), anyString(), eq(60))).thenReturn(true);
+
+        // ACT
+        Respuesta primera = idempotencia.ejecutar("clave-1", ALCANCE, Map.of("cliente", "Ana"), Respuesta.class, this::crear);
+        Respuesta reintento = idempotencia.ejecutar("clave-1", ALCANCE, Map.of("cliente", "Ana"), Respuesta.class, this::crear);
+
+        // ASSERT
+        assertEquals(1, ejecuciones.get());
+        assertEquals(primera.getId(), reintento.getId());
+        verify(idempotenciaRepository, times(1)).reservar(any(), any(), any(), anyInt());
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(idempotenciaRepository).completar(eq(ALCANCE), eq("clave-1"), json.capture());
+        assertTrue(json.getValue().contains("\"id\":1"));
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir la respuesta desde la tabla cuando otra instancia ya la completó")
+    void testEjecutar_RespuestaEnTabla_DebeLeerla() {
+        // ARRANGE
+        ArgumentCaptor<String> huella = ArgumentCaptor.forClass(String.class);
+        when(idempotenciaRepository.reservar(eq(ALCANCE), eq("clave-1"), huella.capture(), anyInt())).thenReturn(false);
+        when(idempotenciaRepository.buscar(ALCANCE, "clave-1"))
+                .thenAnswer(inv -> Optional.of(new RespuestaIdempotente(huella.getValue(), "{\"id\":42}")));
+
+        // ACT
+        Respuesta resultado = idempotencia.ejecutar("clave-1", ALCANCE, Map.of("cliente", "Ana"), Respuesta.class, this::crear);
+
+        // ASSERT
+        assertEquals(42L, resultado.getId());
+        assertEquals(0, ejecuciones.get());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la misma clave con otra solicitud o mientras la original está en curso")
+    void testEjecutar_ClaveOcupada_DebeLanzarExcepcion() {
+        // ARRANGE
+        when(idempotenciaRepository.reservar(any(), any(), any(), anyInt())).thenReturn(false);
+        when(idempotenciaRepository.buscar(ALCANCE, "otra")).thenReturn(Optional.of(new RespuestaIdempotente("x", "{}")));
+        ArgumentCaptor<String> huella = ArgumentCaptor.forClass(String.class);
+        when(idempotenciaRepository.buscar(ALCANCE, "en-curso"))
+                .thenAnswer(inv -> Optional.of(new RespuestaIdempotente(huella.getValue(), null)));
+
+        // ACT & ASSERT
+        assertThrows(BadRequestException.class,
+                () -> idempotencia.ejecutar("otra", ALCANCE, Map.of("cliente", "Ana"), Respuesta.class, this::crear));
+        verify(idempotenciaRepository).reservar(eq(ALCANCE), eq("otra"), huella.capture(), anyInt());
+        assertThrows(DuplicateResourceException.class,
+                () -> idempotencia.ejecutar("en-curso", ALCANCE, Map.of("cliente", "Ana"), Respuesta.class, this::crear));
+        assertEquals(0, ejecuciones.get());
+    }
+
+    @Test
+    @DisplayName("Debe liberar la reserva si la operación falla para permitir el reintento")
+    void testEjecutar_OperacionFalla_DebeLiberarReserva() {
+        // ARRANGE
+        when(idempotenciaRepository.reservar(any(), any(), any(), anyInt())).thenReturn(true);
+
+        // ACT & ASSERT
+        assertThrows(BadRequestException.class, () -> idempotencia.ejecutar("clave-1", ALCANCE, Map.of(), Respuesta.class,
+                () -> { throw new BadRequestException("El pedido debe tener al menos una línea"); }));
+        verify(idempotenciaRepository).liberar(ALCANCE, "clave-1");
+        verify(idempotenciaRepository, never()).completar(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Sin clave debe ejecutar siempre sin tocar la tabla")
+    void testEjecutar_SinClave_DebeEjecutarSiempre() {
+        idempotencia.ejecutar(null, ALCANCE, Map.of(), Respuesta.class, this::crear);
+        idempotencia.ejecutar(null, ALCANCE, Map.of(), Respuesta.class, this::crear);
+
+        assertEquals(2, ejecuciones.get());
+        verifyNoInteractions(idempotenciaRepository, transactionManager);
+    }
+
+    private Respuesta crear() {
+        return new Respuesta((long) ejecuciones.incrementAndGet());
+    }
+
+    static class Respuesta {
+        private Long id;
+
+        Respuesta() {
+        }
+
+        Respuesta(Long id) {
+            this.id = id;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.management.backend_pinceladas_belleza.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas Unitarias - MapaLongInt")
+class MapaLongIntTest {
+
+    @Test
+    @DisplayName("Debe guardar, sumar y quitar valores; un valor 0 quita la clave")
+    void testOperacionesBasicas() {
+        MapaLongInt mapa = new MapaLongInt();
+
+        assertEquals(0, mapa.put(7L, 2));
+        assertEquals(5, mapa.sumar(7L, 3));
+        assertEquals(1, mapa.sumar(9L, 1));
+        assertEquals(2, mapa.size());
+
+        assertEquals(0, mapa.sumar(9L, -4));
+        assertFalse(mapa.contiene(9L));
+        assertEquals(5, mapa.put(7L, 0));
+        assertTrue(mapa.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> mapa.put(0L, 1));
+    }
+
+    @Test
+    @DisplayName("Debe coincidir con un HashMap tras muchas altas y bajas con crecimiento")
+    void testOperacionesAleatorias_DebeCoincidirConHashMap() {
+        // ARRANGE
+        MapaLongInt mapa = new MapaLongInt();
+        Map<Long, Integer> esperado = new HashMap<>();
+        Random aleatorio = new Random(42);
+
+        // ACT: claves en un rango chico para forzar colisiones y borrados en medio de cadenas
+        for (int i = 0; i < 20_000; i++) {
+            long clave = 1 + aleatorio.nextInt(300);
+            if (aleatorio.nextInt(3) == 0) {
+                mapa.remove(clave);
+                esperado.remove(clave);
+            } else {
+                int valor = 1 + aleatorio.nextInt(50);
+                mapa.put(clave, valor);
+                esperado.put(clave, valor);
+            }
+        }
+
+        // ASSERT
+        assertEquals(esperado.size(), mapa.size());
+        for (long clave = 1; clave <= 300; clave++) {
+            assertEquals(esperado.getOrDefault(clave, 0), mapa.get(clave), "clave " + clave);
+        }
+        Map<Long, Integer> recorrido = new HashMap<>();
+        mapa.forEach(recorrido::put);
+        assertEquals(esperado, recorrido);
+    }
+}
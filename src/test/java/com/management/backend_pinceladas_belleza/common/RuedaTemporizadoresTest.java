@@ -0,0 +1,77 @@
+package com.management.backend_pinceladas_belleza.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas Unitarias - RuedaTemporizadores")
+class RuedaTemporizadoresTest {
+
+    @Test
+    @DisplayName("Debe devolver cada clave una sola vez al alcanzar su vencimiento, nunca antes")
+    void testAvanzar_DebeRespetarVencimientos() {
+        // ARRANGE
+        RuedaTemporizadores<String> rueda = new RuedaTemporizadores<>(8, 1000, 0);
+        rueda.programar("a", 2500);
+        rueda.programar("b", 4000);
+
+        // ACT & ASSERT
+        assertTrue(rueda.avanzar(2999).isEmpty());
+        assertEquals(List.of("a"), rueda.avanzar(3000));
+        assertEquals(List.of("b"), rueda.avanzar(4000));
+        assertTrue(rueda.avanzar(10_000).isEmpty());
+        assertEquals(0, rueda.pendientes());
+    }
+
+    @Test
+    @DisplayName("Debe conservar las claves que vencen en una vuelta posterior de la rueda")
+    void testAvanzar_VencimientoMasAllaDeUnaVuelta_DebeEsperar() {
+        // ARRANGE: 4 ranuras de 1 s; "lejana" cae en la misma ranura que el tic 2
+        RuedaTemporizadores<String> rueda = new RuedaTemporizadores<>(4, 1000, 0);
+        rueda.programar("cercana", 2000);
+        rueda.programar("lejana", 6000);
+
+        // ACT & ASSERT
+        assertEquals(List.of("cercana"), rueda.avanzar(2000));
+        assertTrue(rueda.avanzar(5000).isEmpty());
+        assertEquals(List.of("lejana"), rueda.avanzar(6000));
+    }
+
+    @Test
+    @DisplayName("Debe ignorar las claves canceladas o reprogramadas")
+    void testCancelarYReprogramar() {
+        // ARRANGE
+        RuedaTemporizadores<String> rueda = new RuedaTemporizadores<>(8, 1000, 0);
+        rueda.programar("cancelada", 1000);
+        rueda.programar("movida", 1000);
+
+        // ACT
+        assertTrue(rueda.cancelar("cancelada"));
+        rueda.programar("movida", 3000);
+
+        // ASSERT
+        assertTrue(rueda.avanzar(2000).isEmpty());
+        assertEquals(List.of("movida"), rueda.avanzar(3000));
+        assertFalse(rueda.cancelar("movida"));
+    }
+
+    @Test
+    @DisplayName("Debe devolver todas las vencidas tras una pausa más larga que una vuelta")
+    void testAvanzar_PausaLarga_DebeDevolverTodas() {
+        // ARRANGE
+        RuedaTemporizadores<Integer> rueda = new RuedaTemporizadores<>(4, 1000, 0);
+        for (int i = 1; i <= 10; i++) {
+            rueda.programar(i, i * 1000L);
+        }
+
+        // ACT
+        List<Integer> vencidas = rueda.avanzar(60_000);
+
+        // ASSERT
+        assertEquals(10, vencidas.size());
+        assertEquals(0, rueda.pendientes());
+    }
+}
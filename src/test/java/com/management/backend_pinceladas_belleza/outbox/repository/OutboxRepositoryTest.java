@@ -0,0 +1,135 @@
+package com.management.backend_pinceladas_belleza.outbox.repository;
+
+import com.management.backend_pinceladas_belleza.outbox.dto.EventoOutbox;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sentencias de OutboxRepository contra un Postgres real: SKIP LOCKED, make_interval y
+ * UPDATE ... RETURNING no existen en H2. Se omite si no hay Docker disponible.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Pruebas de Integración - OutboxRepository")
+class OutboxRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static DriverManagerDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    private OutboxRepository outboxRepository;
+
+    @BeforeAll
+    static void crearTabla() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS pinceladasdb");
+        new ResourceDatabasePopulator(new ClassPathResource("db/scripts/013_outbox.sql")).execute(dataSource);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE pinceladasdb.outbox RESTART IDENTITY");
+        outboxRepository = new OutboxRepository(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Debe tomar los eventos en orden de id y reservarlos hasta que venza la reserva")
+    void testTomar_DebeReservarEventos() {
+        // ARRANGE
+        insertar(3);
+
+        // ACT
+        List<EventoOutbox> primero = outboxRepository.tomar(2, 60);
+        List<EventoOutbox> segundo = outboxRepository.tomar(10, 60);
+        outboxRepository.eliminar(ids(primero));
+
+        // ASSERT
+        assertEquals(List.of(1L, 2L), ids(primero));
+        assertEquals(1, primero.get(0).getIntentos());
+        assertEquals(EventoOutbox.STOCK_DESCONTADO, primero.get(0).getTipo());
+        assertEquals(List.of(3L), ids(segundo));
+        assertEquals(1, contar());
+    }
+
+    @Test
+    @Timeout(10)
+    @DisplayName("Debe saltear las filas bloqueadas por otra instancia sin esperarlas")
+    void testTomar_FilaBloqueada_DebeSaltearla() throws Exception {
+        // ARRANGE
+        insertar(2);
+
+        try (Connection otraInstancia = dataSource.getConnection()) {
+            otraInstancia.setAutoCommit(false);
+            try (Statement sentencia = otraInstancia.createStatement()) {
+                sentencia.executeQuery("SELECT id FROM pinceladasdb.outbox WHERE id = 1 FOR UPDATE");
+
+                // ACT
+                List<EventoOutbox> tomados = outboxRepository.tomar(10, 60);
+
+                // ASSERT
+                assertEquals(List.of(2L), ids(tomados));
+            } finally {
+                otraInstancia.rollback();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debe reprogramar con espera exponencial acotada y guardar el error recortado")
+    void testReprogramar_DebeEsperarYGuardarError() {
+        // ARRANGE
+        insertar(2);
+        outboxRepository.tomar(10, 60);
+        jdbcTemplate.update("UPDATE pinceladasdb.outbox SET intentos = 20 WHERE id = 2");
+
+        // ACT
+        outboxRepository.reprogramar(Map.of(1L, "x".repeat(600), 2L, "SMTP no disponible"), 300);
+
+        // ASSERT
+        // intentos = 1: 2 segundos; intentos = 20: el tope de 300
+        assertEquals(2.0, espera(1L), 1.0);
+        assertEquals(300.0, espera(2L), 1.0);
+        assertEquals(500, jdbcTemplate.queryForObject(
+                "SELECT length(ultimo_error) FROM pinceladasdb.outbox WHERE id = 1", Integer.class));
+        assertTrue(outboxRepository.tomar(10, 60).isEmpty());
+    }
+
+    private void insertar(int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            outboxRepository.insertar(EventoOutbox.STOCK_DESCONTADO, "{\"productoIds\":[" + (i + 1) + "]}");
+        }
+    }
+
+    private double espera(Long id) {
+        return jdbcTemplate.queryForObject(
+                "SELECT EXTRACT(EPOCH FROM procesar_desde - now()) FROM pinceladasdb.outbox WHERE id = ?", Double.class, id);
+    }
+
+    private int contar() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM pinceladasdb.outbox", Integer.class);
+    }
+
+    private static List<Long> ids(List<EventoOutbox> eventos) {
+        return eventos.stream().map(EventoOutbox::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,85 @@
+package com.management.backend_pinceladas_belleza.outbox.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.backend_pinceladas_belleza.outbox.dto.EventoOutbox;
+import com.management.backend_pinceladas_belleza.outbox.repository.OutboxRepository;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.events.ProductosImportadosEvent;
+import com.management.backend_pinceladas_belleza.productos.events.StockAjustadoEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - PublicadorOutbox")
+class PublicadorOutboxTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    private PublicadorOutbox publicador;
+
+    @BeforeEach
+    void setUp() {
+        publicador = new PublicadorOutbox(outboxRepository, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    @DisplayName("Debe guardar el evento serializado dentro de la transacción activa")
+    void testRegistrar_ConTransaccion_DebeInsertar() {
+        // ARRANGE
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // ACT
+        publicador.alAjustarStock(new StockAjustadoEvent(List.of(3L, 5L), true));
+        publicador.alImportarProductos(new ProductosImportadosEvent(List.of(
+                ProductoResumenDto.builder().id(8L).nombre("Labial").build())));
+
+        // ASSERT
+        ArgumentCaptor<String> datos = ArgumentCaptor.forClass(String.class);
+        verify(outboxRepository).insertar(eq(EventoOutbox.STOCK_DESCONTADO), datos.capture());
+        assertEquals("{\"productoIds\":[3,5],\"descuento\":true}", datos.getValue());
+        verify(outboxRepository).insertar(eq(EventoOutbox.PRODUCTOS_IMPORTADOS), datos.capture());
+        assertTrue(datos.getValue().contains("\"id\":8"));
+    }
+
+    @Test
+    @DisplayName("Debe registrar las reposiciones con su propio tipo")
+    void testAlAjustarStock_Reposicion_DebeUsarTipoRepuesto() {
+        // ARRANGE
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // ACT
+        publicador.alAjustarStock(new StockAjustadoEvent(List.of(3L), false));
+
+        // ASSERT
+        verify(outboxRepository).insertar(eq(EventoOutbox.STOCK_REPUESTO), any());
+        verify(outboxRepository, never()).insertar(eq(EventoOutbox.STOCK_DESCONTADO), any());
+    }
+
+    @Test
+    @DisplayName("Debe fallar si el evento se publica fuera de una transacción")
+    void testRegistrar_SinTransaccion_DebeLanzarExcepcion() {
+        assertThrows(IllegalStateException.class,
+                () -> publicador.alAjustarStock(new StockAjustadoEvent(List.of(3L), true)));
+        verify(outboxRepository, never()).insertar(any(), any());
+    }
+}
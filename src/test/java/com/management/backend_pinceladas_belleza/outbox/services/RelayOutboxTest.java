@@ -0,0 +1,122 @@
+package com.management.backend_pinceladas_belleza.outbox.services;
+
+import com.management.backend_pinceladas_belleza.outbox.dto.EventoOutbox;
+import com.management.backend_pinceladas_belleza.outbox.interfaces.ConsumidorOutbox;
+import com.management.backend_pinceladas_belleza.outbox.repository.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - RelayOutbox")
+class RelayOutboxTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private ObjectProvider<ConsumidorOutbox> consumidores;
+
+    @Mock
+    private ConsumidorOutbox reportes;
+
+    @Mock
+    private ConsumidorOutbox correos;
+
+    @InjectMocks
+    private RelayOutbox relay;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(relay, "tamanoLote", 2);
+        ReflectionTestUtils.setField(relay, "maximoLotes", 5);
+        ReflectionTestUtils.setField(relay, "segundosReserva", 60);
+        ReflectionTestUtils.setField(relay, "segundosEsperaMaxima", 300);
+    }
+
+    @Test
+    @DisplayName("Debe borrar los eventos entregados y reprogramar solo los del consumidor que falló")
+    @SuppressWarnings("unchecked")
+    void testDrenar_ConsumidorFalla_DebeReprogramarSusEventos() {
+        // ARRANGE
+        when(consumidores.orderedStream()).thenReturn(Stream.of(reportes, correos));
+        when(outboxRepository.tomar(2, 60)).thenReturn(List.of(
+                evento(1L, EventoOutbox.STOCK_DESCONTADO),
+                evento(2L, EventoOutbox.PEDIDO_CREADO)));
+        when(reportes.acepta(any())).thenReturn(true);
+        when(correos.acepta(any())).thenAnswer(inv -> EventoOutbox.PEDIDO_CREADO.equals(inv.getArgument(0)));
+        doThrow(new IllegalStateException("SMTP no disponible")).when(correos).consumir(any());
+
+        // ACT
+        relay.drenar();
+
+        // ASSERT
+        ArgumentCaptor<List<EventoOutbox>> entregados = ArgumentCaptor.forClass(List.class);
+        verify(reportes, times(1)).consumir(entregados.capture());
+        assertEquals(2, entregados.getValue().size());
+
+        ArgumentCaptor<Collection<Long>> eliminados = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxRepository, times(1)).eliminar(eliminados.capture());
+        assertEquals(List.of(1L), List.copyOf(eliminados.getValue()));
+
+        ArgumentCaptor<Map<Long, String>> errores = ArgumentCaptor.forClass(Map.class);
+        verify(outboxRepository, times(1)).reprogramar(errores.capture(), eq(300));
+        assertEquals(1, errores.getValue().size());
+        assertTrue(errores.getValue().get(2L).contains("SMTP no disponible"));
+    }
+
+    @Test
+    @DisplayName("Debe seguir tomando lotes mientras vengan completos")
+    void testDrenar_LotesCompletos_DebeContinuarHastaVaciar() {
+        // ARRANGE
+        when(consumidores.orderedStream()).thenReturn(Stream.of(reportes));
+        when(outboxRepository.tomar(2, 60)).thenReturn(
+                List.of(evento(1L, EventoOutbox.STOCK_DESCONTADO), evento(2L, EventoOutbox.STOCK_DESCONTADO)),
+                List.of(evento(3L, EventoOutbox.STOCK_DESCONTADO)));
+        when(reportes.acepta(any())).thenReturn(true);
+
+        // ACT
+        relay.drenar();
+
+        // ASSERT
+        verify(outboxRepository, times(2)).tomar(2, 60);
+        verify(reportes, times(2)).consumir(any());
+        verify(outboxRepository, times(2)).eliminar(any());
+        verify(outboxRepository, never()).reprogramar(anyMap(), anyInt());
+    }
+
+    @Test
+    @DisplayName("No debe fallar si la base no está disponible al tomar eventos")
+    void testDrenar_ErrorDeBase_NoDebeEntregar() {
+        // ARRANGE
+        when(consumidores.orderedStream()).thenReturn(Stream.of(reportes));
+        when(outboxRepository.tomar(2, 60)).thenThrow(new QueryTimeoutException("timeout"));
+
+        // ACT & ASSERT
+        assertDoesNotThrow(() -> relay.drenar());
+        verify(reportes, never()).consumir(any());
+    }
+
+    private static EventoOutbox evento(Long id, String tipo) {
+        return EventoOutbox.builder().id(id).tipo(tipo).datos("{}").intentos(1).build();
+    }
+}
@@ -0,0 +1,207 @@
+package com.management.backend_pinceladas_belleza.pedidos.services;
+
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+import com.management.backend_pinceladas_belleza.exception.ResourceNotFoundException;
+import com.management.backend_pinceladas_belleza.exception.StockInsuficienteException;
+import com.management.backend_pinceladas_belleza.pedidos.dto.CrearPedidoDto;
+import com.management.backend_pinceladas_belleza.pedidos.dto.LineaPedidoDto;
+import com.management.backend_pinceladas_belleza.pedidos.dto.PedidoDto;
+import com.management.backend_pinceladas_belleza.pedidos.entity.EstadoPedido;
+import com.management.backend_pinceladas_belleza.pedidos.entity.Pedido;
+import com.management.backend_pinceladas_belleza.pedidos.events.PedidoCreadoEvent;
+import com.management.backend_pinceladas_belleza.pedidos.repository.PedidosRepository;
+import com.management.backend_pinceladas_belleza.productos.dto.AjusteStockDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.entity.Productos;
+import com.management.backend_pinceladas_belleza.productos.interfaces.IStockProductos;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import com.management.backend_pinceladas_belleza.reservas.interfaces.IReservas;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - PedidoService")
+class PedidoServiceTest {
+
+    @Mock
+    private PedidosRepository pedidosRepository;
+
+    @Mock
+    private ProductosRepository productosRepository;
+
+    @Mock
+    private IStockProductos stockProductos;
+
+    @Mock
+    private IReservas reservas;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PedidoService pedidoService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(pedidoService, "tamanoPaginaDefecto", 20);
+        ReflectionTestUtils.setField(pedidoService, "tamanoPaginaMaximo", 100);
+        ReflectionTestUtils.setField(pedidoService, "maximoLineas", 200);
+    }
+
+    @Test
+    @DisplayName("Debe crear el pedido con un solo descuento de stock por producto y guardar cabecera y líneas juntas")
+    void testCrear_LineasRepetidas_DebeConsolidarYGuardar() {
+        // ARRANGE
+        when(productosRepository.findResumenByIdIn(any())).thenReturn(List.of(
+                resumen(1L, "Labial Rojo", "25000.00"),
+                resumen(2L, "Rubor", "18000.00")));
+        when(productosRepository.getReferenceById(anyLong()))
+                .thenAnswer(inv -> Productos.builder().id(inv.getArgument(0)).build());
+        when(pedidosRepository.save(any(Pedido.class))).thenAnswer(inv -> inv.getArgument(0));
+        CrearPedidoDto datos = CrearPedidoDto.builder()
+                .cliente("Cliente Test")
+                .lineas(List.of(linea(1L, 2), linea(2L, 1), linea(1L, 1)))
+                .build();
+
+        // ACT
+        PedidoDto resultado = pedidoService.crear(datos);
+
+        // ASSERT
+        ArgumentCaptor<AjusteStockDto> ajuste = ArgumentCaptor.forClass(AjusteStockDto.class);
+        verify(stockProductos, times(1)).descontar(ajuste.capture());
+        assertEquals(2, ajuste.getValue().getLineas().size());
+        assertEquals(3, ajuste.getValue().getLineas().get(0).getCantidad());
+
+        ArgumentCaptor<Pedido> pedido = ArgumentCaptor.forClass(Pedido.class);
+        verify(pedidosRepository, times(1)).save(pedido.capture());
+        assertEquals(2, pedido.getValue().getLineas().size());
+        assertSame(pedido.getValue(), pedido.getValue().getLineas().get(0).getPedido());
+
+        assertEquals(EstadoPedido.PENDIENTE, resultado.getEstado());
+        assertEquals(0, new BigDecimal("93000.00").compareTo(resultado.getTotal()));
+        assertEquals("Labial Rojo", resultado.getLineas().get(0).getProductoNombre());
+
+        ArgumentCaptor<PedidoCreadoEvent> evento = ArgumentCaptor.forClass(PedidoCreadoEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(evento.capture());
+        assertEquals(List.of(1L, 2L), evento.getValue().getProductoIds());
+        assertEquals(0, new BigDecimal("93000.00").compareTo(evento.getValue().getTotal()));
+    }
+
+    @Test
+    @DisplayName("Debe consumir la reserva del carrito con las líneas del pedido antes de descontar el stock")
+    void testCrear_ConReserva_DebeLiberarAntesDeDescontar() {
+        // ARRANGE
+        UUID reservaId = UUID.randomUUID();
+        when(productosRepository.findResumenByIdIn(any())).thenReturn(List.of(resumen(1L, "Labial Rojo", "25000.00")));
+        when(pedidosRepository.save(any(Pedido.class))).thenAnswer(inv -> inv.getArgument(0));
+        CrearPedidoDto datos = CrearPedidoDto.builder()
+                .cliente("Cliente Test")
+                .reservaId(reservaId)
+                .lineas(List.of(linea(1L, 2)))
+                .build();
+
+        // ACT
+        pedidoService.crear(datos);
+
+        // ASSERT
+        InOrder orden = inOrder(reservas, stockProductos);
+        orden.verify(reservas).consumir(reservaId, Map.of(1L, 2));
+        orden.verify(stockProductos).descontar(any());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar el pedido sin descontar stock si la reserva es de otros productos")
+    void testCrear_ReservaDeOtrosProductos_DebeLanzarExcepcion() {
+        // ARRANGE
+        UUID reservaId = UUID.randomUUID();
+        when(productosRepository.findResumenByIdIn(any())).thenReturn(List.of(resumen(1L, "Labial Rojo", "25000.00")));
+        doThrow(new BadRequestException("La reserva no corresponde a las líneas del pedido"))
+                .when(reservas).consumir(eq(reservaId), any());
+        CrearPedidoDto datos = CrearPedidoDto.builder()
+                .cliente("Cliente Test")
+                .reservaId(reservaId)
+                .lineas(List.of(linea(1L, 2)))
+                .build();
+
+        // ACT & ASSERT
+        assertThrows(BadRequestException.class, () -> pedidoService.crear(datos));
+        verifyNoInteractions(stockProductos, pedidosRepository);
+    }
+
+    @Test
+    @DisplayName("Debe lanzar ResourceNotFoundException sin tocar el stock si un producto no existe")
+    void testCrear_ProductoInexistente_DebeLanzarExcepcion() {
+        // ARRANGE
+        when(productosRepository.findResumenByIdIn(any())).thenReturn(List.of(resumen(1L, "Labial Rojo", "25000.00")));
+        CrearPedidoDto datos = CrearPedidoDto.builder()
+                .cliente("Cliente Test")
+                .lineas(List.of(linea(1L, 1), linea(99L, 1)))
+                .build();
+
+        // ACT & ASSERT
+        assertThrows(ResourceNotFoundException.class, () -> pedidoService.crear(datos));
+        verify(stockProductos, never()).descontar(any());
+        verify(pedidosRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("No debe guardar el pedido si falta stock de algún producto")
+    void testCrear_StockInsuficiente_NoDebeGuardar() {
+        // ARRANGE
+        when(productosRepository.findResumenByIdIn(any())).thenReturn(List.of(resumen(1L, "Labial Rojo", "25000.00")));
+        doThrow(new StockInsuficienteException(1L, 5)).when(stockProductos).descontar(any());
+        CrearPedidoDto datos = CrearPedidoDto.builder()
+                .cliente("Cliente Test")
+                .lineas(List.of(linea(1L, 5)))
+                .build();
+
+        // ACT & ASSERT
+        assertThrows(StockInsuficienteException.class, () -> pedidoService.crear(datos));
+        verify(pedidosRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Debe lanzar BadRequestException si el pedido no tiene líneas o una cantidad es inválida")
+    void testCrear_LineasInvalidas_DebeLanzarExcepcion() {
+        assertThrows(BadRequestException.class, () -> pedidoService.crear(
+                CrearPedidoDto.builder().cliente("Cliente Test").lineas(List.of()).build()));
+        assertThrows(BadRequestException.class, () -> pedidoService.crear(
+                CrearPedidoDto.builder().cliente("Cliente Test").lineas(List.of(linea(1L, 0))).build()));
+        verifyNoInteractions(productosRepository, stockProductos, pedidosRepository, reservas);
+    }
+
+    @Test
+    @DisplayName("Debe lanzar BadRequestException con un tamaño de página fuera de rango")
+    void testListar_TamanoInvalido_DebeLanzarExcepcion() {
+        assertThrows(BadRequestException.class, () -> pedidoService.listar(null, 0, 500));
+        verify(pedidosRepository, never()).listar(any(), any());
+    }
+
+    private static LineaPedidoDto linea(Long productoId, int cantidad) {
+        return LineaPedidoDto.builder().productoId(productoId).cantidad(cantidad).build();
+    }
+
+    private static ProductoResumenDto resumen(Long id, String nombre, String precio) {
+        return ProductoResumenDto.builder().id(id).nombre(nombre).precio(new BigDecimal(precio)).build();
+    }
+}
@@ -1,9 +1,18 @@
 package com.management.backend_pinceladas_belleza.productos.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.backend_pinceladas_belleza.catalogo.dto.MarcaCatalogo;
+import com.management.backend_pinceladas_belleza.catalogo.services.CatalogoVersionService;
+import com.management.backend_pinceladas_belleza.common.Idempotencia;
+import com.management.backend_pinceladas_belleza.productos.dto.CatalogoSerializado;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
 import com.management.backend_pinceladas_belleza.productos.dto.ProductosDto;
 import com.management.backend_pinceladas_belleza.productos.entity.Productos;
 import com.management.backend_pinceladas_belleza.productos.interfaces.IProductos;
+import com.management.backend_pinceladas_belleza.productos.interfaces.IStockProductos;
+import com.management.backend_pinceladas_belleza.productos.services.ExportadorProductos;
+import com.management.backend_pinceladas_belleza.productos.services.ImportadorProductos;
+import com.management.backend_pinceladas_belleza.productos.services.SnapshotCatalogo;
 import com.management.backend_pinceladas_belleza.exception.ResourceNotFoundException;
 import com.management.backend_pinceladas_belleza.exception.BadRequestException;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,11 +27,18 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -50,7 +66,26 @@ class ProductosControllerTest {
     @MockBean
     private IProductos productosService;
 
+    @MockBean
+    private IStockProductos stockProductos;
+
+    @MockBean
+    private CatalogoVersionService catalogoVersionService;
+
+    @MockBean
+    private ExportadorProductos exportadorProductos;
+
+    @MockBean
+    private ImportadorProductos importadorProductos;
+
+    @MockBean
+    private SnapshotCatalogo snapshotCatalogo;
+
+    @MockBean
+    private Idempotencia idempotencia;
+
     private Productos producto;
+    private ProductoResumenDto productoResumen;
     private ProductosDto productoDto;
 
     @BeforeEach
@@ -63,6 +98,16 @@ class ProductosControllerTest {
                 .cantidadStock(100)
                 .build();
 
+        productoResumen = ProductoResumenDto.builder()
+                .id(1L)
+                .nombre("Labial Rojo")
+                .descripcion("Labial de larga duración")
+                .precio(new BigDecimal("25.50"))
+                .cantidadStock(100)
+                .categoriaId(1L)
+                .categoriaNombre("Maquillaje")
+                .build();
+
         productoDto = ProductosDto.builder()
                 .nombre("Labial Rojo")
                 .descripcion("Labial de larga duración")
@@ -71,6 +116,10 @@ class ProductosControllerTest {
                 .categoriaId(1L)
                 .proveedorId(1L)
                 .build();
+
+        // Sin respuesta guardada: la operación se ejecuta normalmente
+        when(idempotencia.ejecutar(any(), any(), any(), any(), any()))
+                .thenAnswer(inv -> ((Supplier<?>) inv.getArgument(4)).get());
     }
 
     /**
@@ -81,8 +130,8 @@ class ProductosControllerTest {
     @DisplayName("GET /productos - Debe retornar lista de productos con status 200")
     void testGetAll_DebeRetornarListaDeProductos() throws Exception {
         // ARRANGE
-        List<Productos> productos = Arrays.asList(producto);
-        when(productosService.getAll()).thenReturn(productos);
+        List<ProductoResumenDto> productos = Arrays.asList(productoResumen);
+        when(productosService.getAllResumen()).thenReturn(productos);
 
         // ACT & ASSERT
         mockMvc.perform(get("/productos")
@@ -90,7 +139,8 @@ class ProductosControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].nombre", is("Labial Rojo")))
-                .andExpect(jsonPath("$[0].precio", is(25.50)));
+                .andExpect(jsonPath("$[0].precio", is(25.50)))
+                .andExpect(jsonPath("$[0].categoriaNombre", is("Maquillaje")));
     }
 
     /**
@@ -101,7 +151,7 @@ class ProductosControllerTest {
     @DisplayName("GET /productos/{id} - Debe retornar producto cuando existe")
     void testGetById_CuandoExiste_DebeRetornarProducto() throws Exception {
         // ARRANGE
-        when(productosService.getById(1L)).thenReturn(producto);
+        when(productosService.getResumenById(1L)).thenReturn(productoResumen);
 
         // ACT & ASSERT
         mockMvc.perform(get("/productos/{id}", 1L)
@@ -120,7 +170,7 @@ class ProductosControllerTest {
     @DisplayName("GET /productos/{id} - Debe retornar 404 cuando no existe")
     void testGetById_CuandoNoExiste_DebeRetornar404() throws Exception {
         // ARRANGE
-        when(productosService.getById(999L))
+        when(productosService.getResumenById(999L))
                 .thenThrow(new ResourceNotFoundException("Producto", "id", 999L));
 
         // ACT & ASSERT
@@ -236,7 +286,7 @@ class ProductosControllerTest {
     @DisplayName("Debe retornar formato de error estándar")
     void testErrorResponse_DebeRetornarFormatoEstandar() throws Exception {
         // ARRANGE
-        when(productosService.getById(999L))
+        when(productosService.getResumenById(999L))
                 .thenThrow(new ResourceNotFoundException("Producto", "id", 999L));
 
         // ACT & ASSERT
@@ -249,4 +299,78 @@ class ProductosControllerTest {
                 .andExpect(jsonPath("$.message").exists())
                 .andExpect(jsonPath("$.path").exists());
     }
+
+    /**
+     * PRUEBA 10: Exportación con formato no soportado
+     */
+    @Test
+    @WithMockUser
+    @DisplayName("GET /productos/export - Debe retornar 400 con un formato no soportado")
+    void testExportar_FormatoInvalido() throws Exception {
+        mockMvc.perform(get("/productos/export").param("formato", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * PRUEBA 11: GET condicional con el ETag vigente
+     */
+    @Test
+    @WithMockUser
+    @DisplayName("GET /productos - Debe retornar 304 sin consultar el servicio cuando el ETag coincide")
+    void testGetAll_EtagVigente_DebeRetornar304() throws Exception {
+        // ARRANGE
+        MarcaCatalogo marca = new MarcaCatalogo(42L);
+        when(catalogoVersionService.actual()).thenReturn(marca);
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/productos").header("If-None-Match", marca.getEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", marca.getEtag()))
+                .andExpect(header().doesNotExist("Last-Modified"));
+        verifyNoInteractions(productosService);
+    }
+
+    /**
+     * PRUEBA 12: GET /productos servido desde el snapshot pre-serializado
+     */
+    @Test
+    @WithMockUser
+    @DisplayName("GET /productos - Debe escribir los bytes del snapshot sin consultar el servicio")
+    void testGetAll_ConSnapshot_DebeServirBytes() throws Exception {
+        // ARRANGE
+        MarcaCatalogo marca = new MarcaCatalogo(7L);
+        byte[] json = "[{\"id\":1,\"nombre\":\"Labial Rojo\"}]".getBytes(StandardCharsets.UTF_8);
+        when(catalogoVersionService.actual()).thenReturn(marca);
+        when(snapshotCatalogo.vigente(marca)).thenReturn(new CatalogoSerializado(7L, json, new byte[0]));
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/productos"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].nombre", is("Labial Rojo")));
+        verifyNoInteractions(productosService);
+    }
+
+    /**
+     * PRUEBA 13: POST /productos/create - Reintento con Idempotency-Key
+     */
+    @Test
+    @WithMockUser
+    @DisplayName("POST /productos/create - Debe devolver la respuesta guardada para una clave ya usada")
+    void testCreate_ConClaveRepetida_DebeDevolverRespuestaGuardada() throws Exception {
+        // ARRANGE
+        when(idempotencia.ejecutar(eq("intento-1"), eq("POST /productos/create"), any(), eq(Productos.class), any()))
+                .thenReturn(producto);
+
+        // ACT & ASSERT
+        mockMvc.perform(post("/productos/create")
+                .with(csrf())
+                .header("Idempotency-Key", "intento-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productoDto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(1)));
+        verify(productosService, never()).createProducto(any());
+        verify(idempotencia, never()).ejecutar(isNull(), any(), any(), any(), any());
+    }
 }
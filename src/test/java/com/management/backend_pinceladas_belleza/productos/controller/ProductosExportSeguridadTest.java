@@ -0,0 +1,129 @@
+package com.management.backend_pinceladas_belleza.productos.controller;
+
+import com.management.backend_pinceladas_belleza.auth.entity.Usuario;
+import com.management.backend_pinceladas_belleza.auth.repository.UserRepository;
+import com.management.backend_pinceladas_belleza.catalogo.services.CatalogoVersionService;
+import com.management.backend_pinceladas_belleza.common.Idempotencia;
+import com.management.backend_pinceladas_belleza.config.ApplicationConfiguration;
+import com.management.backend_pinceladas_belleza.config.SecurityConfiguration;
+import com.management.backend_pinceladas_belleza.config.jwt.JwtAuthenticationFilter;
+import com.management.backend_pinceladas_belleza.config.jwt.JwtService;
+import com.management.backend_pinceladas_belleza.productos.interfaces.IProductos;
+import com.management.backend_pinceladas_belleza.productos.interfaces.IStockProductos;
+import com.management.backend_pinceladas_belleza.productos.services.ExportadorProductos;
+import com.management.backend_pinceladas_belleza.productos.services.ImportadorProductos;
+import com.management.backend_pinceladas_belleza.productos.services.SnapshotCatalogo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A diferencia de ProductosControllerTest, aquí los filtros de seguridad están activos: el token
+ * es un JWT real y las autoridades salen del UserDetailsService de la aplicación, que es lo que
+ * decide el hasRole(ADMIN) de la exportación.
+ */
+@WebMvcTest(ProductosController.class)
+@Import({
+        SecurityConfiguration.class,
+        ApplicationConfiguration.class,
+        JwtAuthenticationFilter.class,
+        JwtService.class
+})
+@TestPropertySource(properties = {
+        "jwt.secret=rGFv2rHb8nQxTzLDN4UwPZoVbHzLkq3JD9gTMBYMGzQ=",
+        "jwt.expiration=60000"
+})
+@DisplayName("Pruebas de Integración - Seguridad de la exportación de productos")
+class ProductosExportSeguridadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private IProductos productosService;
+
+    @MockBean
+    private IStockProductos stockProductos;
+
+    @MockBean
+    private CatalogoVersionService catalogoVersionService;
+
+    @MockBean
+    private ExportadorProductos exportadorProductos;
+
+    @MockBean
+    private ImportadorProductos importadorProductos;
+
+    @MockBean
+    private SnapshotCatalogo snapshotCatalogo;
+
+    @MockBean
+    private Idempotencia idempotencia;
+
+    @BeforeEach
+    void setUp() {
+        when(exportadorProductos.preparar(any())).thenReturn(mock(ExportadorProductos.Exportacion.class));
+    }
+
+    @Test
+    @DisplayName("GET /productos/export - Debe permitir la exportación con un token de ADMIN")
+    void testExportar_Admin_DebeRetornar200() throws Exception {
+        // ARRANGE
+        String token = tokenPara(usuario("admin", Usuario.ROL_ADMIN));
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/productos/export").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+        verify(exportadorProductos).preparar(any());
+    }
+
+    @Test
+    @DisplayName("GET /productos/export - Debe retornar 403 con un token sin rol ADMIN")
+    void testExportar_SinRolAdmin_DebeRetornar403() throws Exception {
+        // ARRANGE
+        String token = tokenPara(usuario("vendedor", "USER"));
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/productos/export").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+        verify(exportadorProductos, never()).preparar(any());
+    }
+
+    private String tokenPara(Usuario usuario) {
+        when(userRepository.findByUsername(usuario.getUsername())).thenReturn(Optional.of(usuario));
+        return jwtService.generateToken(usuario);
+    }
+
+    private static Usuario usuario(String username, String rol) {
+        return Usuario.builder()
+                .id(1L)
+                .username(username)
+                .password("$2a$10$hash")
+                .role(rol)
+                .status(1)
+                .build();
+    }
+}
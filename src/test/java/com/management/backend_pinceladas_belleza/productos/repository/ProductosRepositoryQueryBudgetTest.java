@@ -0,0 +1,141 @@
+package com.management.backend_pinceladas_belleza.productos.repository;
+
+import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.entity.Productos;
+import com.management.backend_pinceladas_belleza.proveedores.entity.Proveedor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Presupuesto de sentencias SQL por endpoint de lectura de productos.
+ *
+ * Cada consulta se ejecuta con el contexto de persistencia vacío y luego se recorren
+ * categoria y proveedor, como lo hace Jackson al serializar. Si alguna vuelve a cargar
+ * las relaciones con SELECTs adicionales (N+1), la prueba falla.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.hbm2ddl.auto=create-drop",
+        "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("Presupuesto de SQL - ProductosRepository")
+class ProductosRepositoryQueryBudgetTest {
+
+    private static final int PRODUCTOS = 12;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProductosRepository productosRepository;
+
+    private Statistics statistics;
+    private Long primerProductoId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < PRODUCTOS; i++) {
+            Categoria categoria = entityManager.persist(Categoria.builder()
+                    .nombreCategoria("Categoria " + i)
+                    .estado((short) 1)
+                    .build());
+            Proveedor proveedor = entityManager.persist(Proveedor.builder()
+                    .nombre("Proveedor " + i)
+                    .build());
+            Productos producto = entityManager.persist(Productos.builder()
+                    .nombre("Producto " + i)
+                    .precio(new BigDecimal("10.00"))
+                    .cantidadStock(5)
+                    .categoria(categoria)
+                    .proveedor(proveedor)
+                    .fechaCreacion(LocalDate.now().minusDays(i))
+                    .build());
+            if (primerProductoId == null) {
+                primerProductoId = producto.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("GET /productos - Debe usar una sola sentencia")
+    void testFindAll_DebeUsarUnaSentencia() {
+        assertPresupuesto(1, () -> productosRepository.findAll());
+    }
+
+    @Test
+    @DisplayName("GET /productos/{id} - Debe usar una sola sentencia")
+    void testFindById_DebeUsarUnaSentencia() {
+        assertPresupuesto(1, () -> List.of(productosRepository.findById(primerProductoId).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("GET /productos (vista resumida) - Debe usar una sola sentencia")
+    void testFindAllResumen_DebeUsarUnaSentencia() {
+        assertPresupuestoResumen(1, () -> productosRepository.findAllResumen());
+        assertPresupuestoResumen(1, () -> List.of(productosRepository.findResumenById(primerProductoId).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("GET /productos/page - Debe usar una sola sentencia por página")
+    void testPaginas_DebenUsarUnaSentencia() {
+        assertPresupuestoResumen(1, () -> productosRepository.findPrimeraPaginaRecientes(PageRequest.of(0, 5)));
+        assertPresupuestoResumen(1, () -> productosRepository.findPaginaAntiguos(LocalDate.now().minusDays(PRODUCTOS), 0L, PageRequest.of(0, 5)));
+        assertPresupuestoResumen(1, () -> productosRepository.findPaginaPorId(0L, PageRequest.of(0, 5)));
+    }
+
+    private void assertPresupuesto(long maximoSentencias, Supplier<List<Productos>> consulta) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<Productos> productos = consulta.get();
+        assertFalse(productos.isEmpty());
+        productos.forEach(producto -> {
+            assertNotNull(producto.getCategoria().getNombreCategoria());
+            assertNotNull(producto.getProveedor().getNombre());
+        });
+
+        assertSentencias(maximoSentencias);
+    }
+
+    private void assertPresupuestoResumen(long maximoSentencias, Supplier<List<ProductoResumenDto>> consulta) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<ProductoResumenDto> productos = consulta.get();
+        assertFalse(productos.isEmpty());
+        productos.forEach(producto -> {
+            assertNotNull(producto.getCategoriaNombre());
+            assertNotNull(producto.getProveedorNombre());
+        });
+
+        assertSentencias(maximoSentencias);
+    }
+
+    private void assertSentencias(long maximoSentencias) {
+        long sentencias = statistics.getPrepareStatementCount();
+        assertTrue(sentencias <= maximoSentencias,
+                "Se esperaban como máximo " + maximoSentencias + " sentencias SQL y se ejecutaron " + sentencias);
+    }
+}
@@ -0,0 +1,170 @@
+package com.management.backend_pinceladas_belleza.productos.services;
+
+import com.management.backend_pinceladas_belleza.catalogo.services.ReferenciasCache;
+import com.management.backend_pinceladas_belleza.categorias.dto.EstadisticaCategoriaDto;
+import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.dto.TotalesPorCategoria;
+import com.management.backend_pinceladas_belleza.productos.events.ProductoModificadoEvent;
+import com.management.backend_pinceladas_belleza.productos.events.ProductosImportadosEvent;
+import com.management.backend_pinceladas_belleza.productos.events.StockAjustadoEvent;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - EstadisticasCategorias")
+class EstadisticasCategoriasTest {
+
+    @Mock
+    private ProductosRepository productosRepository;
+
+    @Mock
+    private ReferenciasCache referencias;
+
+    @InjectMocks
+    private EstadisticasCategorias estadisticas;
+
+    @BeforeEach
+    void setUp() {
+        when(productosRepository.totalizarPorCategoria()).thenReturn(List.of(
+                totales(1L, 2L, 15L, new BigDecimal("150000.00"))));
+        lenient().when(referencias.getCategorias()).thenReturn(Arrays.asList(
+                Categoria.builder().id(1L).nombreCategoria("Maquillaje").build(),
+                Categoria.builder().id(2L).nombreCategoria("Uñas").build()));
+        estadisticas.recalcular();
+    }
+
+    @Test
+    @DisplayName("Debe incluir todas las categorías, también las que no tienen productos")
+    void testObtener_DebeIncluirCategoriasVacias() {
+        List<EstadisticaCategoriaDto> resultado = estadisticas.obtener();
+
+        assertEquals(2, resultado.size());
+        assertEquals(2L, resultado.get(0).getCantidadProductos());
+        assertEquals(15L, resultado.get(0).getUnidadesStock());
+        assertEquals(0, new BigDecimal("150000").compareTo(resultado.get(0).getValorInventario()));
+        assertEquals(0L, resultado.get(1).getCantidadProductos());
+        assertEquals(0, BigDecimal.ZERO.compareTo(resultado.get(1).getValorInventario()));
+    }
+
+    @Test
+    @DisplayName("Debe ajustar los totales con cada escritura de producto sin consultar la base")
+    void testAlModificarProducto_CambioDeCategoria_DebeMoverTotales() {
+        // ARRANGE
+        ProductoResumenDto anterior = producto(1L, "10000.00", 5);
+        ProductoResumenDto actual = producto(2L, "12000.00", 5);
+
+        // ACT
+        estadisticas.alModificarProducto(new ProductoModificadoEvent(anterior, actual));
+        List<EstadisticaCategoriaDto> resultado = estadisticas.obtener();
+
+        // ASSERT
+        assertEquals(1L, resultado.get(0).getCantidadProductos());
+        assertEquals(10L, resultado.get(0).getUnidadesStock());
+        assertEquals(0, new BigDecimal("100000").compareTo(resultado.get(0).getValorInventario()));
+        assertEquals(1L, resultado.get(1).getCantidadProductos());
+        assertEquals(0, new BigDecimal("60000").compareTo(resultado.get(1).getValorInventario()));
+        verify(productosRepository, times(1)).totalizarPorCategoria();
+    }
+
+    @Test
+    @DisplayName("Debe sumar todos los productos de un bloque importado")
+    void testAlImportarProductos_DebeSumarElBloque() {
+        // ACT
+        estadisticas.alImportarProductos(new ProductosImportadosEvent(List.of(
+                producto(2L, "1000.00", 3),
+                producto(2L, "2000.00", 1))));
+        List<EstadisticaCategoriaDto> resultado = estadisticas.obtener();
+
+        // ASSERT
+        assertEquals(2L, resultado.get(1).getCantidadProductos());
+        assertEquals(4L, resultado.get(1).getUnidadesStock());
+        assertEquals(0, new BigDecimal("5000").compareTo(resultado.get(1).getValorInventario()));
+    }
+
+    @Test
+    @DisplayName("Debe conservar los cambios recibidos mientras corre el recálculo")
+    void testRecalcular_CambioDuranteLaConsulta_NoDebePerderse() {
+        // ARRANGE: la escritura llega después de que la consulta tomó su snapshot
+        ProductoResumenDto nuevo = producto(2L, "1000.00", 4);
+        when(productosRepository.totalizarPorCategoria()).thenAnswer(invocation -> {
+            estadisticas.alModificarProducto(new ProductoModificadoEvent(null, nuevo));
+            return List.of(totales(1L, 2L, 15L, new BigDecimal("150000.00")));
+        });
+
+        // ACT
+        estadisticas.recalcular();
+        List<EstadisticaCategoriaDto> resultado = estadisticas.obtener();
+
+        // ASSERT
+        assertEquals(2L, resultado.get(0).getCantidadProductos());
+        assertEquals(1L, resultado.get(1).getCantidadProductos());
+        assertEquals(4L, resultado.get(1).getUnidadesStock());
+        assertEquals(0, new BigDecimal("4000").compareTo(resultado.get(1).getValorInventario()));
+
+        // Terminado el recálculo los cambios ya no se acumulan para el siguiente
+        reset(productosRepository);
+        when(productosRepository.totalizarPorCategoria()).thenReturn(List.of(
+                totales(1L, 2L, 15L, new BigDecimal("150000.00"))));
+        estadisticas.recalcular();
+        assertEquals(0L, estadisticas.obtener().get(1).getCantidadProductos());
+    }
+
+    @Test
+    @DisplayName("Debe agrupar varios ajustes de stock en un solo recálculo")
+    void testAlAjustarStock_DebeRecalcularUnaSolaVez() {
+        estadisticas.alAjustarStock(new StockAjustadoEvent(List.of(1L), true));
+        estadisticas.alAjustarStock(new StockAjustadoEvent(List.of(2L), true));
+
+        estadisticas.recalcularSiPendiente();
+        estadisticas.recalcularSiPendiente();
+
+        verify(productosRepository, times(2)).totalizarPorCategoria();
+    }
+
+    private static ProductoResumenDto producto(Long categoriaId, String precio, int stock) {
+        return ProductoResumenDto.builder()
+                .id(7L)
+                .categoriaId(categoriaId)
+                .precio(new BigDecimal(precio))
+                .cantidadStock(stock)
+                .build();
+    }
+
+    private static TotalesPorCategoria totales(Long id, Long cantidad, Long unidades, BigDecimal valor) {
+        return new TotalesPorCategoria() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getCantidad() {
+                return cantidad;
+            }
+
+            @Override
+            public Long getUnidades() {
+                return unidades;
+            }
+
+            @Override
+            public BigDecimal getValor() {
+                return valor;
+            }
+        };
+    }
+}
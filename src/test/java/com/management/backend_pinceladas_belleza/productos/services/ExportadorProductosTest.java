@@ -0,0 +1,142 @@
+package com.management.backend_pinceladas_belleza.productos.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.backend_pinceladas_belleza.exception.ServicioOcupadoException;
+import com.management.backend_pinceladas_belleza.productos.dto.FormatoExportacion;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - ExportadorProductos")
+class ExportadorProductosTest {
+
+    @Mock
+    private ProductosRepository productosRepository;
+
+    private ExportadorProductos exportador;
+
+    @BeforeEach
+    void setUp() {
+        exportador = new ExportadorProductos(productosRepository, new ObjectMapper(), 1, 2);
+    }
+
+    @Test
+    @DisplayName("Debe recorrer el catálogo por keyset sobre el id, una consulta por página")
+    void testExportar_DebePaginarPorId() throws Exception {
+        // ARRANGE
+        when(productosRepository.findPaginaPorId(0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(producto(1L, "Labial"), producto(4L, "Rubor, mate")));
+        when(productosRepository.findPaginaPorId(4L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(producto(9L, "Base")));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // ACT
+        exportador.preparar(FormatoExportacion.CSV).writeTo(salida);
+
+        // ASSERT
+        String[] filas = salida.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(4, filas.length);
+        assertTrue(filas[0].startsWith("id,nombre,"));
+        assertTrue(filas[2].startsWith("4,\"Rubor, mate\","));
+        assertTrue(filas[3].startsWith("9,Base,"));
+        verify(productosRepository, times(2)).findPaginaPorId(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Debe terminar sin otra consulta cuando la primera página viene vacía")
+    void testExportar_CatalogoVacio_DebeEscribirSoloCabecera() throws Exception {
+        // ARRANGE
+        when(productosRepository.findPaginaPorId(eq(0L), any())).thenReturn(List.of());
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // ACT
+        exportador.preparar(FormatoExportacion.NDJSON).writeTo(salida);
+
+        // ASSERT
+        assertEquals(0, salida.size());
+        verify(productosRepository, times(1)).findPaginaPorId(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una exportación mientras el cupo está ocupado y liberarlo al terminar")
+    void testPreparar_SinCupo_DebeLanzarExcepcion() throws Exception {
+        // ARRANGE
+        when(productosRepository.findPaginaPorId(eq(0L), any())).thenReturn(List.of());
+        StreamingResponseBody primera = exportador.preparar(FormatoExportacion.NDJSON);
+
+        // ACT & ASSERT
+        assertThrows(ServicioOcupadoException.class, () -> exportador.preparar(FormatoExportacion.NDJSON));
+        primera.writeTo(new ByteArrayOutputStream());
+        assertNotNull(exportador.preparar(FormatoExportacion.NDJSON));
+    }
+
+    @Test
+    @DisplayName("Debe liberar el cupo aunque la exportación falle")
+    void testPreparar_ErrorAlExportar_DebeLiberarCupo() {
+        // ARRANGE
+        when(productosRepository.findPaginaPorId(eq(0L), any())).thenThrow(new IllegalStateException("sin conexión"));
+        StreamingResponseBody primera = exportador.preparar(FormatoExportacion.NDJSON);
+
+        // ACT & ASSERT
+        assertThrows(IllegalStateException.class, () -> primera.writeTo(new ByteArrayOutputStream()));
+        assertNotNull(exportador.preparar(FormatoExportacion.NDJSON));
+    }
+
+    @Test
+    @DisplayName("Debe liberar el cupo al completarse la petición aunque el cuerpo nunca se ejecute")
+    void testPreparar_CuerpoSinEjecutar_DebeLiberarCupoAlCompletar() {
+        // ARRANGE: la petición expira antes de que el executor tome el cuerpo
+        ExportadorProductos.Exportacion primera = exportador.preparar(FormatoExportacion.NDJSON);
+
+        // ACT
+        primera.afterCompletion(null, null);
+
+        // ASSERT
+        assertNotNull(exportador.preparar(FormatoExportacion.NDJSON));
+        verifyNoInteractions(productosRepository);
+    }
+
+    @Test
+    @DisplayName("Debe devolver un solo cupo aunque el cuerpo y el fin de la petición lo liberen")
+    void testPreparar_LiberacionDoble_NoDebeAgregarCupos() throws Exception {
+        // ARRANGE
+        when(productosRepository.findPaginaPorId(eq(0L), any())).thenReturn(List.of());
+        ExportadorProductos.Exportacion primera = exportador.preparar(FormatoExportacion.NDJSON);
+
+        // ACT
+        primera.writeTo(new ByteArrayOutputStream());
+        primera.afterCompletion(null, null);
+
+        // ASSERT: el máximo sigue siendo una exportación a la vez
+        assertNotNull(exportador.preparar(FormatoExportacion.NDJSON));
+        assertThrows(ServicioOcupadoException.class, () -> exportador.preparar(FormatoExportacion.NDJSON));
+    }
+
+    private static ProductoResumenDto producto(Long id, String nombre) {
+        return ProductoResumenDto.builder()
+                .id(id)
+                .nombre(nombre)
+                .precio(new BigDecimal("25000.00"))
+                .cantidadStock(3)
+                .build();
+    }
+}
@@ -0,0 +1,195 @@
+package com.management.backend_pinceladas_belleza.productos.services;
+
+import com.management.backend_pinceladas_belleza.productos.dto.ConteoPorId;
+import com.management.backend_pinceladas_belleza.productos.dto.ConteoPorPrecio;
+import com.management.backend_pinceladas_belleza.productos.dto.FacetasDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.events.ProductoModificadoEvent;
+import com.management.backend_pinceladas_belleza.productos.events.ProductosImportadosEvent;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - FacetasProductos")
+class FacetasProductosTest {
+
+    @Mock
+    private ProductosRepository productosRepository;
+
+    private FacetasProductos facetas;
+
+    @BeforeEach
+    void setUp() {
+        facetas = new FacetasProductos(productosRepository, "20000,50000,100000");
+        when(productosRepository.contarPorCategoria()).thenReturn(List.of(conteo(1L, 3L)));
+        when(productosRepository.contarPorProveedor()).thenReturn(List.of(conteo(10L, 3L)));
+        when(productosRepository.contarPorPrecio()).thenReturn(List.of(
+                conteoPrecio("15000.00", 2L),
+                conteoPrecio("60000.00", 1L)));
+        facetas.recalcular();
+    }
+
+    @Test
+    @DisplayName("Debe agrupar los conteos del recálculo por categoría, proveedor y rango de precio")
+    void testRecalcular_DebeAgruparConteos() {
+        FacetasDto resultado = facetas.obtener();
+
+        assertEquals(Map.of(1L, 3L), resultado.getCategorias());
+        assertEquals(Map.of(10L, 3L), resultado.getProveedores());
+        assertEquals(4, resultado.getRangosPrecio().size());
+        assertEquals(2L, resultado.getRangosPrecio().get(0).getCantidad());
+        assertEquals(0L, resultado.getRangosPrecio().get(1).getCantidad());
+        assertEquals(1L, resultado.getRangosPrecio().get(2).getCantidad());
+        assertNull(resultado.getRangosPrecio().get(3).getHasta());
+    }
+
+    @Test
+    @DisplayName("Debe mover el producto de categoría y rango sin consultar la base")
+    void testAlModificarProducto_DebeAplicarDelta() {
+        // ARRANGE
+        ProductoResumenDto anterior = producto(1L, 10L, "15000.00");
+        ProductoResumenDto actual = producto(2L, 10L, "120000.00");
+
+        // ACT
+        facetas.alModificarProducto(new ProductoModificadoEvent(anterior, actual));
+        FacetasDto resultado = facetas.obtener();
+
+        // ASSERT
+        assertEquals(Map.of(1L, 2L, 2L, 1L), resultado.getCategorias());
+        assertEquals(Map.of(10L, 3L), resultado.getProveedores());
+        assertEquals(1L, resultado.getRangosPrecio().get(0).getCantidad());
+        assertEquals(1L, resultado.getRangosPrecio().get(3).getCantidad());
+        verify(productosRepository, times(1)).contarPorCategoria();
+    }
+
+    @Test
+    @DisplayName("Debe omitir las facetas que quedan en cero")
+    void testAlModificarProducto_Eliminado_DebeOmitirCeros() {
+        // ACT: tres productos de la categoría 1 desaparecen
+        for (int i = 0; i < 3; i++) {
+            facetas.alModificarProducto(new ProductoModificadoEvent(producto(1L, 10L, "15000.00"), null));
+        }
+        FacetasDto resultado = facetas.obtener();
+
+        // ASSERT
+        assertTrue(resultado.getCategorias().isEmpty());
+        assertTrue(resultado.getProveedores().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe sumar todos los productos de un bloque importado")
+    void testAlImportarProductos_DebeSumarElBloque() {
+        facetas.alImportarProductos(new ProductosImportadosEvent(List.of(
+                producto(2L, 11L, "30000.00"),
+                producto(2L, 11L, "45000.00"))));
+        FacetasDto resultado = facetas.obtener();
+
+        assertEquals(2L, resultado.getCategorias().get(2L));
+        assertEquals(2L, resultado.getProveedores().get(11L));
+        assertEquals(2L, resultado.getRangosPrecio().get(1).getCantidad());
+    }
+
+    @Test
+    @DisplayName("Debe conservar los cambios recibidos mientras corre el recálculo")
+    void testRecalcular_CambioDuranteLaConsulta_NoDebePerderse() {
+        // ARRANGE: la escritura llega cuando el GROUP BY de categorías ya tomó su snapshot
+        when(productosRepository.contarPorCategoria()).thenAnswer(invocation -> {
+            facetas.alModificarProducto(new ProductoModificadoEvent(null, producto(5L, 12L, "70000.00")));
+            return List.of(conteo(1L, 3L));
+        });
+        when(productosRepository.contarPorProveedor()).thenReturn(List.of(conteo(10L, 3L)));
+        when(productosRepository.contarPorPrecio()).thenReturn(List.of(
+                conteoPrecio("15000.00", 2L),
+                conteoPrecio("60000.00", 1L)));
+
+        // ACT
+        facetas.recalcular();
+        FacetasDto resultado = facetas.obtener();
+
+        // ASSERT
+        assertEquals(Map.of(1L, 3L, 5L, 1L), resultado.getCategorias());
+        assertEquals(Map.of(10L, 3L, 12L, 1L), resultado.getProveedores());
+        assertEquals(2L, resultado.getRangosPrecio().get(2).getCantidad());
+    }
+
+    @Test
+    @DisplayName("Debe conservar los conteos anteriores si el recálculo falla")
+    void testRecalcular_ErrorEnConsulta_DebeConservarConteos() {
+        // ARRANGE
+        when(productosRepository.contarPorProveedor()).thenThrow(new IllegalStateException("sin conexión"));
+
+        // ACT & ASSERT
+        assertThrows(IllegalStateException.class, () -> facetas.recalcular());
+        facetas.alModificarProducto(new ProductoModificadoEvent(null, producto(1L, 10L, "15000.00")));
+
+        FacetasDto resultado = facetas.obtener();
+        assertEquals(Map.of(1L, 4L), resultado.getCategorias());
+        assertEquals(3L, resultado.getRangosPrecio().get(0).getCantidad());
+    }
+
+    @Test
+    @DisplayName("Debe registrar y absorber un error de base de datos sin perder los conteos")
+    void testRecalcular_BaseNoDisponible_NoDebePropagar() {
+        // ARRANGE: la base no responde, como puede pasar al arrancar
+        when(productosRepository.contarPorCategoria()).thenThrow(new DataAccessResourceFailureException("sin conexión"));
+
+        // ACT
+        assertDoesNotThrow(() -> facetas.recalcular());
+        facetas.alModificarProducto(new ProductoModificadoEvent(null, producto(1L, 10L, "15000.00")));
+
+        // ASSERT: los cambios vuelven a aplicarse directo sobre los conteos vigentes
+        FacetasDto resultado = facetas.obtener();
+        assertEquals(Map.of(1L, 4L), resultado.getCategorias());
+        assertEquals(Map.of(10L, 4L), resultado.getProveedores());
+    }
+
+    private static ProductoResumenDto producto(Long categoriaId, Long proveedorId, String precio) {
+        return ProductoResumenDto.builder()
+                .id(7L)
+                .categoriaId(categoriaId)
+                .proveedorId(proveedorId)
+                .precio(new BigDecimal(precio))
+                .build();
+    }
+
+    private static ConteoPorId conteo(Long id, Long cantidad) {
+        return new ConteoPorId() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getCantidad() {
+                return cantidad;
+            }
+        };
+    }
+
+    private static ConteoPorPrecio conteoPrecio(String precio, Long cantidad) {
+        return new ConteoPorPrecio() {
+            @Override
+            public BigDecimal getPrecio() {
+                return new BigDecimal(precio);
+            }
+
+            @Override
+            public Long getCantidad() {
+                return cantidad;
+            }
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package com.management.backend_pinceladas_belleza.productos.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
+import com.management.backend_pinceladas_belleza.categorias.repository.CategoriaRepository;
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+import com.management.backend_pinceladas_belleza.productos.dto.ImportacionResultadoDto;
+import com.management.backend_pinceladas_belleza.productos.entity.Productos;
+import com.management.backend_pinceladas_belleza.productos.events.ProductosImportadosEvent;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import com.management.backend_pinceladas_belleza.proveedores.entity.Proveedor;
+import com.management.backend_pinceladas_belleza.proveedores.repository.ProveedoresRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - ImportadorProductos")
+class ImportadorProductosTest {
+
+    @Mock
+    private ProductosRepository productosRepository;
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
+    @Mock
+    private ProveedoresRepository proveedoresRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ImportadorProductos importador;
+
+    @BeforeEach
+    void setUp() {
+        importador = new ImportadorProductos(productosRepository, categoriaRepository, proveedoresRepository,
+                eventPublisher, new ObjectMapper(), transactionManager, 2, 100);
+        ReflectionTestUtils.setField(importador, "entityManager", entityManager);
+    }
+
+    @Test
+    @DisplayName("Debe importar las filas válidas del CSV y reportar las inválidas")
+    void testImportarCsv_DebeReportarErroresPorFila() throws Exception {
+        // ARRANGE
+        Categoria categoria = Categoria.builder().id(1L).nombreCategoria("Maquillaje").build();
+        Proveedor proveedor = Proveedor.builder().id(1L).nombre("Proveedor Test").build();
+        when(categoriaRepository.findAllById(Set.of(1L, 9L))).thenReturn(List.of(categoria));
+        when(proveedoresRepository.findAllById(Set.of(1L))).thenReturn(List.of(proveedor));
+        String csv = "nombre,precio,cantidadStock,categoriaId,proveedorId\n" +
+                "\"Labial, rojo\",25000,10,1,1\n" +
+                "Rubor,abc,5,1,1\n" +
+                "Base,30000,5,9,1\n" +
+                "Rimel,18000,,1,1\n" +
+                "Sombra,12000,3,1,1\n";
+
+        // ACT
+        ImportacionResultadoDto resultado = importador.importarCsv(new StringReader(csv));
+
+        // ASSERT
+        assertEquals(5, resultado.getTotalFilas());
+        assertEquals(3, resultado.getImportados());
+        assertEquals(2, resultado.getErrores().size());
+        assertEquals(2, resultado.getErrores().get(0).getFila());
+        assertEquals(3, resultado.getErrores().get(1).getFila());
+
+        // Tres filas válidas con bloques de 2: dos transacciones
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Productos>> bloques = ArgumentCaptor.forClass(List.class);
+        verify(productosRepository, times(2)).saveAllAndFlush(bloques.capture());
+        assertEquals("Labial, rojo", bloques.getAllValues().get(0).get(0).getNombre());
+        assertEquals(0, bloques.getAllValues().get(0).get(1).getCantidadStock());
+        verify(transactionManager, times(2)).commit(any());
+        // Un evento por bloque confirmado, no uno por fila
+        ArgumentCaptor<ProductosImportadosEvent> eventos = ArgumentCaptor.forClass(ProductosImportadosEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(eventos.capture());
+        assertEquals(2, eventos.getAllValues().get(0).getProductos().size());
+        assertEquals(1, eventos.getAllValues().get(1).getProductos().size());
+    }
+
+    @Test
+    @DisplayName("Debe reportar las filas de un bloque que falla al guardar y seguir con los siguientes")
+    void testImportarCsv_BloqueIntermedioFalla_DebeContinuar() throws Exception {
+        // ARRANGE
+        Categoria categoria = Categoria.builder().id(1L).nombreCategoria("Maquillaje").build();
+        Proveedor proveedor = Proveedor.builder().id(1L).nombre("Proveedor Test").build();
+        when(categoriaRepository.findAllById(Set.of(1L))).thenReturn(List.of(categoria));
+        when(proveedoresRepository.findAllById(Set.of(1L))).thenReturn(List.of(proveedor));
+        // Sin traducir, como la lanza Hibernate al hacer flush fuera del proxy
+        when(productosRepository.saveAllAndFlush(any()))
+                .thenReturn(List.of())
+                .thenThrow(new PersistenceException("could not execute batch",
+                        new ConstraintViolationException("duplicate key", new SQLException("duplicate key value"), "productos_pkey")))
+                .thenReturn(List.of());
+        String csv = "nombre,precio,categoriaId,proveedorId\n" +
+                "Labial,25000,1,1\n" +
+                "Rubor,18000,1,1\n" +
+                "Base,30000,1,1\n" +
+                "Rimel,18000,1,1\n" +
+                "Sombra,12000,1,1\n";
+
+        // ACT
+        ImportacionResultadoDto resultado = importador.importarCsv(new StringReader(csv));
+
+        // ASSERT
+        assertEquals(3, resultado.getImportados());
+        assertEquals(2, resultado.getErrores().size());
+        assertEquals(3, resultado.getErrores().get(0).getFila());
+        assertEquals(4, resultado.getErrores().get(1).getFila());
+        assertTrue(resultado.getErrores().get(0).getMensaje().contains("duplicate key"));
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(eventPublisher, times(2)).publishEvent(any(ProductosImportadosEvent.class));
+    }
+
+    @Test
+    @DisplayName("Debe lanzar BadRequestException cuando el JSON no es un arreglo")
+    void testImportarJson_SinArreglo_DebeLanzarExcepcion() {
+        assertThrows(BadRequestException.class,
+                () -> importador.importarJson(new StringReader("{\"nombre\":\"Labial\"}")));
+        verifyNoInteractions(productosRepository);
+    }
+}
@@ -0,0 +1,93 @@
+package com.management.backend_pinceladas_belleza.productos.services;
+
+import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
+import com.management.backend_pinceladas_belleza.categorias.events.CategoriaModificadaEvent;
+import com.management.backend_pinceladas_belleza.categorias.repository.CategoriaRepository;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.dto.SugerenciaDto;
+import com.management.backend_pinceladas_belleza.productos.events.ProductoModificadoEvent;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - IndiceAutocompletado")
+class IndiceAutocompletadoTest {
+
+    @Mock
+    private ProductosRepository productosRepository;
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
+    @InjectMocks
+    private IndiceAutocompletado indice;
+
+    @BeforeEach
+    void setUp() {
+        when(productosRepository.findAllResumen()).thenReturn(Arrays.asList(
+                ProductoResumenDto.builder().id(1L).nombre("Labial Rojo Mate").build(),
+                ProductoResumenDto.builder().id(2L).nombre("Lápiz de Cejas").build(),
+                ProductoResumenDto.builder().id(3L).nombre("Base Líquida").build()));
+        when(categoriaRepository.findAll()).thenReturn(Arrays.asList(
+                Categoria.builder().id(10L).nombreCategoria("Labiales").build()));
+        indice.cargar();
+    }
+
+    @Test
+    @DisplayName("Debe sugerir productos y categorías por prefijo sin importar tildes ni mayúsculas")
+    void testSugerir_PorPrefijo_DebeIgnorarTildes() {
+        List<String> textos = textos(indice.sugerir("LAB", 10));
+
+        assertEquals(Arrays.asList("Labial Rojo Mate", "Labiales"), textos);
+        assertEquals(Arrays.asList("Lápiz de Cejas"), textos(indice.sugerir("lapiz", 10)));
+    }
+
+    @Test
+    @DisplayName("Debe sugerir por cualquier palabra del nombre sin duplicar resultados")
+    void testSugerir_PorPalabraInterna_DebeEncontrarProducto() {
+        assertEquals(Arrays.asList("Labial Rojo Mate"), textos(indice.sugerir("mat", 10)));
+        assertEquals(Arrays.asList("Base Líquida"), textos(indice.sugerir("liq", 10)));
+        assertEquals(1, indice.sugerir("labial rojo", 10).size());
+    }
+
+    @Test
+    @DisplayName("Debe respetar el límite y retornar vacío con prefijo en blanco")
+    void testSugerir_ConLimite_DebeCortarResultados() {
+        assertEquals(1, indice.sugerir("la", 1).size());
+        assertTrue(indice.sugerir("   ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe reindexar al renombrar y quitar al eliminar")
+    void testEventos_DebenActualizarIndice() {
+        ProductoResumenDto anterior = ProductoResumenDto.builder().id(3L).nombre("Base Líquida").build();
+        ProductoResumenDto renombrado = ProductoResumenDto.builder().id(3L).nombre("Corrector Líquido").build();
+
+        indice.alModificarProducto(new ProductoModificadoEvent(anterior, renombrado));
+        assertTrue(indice.sugerir("base", 10).isEmpty());
+        assertEquals(Arrays.asList("Corrector Líquido"), textos(indice.sugerir("corr", 10)));
+
+        indice.alModificarProducto(new ProductoModificadoEvent(renombrado, null));
+        assertTrue(indice.sugerir("corr", 10).isEmpty());
+
+        indice.alModificarCategoria(new CategoriaModificadaEvent(10L, null));
+        assertEquals(Arrays.asList("Labial Rojo Mate"), textos(indice.sugerir("lab", 10)));
+    }
+
+    private List<String> textos(List<SugerenciaDto> sugerencias) {
+        return sugerencias.stream().map(SugerenciaDto::getTexto).collect(Collectors.toList());
+    }
+}
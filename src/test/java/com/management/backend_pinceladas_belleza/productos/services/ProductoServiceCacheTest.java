@@ -0,0 +1,270 @@
+package com.management.backend_pinceladas_belleza.productos.services;
+
+import com.management.backend_pinceladas_belleza.catalogo.services.ReferenciasCache;
+import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
+import com.management.backend_pinceladas_belleza.common.CoalescedorLecturas;
+import com.management.backend_pinceladas_belleza.config.CacheConfiguration;
+import com.management.backend_pinceladas_belleza.productos.dto.AjusteStockDto;
+import com.management.backend_pinceladas_belleza.productos.dto.LineaStockDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductosDto;
+import com.management.backend_pinceladas_belleza.productos.entity.Productos;
+import com.management.backend_pinceladas_belleza.productos.interfaces.IProductos;
+import com.management.backend_pinceladas_belleza.productos.interfaces.IStockProductos;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import com.management.backend_pinceladas_belleza.proveedores.entity.Proveedor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Las anotaciones de caché solo actúan a través del proxy de Spring: se prueban con el contexto
+ * real (CacheConfiguration y los servicios) y un repositorio simulado que cuenta las consultas.
+ * Sin base de datos: las transacciones son de un gestor en memoria, suficiente para que los
+ * listeners de después del commit se ejecuten.
+ */
+@SpringBootTest(classes = {
+        CacheConfiguration.class,
+        ProductoService.class,
+        StockProductoService.class,
+        CoalescedorLecturas.class,
+        ProductoServiceCacheTest.Configuracion.class
+})
+@DisplayName("Pruebas de Integración - Caché de productos")
+class ProductoServiceCacheTest {
+
+    @MockBean
+    private ProductosRepository productosRepository;
+
+    @MockBean
+    private ReferenciasCache referencias;
+
+    @MockBean
+    private IndiceAutocompletado indiceAutocompletado;
+
+    @MockBean
+    private FacetasProductos facetasProductos;
+
+    @Autowired
+    private IProductos productoService;
+
+    @Autowired
+    private IStockProductos stockProductos;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(nombre -> cacheManager.getCache(nombre).clear());
+        when(productosRepository.findResumenById(1L)).thenReturn(Optional.of(resumen(1L)));
+        when(productosRepository.findResumenById(2L)).thenReturn(Optional.of(resumen(2L)));
+        when(productosRepository.findAllResumen()).thenReturn(List.of(resumen(1L), resumen(2L)));
+        when(productosRepository.save(any(Productos.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Debe servir la segunda lectura de un producto desde la caché")
+    void testGetResumenById_SegundaLectura_DebeUsarCache() {
+        // ACT
+        ProductoResumenDto primera = productoService.getResumenById(1L);
+        ProductoResumenDto segunda = productoService.getResumenById(1L);
+
+        // ASSERT
+        assertSame(primera, segunda);
+        verify(productosRepository, times(1)).findResumenById(1L);
+    }
+
+    @Test
+    @DisplayName("Debe invalidar la lista al crear un producto")
+    void testCreateProducto_DebeInvalidarLista() {
+        // ARRANGE
+        when(referencias.buscarCategoria(3L)).thenReturn(Optional.of(Categoria.builder().id(3L).build()));
+        when(referencias.buscarProveedor(4L)).thenReturn(Optional.of(Proveedor.builder().id(4L).build()));
+        productoService.getAllResumen();
+        productoService.getAllResumen();
+        productoService.getResumenById(1L);
+
+        // ACT
+        productoService.createProducto(ProductosDto.builder()
+                .nombre("Rubor")
+                .precio(new BigDecimal("18000.00"))
+                .cantidadStock(5)
+                .categoriaId(3L)
+                .proveedorId(4L)
+                .build());
+        productoService.getAllResumen();
+        productoService.getResumenById(1L);
+
+        // ASSERT: un producto nuevo no cambia las entradas individuales ya guardadas
+        verify(productosRepository, times(2)).findAllResumen();
+        verify(productosRepository, times(1)).findResumenById(1L);
+    }
+
+    @Test
+    @DisplayName("Debe invalidar el producto y la lista al actualizarlo")
+    void testUpdateProducto_DebeInvalidarProducto() {
+        // ARRANGE
+        when(productosRepository.findById(1L)).thenReturn(Optional.of(entidad(1L)));
+        productoService.getResumenById(1L);
+        productoService.getResumenById(2L);
+        productoService.getAllResumen();
+
+        // ACT
+        productoService.updateProducto(ProductosDto.builder()
+                .id(1L)
+                .nombre("Labial Mate")
+                .precio(new BigDecimal("26000.00"))
+                .cantidadStock(8)
+                .build());
+        productoService.getResumenById(1L);
+        productoService.getResumenById(2L);
+        productoService.getAllResumen();
+
+        // ASSERT
+        verify(productosRepository, times(2)).findResumenById(1L);
+        verify(productosRepository, times(1)).findResumenById(2L);
+        verify(productosRepository, times(2)).findAllResumen();
+    }
+
+    @Test
+    @DisplayName("Debe invalidar el producto y la lista al eliminarlo")
+    void testDeleteProducto_DebeInvalidarProducto() {
+        // ARRANGE
+        when(productosRepository.findById(1L)).thenReturn(Optional.of(entidad(1L)));
+        productoService.getResumenById(1L);
+        productoService.getAllResumen();
+
+        // ACT
+        productoService.deleteProducto(1L);
+        productoService.getResumenById(1L);
+        productoService.getAllResumen();
+
+        // ASSERT
+        verify(productosRepository, times(2)).findResumenById(1L);
+        verify(productosRepository, times(2)).findAllResumen();
+    }
+
+    @Test
+    @DisplayName("No debe quedar en caché una lectura hecha entre la escritura y su commit")
+    void testUpdateProducto_LecturaAntesDelCommit_NoDebeQuedarEnCache() {
+        // ARRANGE
+        when(productosRepository.findById(1L)).thenReturn(Optional.of(entidad(1L)));
+        productoService.getResumenById(1L);
+        productoService.getAllResumen();
+
+        // ACT: otra petición lee mientras la actualización aún no confirma y ve el estado viejo
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            productoService.updateProducto(ProductosDto.builder()
+                    .id(1L)
+                    .nombre("Labial Mate")
+                    .precio(new BigDecimal("26000.00"))
+                    .cantidadStock(8)
+                    .build());
+            assertEquals("Producto 1", productoService.getResumenById(1L).getNombre());
+            productoService.getAllResumen();
+        });
+        ProductoResumenDto confirmado = resumen(1L);
+        confirmado.setNombre("Labial Mate");
+        when(productosRepository.findResumenById(1L)).thenReturn(Optional.of(confirmado));
+        when(productosRepository.findAllResumen()).thenReturn(List.of(confirmado, resumen(2L)));
+
+        // ASSERT: tras el commit se vuelve a consultar y se ve el cambio
+        assertEquals("Labial Mate", productoService.getResumenById(1L).getNombre());
+        assertEquals("Labial Mate", productoService.getAllResumen().get(0).getNombre());
+    }
+
+    @Test
+    @DisplayName("Debe invalidar solo los productos ajustados al confirmar un ajuste de stock")
+    void testDescontar_DebeInvalidarProductosAjustados() {
+        // ARRANGE
+        when(productosRepository.descontarStock(anyList())).thenReturn(new int[]{1});
+        productoService.getResumenById(1L);
+        productoService.getResumenById(2L);
+        productoService.getAllResumen();
+
+        // ACT
+        stockProductos.descontar(AjusteStockDto.builder()
+                .lineas(List.of(new LineaStockDto(1L, 1)))
+                .build());
+        productoService.getResumenById(1L);
+        productoService.getResumenById(2L);
+        productoService.getAllResumen();
+
+        // ASSERT
+        verify(productosRepository, times(2)).findResumenById(1L);
+        verify(productosRepository, times(1)).findResumenById(2L);
+        verify(productosRepository, times(2)).findAllResumen();
+    }
+
+    private static ProductoResumenDto resumen(Long id) {
+        return ProductoResumenDto.builder()
+                .id(id)
+                .nombre("Producto " + id)
+                .precio(new BigDecimal("25000.00"))
+                .cantidadStock(10)
+                .build();
+    }
+
+    private static Productos entidad(Long id) {
+        return Productos.builder()
+                .id(id)
+                .nombre("Labial Rojo")
+                .precio(new BigDecimal("25000.00"))
+                .cantidadStock(10)
+                .build();
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Configuracion {
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new TransaccionesEnMemoria();
+        }
+    }
+
+    // Sin base de datos: solo abre y confirma para que corran las sincronizaciones de commit
+    static class TransaccionesEnMemoria extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -1,21 +1,40 @@
 package com.management.backend_pinceladas_belleza.productos.services;
 
+import com.management.backend_pinceladas_belleza.catalogo.services.ReferenciasCache;
 import com.management.backend_pinceladas_belleza.categorias.entity.Categoria;
-import com.management.backend_pinceladas_belleza.categorias.repository.CategoriaRepository;
+import com.management.backend_pinceladas_belleza.config.CacheConfiguration;
+import com.management.backend_pinceladas_belleza.common.CoalescedorLecturas;
 import com.management.backend_pinceladas_belleza.exception.BadRequestException;
 import com.management.backend_pinceladas_belleza.exception.ResourceNotFoundException;
+import com.management.backend_pinceladas_belleza.productos.dto.FacetasDto;
+import com.management.backend_pinceladas_belleza.productos.dto.FiltroProductosDto;
+import com.management.backend_pinceladas_belleza.productos.dto.OrdenProductos;
+import com.management.backend_pinceladas_belleza.productos.dto.PaginaCursorDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoCursor;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductoResumenDto;
 import com.management.backend_pinceladas_belleza.productos.dto.ProductosDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductosFiltradosDto;
+import com.management.backend_pinceladas_belleza.productos.dto.ProductosPorIdsDto;
 import com.management.backend_pinceladas_belleza.productos.entity.Productos;
+import com.management.backend_pinceladas_belleza.productos.events.ProductoModificadoEvent;
 import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
 import com.management.backend_pinceladas_belleza.proveedores.entity.Proveedor;
-import com.management.backend_pinceladas_belleza.proveedores.repository.ProveedoresRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -25,7 +44,9 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -43,10 +64,22 @@ class ProductoServiceTest {
     private ProductosRepository productosRepository;
 
     @Mock
-    private CategoriaRepository categoriaRepository;
+    private ReferenciasCache referencias;
 
     @Mock
-    private ProveedoresRepository proveedoresRepository;
+    private IndiceAutocompletado indiceAutocompletado;
+
+    @Mock
+    private FacetasProductos facetasProductos;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private CoalescedorLecturas coalescedor = new CoalescedorLecturas();
 
     @InjectMocks
     private ProductoService productoService;
@@ -62,6 +95,10 @@ class ProductoServiceTest {
      */
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(productoService, "tamanoPaginaDefecto", 20);
+        ReflectionTestUtils.setField(productoService, "tamanoPaginaMaximo", 100);
+        ReflectionTestUtils.setField(productoService, "maximoIdsPorLote", 500);
+
         // Crear una categoría de prueba
         categoria = new Categoria();
         categoria.setId(1L);
@@ -167,8 +204,8 @@ class ProductoServiceTest {
     @DisplayName("Debe crear producto exitosamente con datos válidos")
     void testCreateProducto_ConDatosValidos_DebeCrearProducto() {
         // ARRANGE
-        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
-        when(proveedoresRepository.findById(1L)).thenReturn(Optional.of(proveedor));
+        when(referencias.buscarCategoria(1L)).thenReturn(Optional.of(categoria));
+        when(referencias.buscarProveedor(1L)).thenReturn(Optional.of(proveedor));
         when(productosRepository.save(any(Productos.class))).thenReturn(producto);
 
         // ACT
@@ -180,9 +217,10 @@ class ProductoServiceTest {
         assertEquals(new BigDecimal("25.50"), resultado.getPrecio());
         
         // Verificamos que se llamaron los métodos necesarios
-        verify(categoriaRepository, times(1)).findById(1L);
-        verify(proveedoresRepository, times(1)).findById(1L);
+        verify(referencias, times(1)).buscarCategoria(1L);
+        verify(referencias, times(1)).buscarProveedor(1L);
         verify(productosRepository, times(1)).save(any(Productos.class));
+        verify(eventPublisher, times(1)).publishEvent(any(ProductoModificadoEvent.class));
     }
 
     /**
@@ -232,7 +270,7 @@ class ProductoServiceTest {
     @DisplayName("Debe lanzar ResourceNotFoundException cuando la categoría no existe")
     void testCreateProducto_ConCategoriaInexistente_DebeLanzarExcepcion() {
         // ARRANGE
-        when(categoriaRepository.findById(999L)).thenReturn(Optional.empty());
+        when(referencias.buscarCategoria(999L)).thenReturn(Optional.empty());
         productoDto.setCategoriaId(999L);
 
         // ACT & ASSERT
@@ -252,8 +290,8 @@ class ProductoServiceTest {
     @DisplayName("Debe lanzar ResourceNotFoundException cuando el proveedor no existe")
     void testCreateProducto_ConProveedorInexistente_DebeLanzarExcepcion() {
         // ARRANGE
-        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
-        when(proveedoresRepository.findById(999L)).thenReturn(Optional.empty());
+        when(referencias.buscarCategoria(1L)).thenReturn(Optional.of(categoria));
+        when(referencias.buscarProveedor(999L)).thenReturn(Optional.empty());
         productoDto.setProveedorId(999L);
 
         // ACT & ASSERT
@@ -273,7 +311,7 @@ class ProductoServiceTest {
     @DisplayName("Debe actualizar producto exitosamente")
     void testUpdateProducto_ConDatosValidos_DebeActualizarProducto() {
         // ARRANGE
-        Productos productoActualizado = Productos.builder()
+        ProductosDto productoActualizado = ProductosDto.builder()
                 .id(1L)
                 .nombre("Labial Rosa")
                 .precio(new BigDecimal("30.00"))
@@ -291,6 +329,26 @@ class ProductoServiceTest {
         verify(productosRepository, times(1)).save(any(Productos.class));
     }
 
+    @Test
+    @DisplayName("Debe conservar la fecha de creación al actualizar: el cursor de paginación la usa como llave")
+    void testUpdateProducto_DebeConservarFechaCreacion() {
+        // ARRANGE
+        LocalDate creado = LocalDate.now().minusDays(30);
+        producto.setFechaCreacion(creado);
+        when(productosRepository.findById(1L)).thenReturn(Optional.of(producto));
+        when(productosRepository.save(any(Productos.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // ACT
+        Productos resultado = productoService.updateProducto(ProductosDto.builder()
+                .id(1L)
+                .nombre("Labial Rosa")
+                .precio(new BigDecimal("30.00"))
+                .build());
+
+        // ASSERT
+        assertEquals(creado, resultado.getFechaCreacion());
+    }
+
     /**
      * PRUEBA 10: Lanzar excepción al actualizar sin ID
      */
@@ -298,8 +356,7 @@ class ProductoServiceTest {
     @DisplayName("Debe lanzar BadRequestException al actualizar sin ID")
     void testUpdateProducto_SinId_DebeLanzarExcepcion() {
         // ARRANGE
-        Productos productoSinId = new Productos();
-        productoSinId.setNombre("Test");
+        ProductosDto productoSinId = ProductosDto.builder().nombre("Test").build();
 
         // ACT & ASSERT
         BadRequestException exception = assertThrows(
@@ -349,4 +406,221 @@ class ProductoServiceTest {
         assertTrue(exception.getMessage().contains("Producto"));
         verify(productosRepository, never()).deleteById(anyLong());
     }
+
+    /**
+     * PRUEBA 13: Paginación por cursor con página siguiente
+     */
+    @Test
+    @DisplayName("Debe retornar página con cursor cuando existen más productos")
+    void testGetPagina_ConMasResultados_DebeRetornarCursor() {
+        // ARRANGE
+        ProductoResumenDto primero = ProductoResumenDto.builder().id(1L).nombre("Labial Rojo").fechaCreacion(LocalDate.now()).build();
+        ProductoResumenDto segundo = ProductoResumenDto.builder().id(2L).nombre("Base").fechaCreacion(LocalDate.now()).build();
+        when(productosRepository.findPrimeraPaginaRecientes(any(Pageable.class)))
+                .thenReturn(Arrays.asList(primero, segundo));
+
+        // ACT
+        PaginaCursorDto<ProductoResumenDto> resultado = productoService.getPagina(null, 1, null);
+
+        // ASSERT
+        assertEquals(1, resultado.getContenido().size());
+        assertTrue(resultado.isHayMas());
+        assertNotNull(resultado.getSiguienteCursor());
+        ProductoCursor cursor = ProductoCursor.decodificar(resultado.getSiguienteCursor(), OrdenProductos.RECIENTES);
+        assertEquals(1L, cursor.getId());
+        assertEquals(primero.getFechaCreacion(), cursor.getFechaCreacion());
+    }
+
+    /**
+     * PRUEBA 14: Paginación por cursor en la última página
+     */
+    @Test
+    @DisplayName("Debe continuar desde el cursor y no retornar cursor en la última página")
+    void testGetPagina_DesdeCursor_DebeUsarKeyset() {
+        // ARRANGE
+        String cursor = new ProductoCursor(OrdenProductos.ID, null, 1L).codificar();
+        ProductoResumenDto siguiente = ProductoResumenDto.builder().id(2L).nombre("Base").build();
+        when(productosRepository.findPaginaPorId(eq(1L), any(Pageable.class))).thenReturn(Arrays.asList(siguiente));
+
+        // ACT
+        PaginaCursorDto<ProductoResumenDto> resultado = productoService.getPagina(cursor, 5, "id");
+
+        // ASSERT
+        assertEquals(1, resultado.getContenido().size());
+        assertFalse(resultado.isHayMas());
+        assertNull(resultado.getSiguienteCursor());
+        verify(productosRepository, times(1)).findPaginaPorId(eq(1L), any(Pageable.class));
+    }
+
+    /**
+     * PRUEBA 15: Cursor inválido o tamaño fuera de rango
+     */
+    @Test
+    @DisplayName("Debe lanzar BadRequestException con cursor inválido o tamaño fuera de rango")
+    void testGetPagina_ConParametrosInvalidos_DebeLanzarExcepcion() {
+        assertThrows(BadRequestException.class, () -> productoService.getPagina("no-es-un-cursor", 10, null));
+        assertThrows(BadRequestException.class, () -> productoService.getPagina(null, 500, null));
+        assertThrows(BadRequestException.class, () -> productoService.getPagina(null, 10, "precio"));
+        verifyNoInteractions(productosRepository);
+    }
+
+    /**
+     * PRUEBA 16: Obtener la vista resumida de un producto
+     */
+    @Test
+    @DisplayName("Debe retornar la vista resumida cuando existe el ID")
+    void testGetResumenById_CuandoExiste_DebeRetornarResumen() {
+        // ARRANGE
+        ProductoResumenDto resumen = ProductoResumenDto.builder()
+                .id(1L).nombre("Labial Rojo").categoriaNombre("Maquillaje").proveedorNombre("Proveedor Test").build();
+        when(productosRepository.findResumenById(1L)).thenReturn(Optional.of(resumen));
+
+        // ACT
+        ProductoResumenDto resultado = productoService.getResumenById(1L);
+
+        // ASSERT
+        assertEquals("Maquillaje", resultado.getCategoriaNombre());
+        assertEquals("Proveedor Test", resultado.getProveedorNombre());
+        verify(productosRepository, never()).findById(anyLong());
+    }
+
+    /**
+     * PRUEBA 17: Vista resumida de producto inexistente
+     */
+    @Test
+    @DisplayName("Debe lanzar ResourceNotFoundException cuando la vista resumida no existe")
+    void testGetResumenById_CuandoNoExiste_DebeLanzarExcepcion() {
+        // ARRANGE
+        when(productosRepository.findResumenById(999L)).thenReturn(Optional.empty());
+
+        // ACT & ASSERT
+        assertThrows(ResourceNotFoundException.class, () -> productoService.getResumenById(999L));
+    }
+
+    /**
+     * PRUEBA 18: Búsqueda conserva el orden por relevancia
+     */
+    @Test
+    @DisplayName("Debe retornar resultados de búsqueda en el orden del ranking")
+    void testBuscar_DebeConservarOrdenDeRelevancia() {
+        // ARRANGE
+        ProductoResumenDto labial = ProductoResumenDto.builder().id(1L).nombre("Labial Rojo").build();
+        ProductoResumenDto brillo = ProductoResumenDto.builder().id(7L).nombre("Brillo labial").build();
+        Page<Number> ranking = new PageImpl<>(Arrays.<Number>asList(7L, 1L), PageRequest.of(0, 20), 2);
+        when(productosRepository.buscarIds(eq("labial"), any(Pageable.class))).thenReturn(ranking);
+        when(productosRepository.findResumenByIdIn(Arrays.asList(7L, 1L))).thenReturn(Arrays.asList(labial, brillo));
+
+        // ACT
+        Page<ProductoResumenDto> resultado = productoService.buscar(" labial ", 0, null);
+
+        // ASSERT
+        assertEquals(2, resultado.getTotalElements());
+        assertEquals(7L, resultado.getContent().get(0).getId());
+        assertEquals(1L, resultado.getContent().get(1).getId());
+    }
+
+    /**
+     * PRUEBA 19: Búsqueda sin texto
+     */
+    @Test
+    @DisplayName("Debe lanzar BadRequestException cuando el texto de búsqueda está vacío")
+    void testBuscar_SinTexto_DebeLanzarExcepcion() {
+        assertThrows(BadRequestException.class, () -> productoService.buscar("  ", 0, null));
+        verifyNoInteractions(productosRepository);
+    }
+
+    /**
+     * PRUEBA 20: Filtrado con facetas precalculadas
+     */
+    @Test
+    @DisplayName("Debe filtrar productos y adjuntar las facetas en memoria")
+    void testFiltrar_DebeRetornarPaginaYFacetas() {
+        // ARRANGE
+        FiltroProductosDto filtro = FiltroProductosDto.builder().categoriaId(1L).soloEnStock(true).build();
+        ProductoResumenDto labial = ProductoResumenDto.builder().id(1L).nombre("Labial Rojo").build();
+        FacetasDto facetas = FacetasDto.builder().build();
+        when(productosRepository.filtrar(eq(1L), isNull(), isNull(), isNull(), eq(true), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(labial), PageRequest.of(0, 20), 1));
+        when(facetasProductos.obtener()).thenReturn(facetas);
+
+        // ACT
+        ProductosFiltradosDto resultado = productoService.filtrar(filtro, 0, null);
+
+        // ASSERT
+        assertEquals(1, resultado.getProductos().getTotalElements());
+        assertSame(facetas, resultado.getFacetas());
+    }
+
+    /**
+     * PRUEBA 21: Filtrado con rango de precio invertido
+     */
+    @Test
+    @DisplayName("Debe lanzar BadRequestException cuando precioMin es mayor que precioMax")
+    void testFiltrar_RangoInvertido_DebeLanzarExcepcion() {
+        FiltroProductosDto filtro = FiltroProductosDto.builder()
+                .precioMin(new BigDecimal("50000"))
+                .precioMax(new BigDecimal("10000"))
+                .build();
+
+        assertThrows(BadRequestException.class, () -> productoService.filtrar(filtro, 0, null));
+        verifyNoInteractions(productosRepository);
+    }
+
+    /**
+     * PRUEBA 22: Consulta por lote con caché parcial
+     */
+    @Test
+    @DisplayName("Debe resolver el lote desde caché y una sola consulta, en el orden pedido")
+    void testGetResumenPorIds_DebeConservarOrdenYReportarFaltantes() {
+        // ARRANGE
+        ConcurrentMapCache cache = new ConcurrentMapCache(CacheConfiguration.PRODUCTOS);
+        cache.put(7L, ProductoResumenDto.builder().id(7L).nombre("Brillo labial").build());
+        when(cacheManager.getCache(CacheConfiguration.PRODUCTOS)).thenReturn(cache);
+        when(productosRepository.findResumenByIdIn(Arrays.asList(3L, 99L)))
+                .thenReturn(List.of(ProductoResumenDto.builder().id(3L).nombre("Rubor").build()));
+
+        // ACT
+        ProductosPorIdsDto resultado = productoService.getResumenPorIds(Arrays.asList(3L, 7L, 99L, 3L));
+
+        // ASSERT
+        assertEquals(2, resultado.getProductos().size());
+        assertEquals(3L, resultado.getProductos().get(0).getId());
+        assertEquals(7L, resultado.getProductos().get(1).getId());
+        assertEquals(List.of(99L), resultado.getNoEncontrados());
+        assertNotNull(cache.get(3L));
+        verify(productosRepository, times(1)).findResumenByIdIn(anyList());
+    }
+
+    /**
+     * PRUEBA 23: Productos del subárbol de una categoría
+     */
+    @Test
+    @DisplayName("Debe listar los productos del subárbol con una sola consulta")
+    void testGetPorCategoria_CategoriaExistente_DebeConsultarSubarbol() {
+        // ARRANGE
+        ProductoResumenDto mate = ProductoResumenDto.builder().id(5L).nombre("Labial Mate").categoriaId(3L).build();
+        when(referencias.buscarCategoria(1L)).thenReturn(Optional.of(categoria));
+        when(productosRepository.findResumenEnSubarbol(1L, PageRequest.of(0, 20)))
+                .thenReturn(new PageImpl<>(List.of(mate), PageRequest.of(0, 20), 1));
+
+        // ACT
+        Page<ProductoResumenDto> resultado = productoService.getPorCategoria(1L, 0, null);
+
+        // ASSERT
+        assertEquals(1, resultado.getTotalElements());
+        assertEquals("Labial Mate", resultado.getContent().get(0).getNombre());
+        verify(productosRepository, times(1)).findResumenEnSubarbol(1L, PageRequest.of(0, 20));
+    }
+
+    /**
+     * PRUEBA 24: Productos del subárbol de una categoría inexistente
+     */
+    @Test
+    @DisplayName("Debe lanzar ResourceNotFoundException cuando la categoría del subárbol no existe")
+    void testGetPorCategoria_CategoriaInexistente_DebeLanzarExcepcion() {
+        when(referencias.buscarCategoria(999L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> productoService.getPorCategoria(999L, 0, null));
+        verify(productosRepository, never()).findResumenEnSubarbol(any(), any());
+    }
 }
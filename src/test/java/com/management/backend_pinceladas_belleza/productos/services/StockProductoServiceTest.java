@@ -0,0 +1,118 @@
+package com.management.backend_pinceladas_belleza.productos.services;
+
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+import com.management.backend_pinceladas_belleza.exception.ResourceNotFoundException;
+import com.management.backend_pinceladas_belleza.exception.StockInsuficienteException;
+import com.management.backend_pinceladas_belleza.productos.dto.AjusteStockDto;
+import com.management.backend_pinceladas_belleza.productos.dto.LineaStockDto;
+import com.management.backend_pinceladas_belleza.productos.events.StockAjustadoEvent;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - StockProductoService")
+class StockProductoServiceTest {
+
+    @Mock
+    private ProductosRepository productosRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @InjectMocks
+    private StockProductoService stockProductoService;
+
+    @Test
+    @DisplayName("Debe sumar líneas repetidas y ordenarlas por id antes del UPDATE")
+    void testDescontar_DebeConsolidarLineas() {
+        // ARRANGE
+        AjusteStockDto ajuste = new AjusteStockDto(List.of(
+                new LineaStockDto(7L, 2),
+                new LineaStockDto(3L, 1),
+                new LineaStockDto(7L, 3)));
+        when(productosRepository.descontarStock(anyList())).thenReturn(new int[]{1, 1});
+
+        // ACT
+        stockProductoService.descontar(ajuste);
+
+        // ASSERT
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LineaStockDto>> lineas = ArgumentCaptor.forClass(List.class);
+        verify(productosRepository).descontarStock(lineas.capture());
+        assertEquals(2, lineas.getValue().size());
+        assertEquals(3L, lineas.getValue().get(0).getProductoId());
+        assertEquals(7L, lineas.getValue().get(1).getProductoId());
+        assertEquals(5, lineas.getValue().get(1).getCantidad());
+        ArgumentCaptor<StockAjustadoEvent> evento = ArgumentCaptor.forClass(StockAjustadoEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(List.of(3L, 7L), evento.getValue().getProductoIds());
+        assertTrue(evento.getValue().isDescuento());
+    }
+
+    @Test
+    @DisplayName("Debe publicar la reposición como un ajuste que no descuenta")
+    void testReponer_DebePublicarSinDescuento() {
+        // ARRANGE
+        when(productosRepository.reponerStock(anyList())).thenReturn(new int[]{1});
+
+        // ACT
+        stockProductoService.reponer(new AjusteStockDto(List.of(new LineaStockDto(4L, 10))));
+
+        // ASSERT
+        ArgumentCaptor<StockAjustadoEvent> evento = ArgumentCaptor.forClass(StockAjustadoEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertFalse(evento.getValue().isDescuento());
+    }
+
+    @Test
+    @DisplayName("Debe lanzar StockInsuficienteException cuando una línea no actualiza filas")
+    void testDescontar_SinStock_DebeLanzarExcepcion() {
+        // ARRANGE
+        AjusteStockDto ajuste = new AjusteStockDto(List.of(new LineaStockDto(1L, 10)));
+        when(productosRepository.descontarStock(anyList())).thenReturn(new int[]{0});
+        when(productosRepository.existsById(1L)).thenReturn(true);
+
+        // ACT & ASSERT
+        assertThrows(StockInsuficienteException.class, () -> stockProductoService.descontar(ajuste));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Debe lanzar ResourceNotFoundException cuando el producto no existe")
+    void testDescontar_ProductoInexistente_DebeLanzarExcepcion() {
+        // ARRANGE
+        AjusteStockDto ajuste = new AjusteStockDto(List.of(new LineaStockDto(99L, 1)));
+        when(productosRepository.descontarStock(anyList())).thenReturn(new int[]{0});
+        when(productosRepository.existsById(99L)).thenReturn(false);
+
+        // ACT & ASSERT
+        assertThrows(ResourceNotFoundException.class, () -> stockProductoService.descontar(ajuste));
+    }
+
+    @Test
+    @DisplayName("Debe lanzar BadRequestException con cantidades no positivas")
+    void testDescontar_CantidadInvalida_DebeLanzarExcepcion() {
+        AjusteStockDto ajuste = new AjusteStockDto(List.of(new LineaStockDto(1L, 0)));
+
+        assertThrows(BadRequestException.class, () -> stockProductoService.descontar(ajuste));
+        verifyNoInteractions(productosRepository);
+    }
+}
@@ -0,0 +1,108 @@
+package com.management.backend_pinceladas_belleza.proveedores.services;
+
+import com.management.backend_pinceladas_belleza.productos.interfaces.IStockProductos;
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenGeneradaDto;
+import com.management.backend_pinceladas_belleza.proveedores.repository.OrdenCompraRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * El advisory lock de la generación es de transacción: si el cron llega a OrdenCompraService sin
+ * pasar por el proxy, el lock se toma en una sentencia suelta y se libera en el acto.
+ */
+@SpringJUnitConfig(OrdenCompraProgramadaTest.Configuracion.class)
+@DisplayName("Pruebas Unitarias - OrdenCompraProgramada")
+class OrdenCompraProgramadaTest {
+
+    @Autowired
+    private OrdenCompraProgramada programada;
+
+    @Autowired
+    private OrdenCompraRepository ordenCompraRepository;
+
+    @BeforeEach
+    void setUp() {
+        reset(ordenCompraRepository);
+    }
+
+    @Test
+    @DisplayName("Debe tomar el bloqueo y generar dentro de una misma transacción")
+    void testGenerar_DebeBloquearDentroDeTransaccion() {
+        // ARRANGE
+        AtomicBoolean bloqueoEnTransaccion = new AtomicBoolean();
+        AtomicBoolean generacionEnTransaccion = new AtomicBoolean();
+        when(ordenCompraRepository.bloquearGeneracion()).thenAnswer(inv -> {
+            bloqueoEnTransaccion.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return true;
+        });
+        when(ordenCompraRepository.generarPorPuntoReorden()).thenAnswer(inv -> {
+            generacionEnTransaccion.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return List.of(OrdenGeneradaDto.builder().ordenId(10L).proveedorId(3L).lineas(2).build());
+        });
+
+        // ACT
+        programada.generar();
+
+        // ASSERT
+        assertTrue(bloqueoEnTransaccion.get(), "El advisory lock se tomó fuera de una transacción");
+        assertTrue(generacionEnTransaccion.get(), "La generación corrió fuera de la transacción del bloqueo");
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import({OrdenCompraService.class, OrdenCompraProgramada.class})
+    static class Configuracion {
+        @Bean
+        OrdenCompraRepository ordenCompraRepository() {
+            return mock(OrdenCompraRepository.class);
+        }
+
+        @Bean
+        IStockProductos stockProductos() {
+            return mock(IStockProductos.class);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new TransaccionesEnMemoria();
+        }
+    }
+
+    // Sin base de datos: solo registra la transacción para que sea visible desde el repositorio
+    static class TransaccionesEnMemoria extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.management.backend_pinceladas_belleza.proveedores.services;
+
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+import com.management.backend_pinceladas_belleza.productos.dto.AjusteStockDto;
+import com.management.backend_pinceladas_belleza.productos.entity.Productos;
+import com.management.backend_pinceladas_belleza.productos.interfaces.IStockProductos;
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenCompraDto;
+import com.management.backend_pinceladas_belleza.proveedores.dto.OrdenGeneradaDto;
+import com.management.backend_pinceladas_belleza.proveedores.entity.EstadoOrdenCompra;
+import com.management.backend_pinceladas_belleza.proveedores.entity.OrdenCompra;
+import com.management.backend_pinceladas_belleza.proveedores.entity.OrdenCompraLinea;
+import com.management.backend_pinceladas_belleza.proveedores.entity.Proveedor;
+import com.management.backend_pinceladas_belleza.proveedores.repository.OrdenCompraRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - OrdenCompraService")
+class OrdenCompraServiceTest {
+
+    @Mock
+    private OrdenCompraRepository ordenCompraRepository;
+
+    @Mock
+    private IStockProductos stockProductos;
+
+    @InjectMocks
+    private OrdenCompraService ordenCompraService;
+
+    private OrdenCompra orden;
+
+    @BeforeEach
+    void setUp() {
+        Proveedor proveedor = Proveedor.builder().id(3L).nombre("Proveedor Test").build();
+        orden = OrdenCompra.builder()
+                .id(10L)
+                .proveedor(proveedor)
+                .estado(EstadoOrdenCompra.ENVIADA)
+                .fechaCreacion(LocalDateTime.now())
+                .build();
+        orden.getLineas().add(linea(1L, "Labial Rojo", 12));
+        orden.getLineas().add(linea(2L, "Rubor", 6));
+    }
+
+    @Test
+    @DisplayName("Debe generar las órdenes en una sola sentencia cuando obtiene el bloqueo")
+    void testGenerarPorPuntoReorden_ConBloqueo_DebeGenerar() {
+        // ARRANGE
+        when(ordenCompraRepository.bloquearGeneracion()).thenReturn(true);
+        when(ordenCompraRepository.generarPorPuntoReorden())
+                .thenReturn(List.of(OrdenGeneradaDto.builder().ordenId(10L).proveedorId(3L).lineas(2).build()));
+
+        // ACT
+        List<OrdenGeneradaDto> resultado = ordenCompraService.generarPorPuntoReorden();
+
+        // ASSERT
+        assertEquals(1, resultado.size());
+        assertEquals(2, resultado.get(0).getLineas());
+    }
+
+    @Test
+    @DisplayName("No debe generar órdenes si otra instancia tiene el bloqueo")
+    void testGenerarPorPuntoReorden_SinBloqueo_NoDebeGenerar() {
+        when(ordenCompraRepository.bloquearGeneracion()).thenReturn(false);
+
+        assertTrue(ordenCompraService.generarPorPuntoReorden().isEmpty());
+        verify(ordenCompraRepository, never()).generarPorPuntoReorden();
+    }
+
+    @Test
+    @DisplayName("Debe lanzar CannotAcquireLockException en la generación por productos si otra instancia tiene el bloqueo")
+    void testGenerarPorProductos_SinBloqueo_DebeLanzarExcepcion() {
+        when(ordenCompraRepository.bloquearGeneracion()).thenReturn(false);
+
+        assertThrows(CannotAcquireLockException.class, () -> ordenCompraService.generarPorPuntoReorden(Set.of(1L)));
+        verify(ordenCompraRepository, never()).generarPorPuntoReorden(any());
+    }
+
+    @Test
+    @DisplayName("Debe reponer el stock de todas las líneas en un solo ajuste al recibir la orden")
+    void testRecibir_OrdenEnviada_DebeReponerStock() {
+        // ARRANGE
+        when(ordenCompraRepository.findDetalleById(10L)).thenReturn(Optional.of(orden));
+
+        // ACT
+        OrdenCompraDto resultado = ordenCompraService.recibir(10L);
+
+        // ASSERT
+        ArgumentCaptor<AjusteStockDto> ajuste = ArgumentCaptor.forClass(AjusteStockDto.class);
+        verify(stockProductos, times(1)).reponer(ajuste.capture());
+        assertEquals(2, ajuste.getValue().getLineas().size());
+        assertEquals(12, ajuste.getValue().getLineas().get(0).getCantidad());
+        assertEquals(EstadoOrdenCompra.RECIBIDA, resultado.getEstado());
+        assertNotNull(resultado.getFechaRecepcion());
+    }
+
+    @Test
+    @DisplayName("Debe lanzar BadRequestException al recibir una orden ya cerrada")
+    void testRecibir_OrdenCerrada_DebeLanzarExcepcion() {
+        // ARRANGE
+        orden.setEstado(EstadoOrdenCompra.RECIBIDA);
+        when(ordenCompraRepository.findDetalleById(10L)).thenReturn(Optional.of(orden));
+
+        // ACT & ASSERT
+        assertThrows(BadRequestException.class, () -> ordenCompraService.recibir(10L));
+        verify(stockProductos, never()).reponer(any());
+    }
+
+    private OrdenCompraLinea linea(Long productoId, String nombre, int cantidad) {
+        return OrdenCompraLinea.builder()
+                .orden(orden)
+                .producto(Productos.builder().id(productoId).nombre(nombre).build())
+                .cantidad(cantidad)
+                .precioUnitario(new BigDecimal("10000.00"))
+                .build();
+    }
+}
@@ -1,8 +1,12 @@
 package com.management.backend_pinceladas_belleza.proveedores.services;
 
+import com.management.backend_pinceladas_belleza.catalogo.services.ReferenciasCache;
+import com.management.backend_pinceladas_belleza.common.CoalescedorLecturas;
 import com.management.backend_pinceladas_belleza.exception.BadRequestException;
 import com.management.backend_pinceladas_belleza.exception.ResourceNotFoundException;
 import com.management.backend_pinceladas_belleza.proveedores.dto.ProveedorDto;
+import com.management.backend_pinceladas_belleza.proveedores.dto.ProveedorResumenDto;
+import com.management.backend_pinceladas_belleza.proveedores.dto.TotalesPorProveedor;
 import com.management.backend_pinceladas_belleza.proveedores.entity.Proveedor;
 import com.management.backend_pinceladas_belleza.proveedores.repository.ProveedoresRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,8 +15,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
@@ -29,6 +42,15 @@ class ProveedorServiceTest {
     @Mock
     private ProveedoresRepository proveedoresRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private CoalescedorLecturas coalescedor = new CoalescedorLecturas();
+
+    @Mock
+    private ReferenciasCache referencias;
+
     @InjectMocks
     private ProveedorService proveedorService;
 
@@ -37,6 +59,10 @@ class ProveedorServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(proveedorService, "tamanoPaginaDefecto", 20);
+        ReflectionTestUtils.setField(proveedorService, "tamanoPaginaMaximo", 100);
+        ReflectionTestUtils.setField(proveedorService, "umbralStockBajo", 5);
+
         proveedor = new Proveedor();
         proveedor.setId(1L);
         proveedor.setNombre("Proveedor Test");
@@ -65,6 +91,22 @@ class ProveedorServiceTest {
         verify(proveedoresRepository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("Debe retornar los proveedores en memoria sin consultar la base")
+    void testGetProveedor_CuandoReferenciasCargadas_DebeUsarMemoria() {
+        // ARRANGE
+        when(referencias.isCargado()).thenReturn(true);
+        when(referencias.getProveedores()).thenReturn(Arrays.asList(proveedor));
+
+        // ACT
+        List<Proveedor> resultado = proveedorService.getProveedor();
+
+        // ASSERT
+        assertEquals(1, resultado.size());
+        assertEquals("Proveedor Test", resultado.get(0).getNombre());
+        verify(proveedoresRepository, never()).findAll();
+    }
+
     @Test
     @DisplayName("Debe retornar proveedor cuando existe el ID")
     void testGetProveedorById_CuandoExiste_DebeRetornarProveedor() {
@@ -214,4 +256,76 @@ class ProveedorServiceTest {
         assertTrue(exception.getMessage().contains("Proveedor"));
         verify(proveedoresRepository, never()).deleteById(any());
     }
+
+    @Test
+    @DisplayName("Debe buscar proveedores por nombre con paginación ordenada por nombre")
+    void testBuscarProveedores_ConTexto_DebeFiltrarPorNombre() {
+        // ARRANGE
+        PageRequest pageable = PageRequest.of(0, 20, Sort.by("nombre", "id"));
+        when(proveedoresRepository.findByNombreContainingIgnoreCase("test", pageable))
+                .thenReturn(new PageImpl<>(List.of(proveedor), pageable, 1));
+
+        // ACT
+        Page<Proveedor> resultado = proveedorService.buscarProveedores("  test ", 0, null);
+
+        // ASSERT
+        assertEquals(1, resultado.getTotalElements());
+        assertEquals("Proveedor Test", resultado.getContent().get(0).getNombre());
+        verify(proveedoresRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Debe lanzar BadRequestException cuando el tamaño de página excede el máximo")
+    void testBuscarProveedores_TamanoInvalido_DebeLanzarExcepcion() {
+        assertThrows(BadRequestException.class, () -> proveedorService.buscarProveedores(null, 0, 500));
+        verifyNoInteractions(proveedoresRepository);
+    }
+
+    @Test
+    @DisplayName("Debe armar el resumen por proveedor con el umbral configurado")
+    void testGetResumen_SinUmbral_DebeUsarUmbralConfigurado() {
+        // ARRANGE
+        when(proveedoresRepository.totalizar(5)).thenReturn(List.of(
+                totales(1L, "Proveedor Test", 4L, 1L, new BigDecimal("250000.00")),
+                totales(2L, "Sin Productos", 0L, 0L, null)));
+
+        // ACT
+        List<ProveedorResumenDto> resultado = proveedorService.getResumen(null);
+
+        // ASSERT
+        assertEquals(2, resultado.size());
+        assertEquals(4L, resultado.get(0).getCantidadProductos());
+        assertEquals(1L, resultado.get(0).getProductosStockBajo());
+        assertEquals(0, BigDecimal.ZERO.compareTo(resultado.get(1).getValorInventario()));
+        verify(proveedoresRepository, times(1)).totalizar(5);
+    }
+
+    private static TotalesPorProveedor totales(Long id, String nombre, Long productos, Long stockBajo, BigDecimal valor) {
+        return new TotalesPorProveedor() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getNombre() {
+                return nombre;
+            }
+
+            @Override
+            public Long getProductos() {
+                return productos;
+            }
+
+            @Override
+            public Long getStockBajo() {
+                return stockBajo;
+            }
+
+            @Override
+            public BigDecimal getValor() {
+                return valor;
+            }
+        };
+    }
 }
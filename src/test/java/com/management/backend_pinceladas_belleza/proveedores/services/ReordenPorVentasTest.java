@@ -0,0 +1,76 @@
+package com.management.backend_pinceladas_belleza.proveedores.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.backend_pinceladas_belleza.outbox.dto.EventoOutbox;
+import com.management.backend_pinceladas_belleza.proveedores.interfaces.IOrdenesCompra;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - ReordenPorVentas")
+class ReordenPorVentasTest {
+
+    @Mock
+    private IOrdenesCompra ordenesCompra;
+
+    private ReordenPorVentas reorden;
+
+    @BeforeEach
+    void setUp() {
+        reorden = new ReordenPorVentas(ordenesCompra, new ObjectMapper());
+        ReflectionTestUtils.setField(reorden, "habilitado", true);
+    }
+
+    @Test
+    @DisplayName("Debe atender solo los descuentos de stock; el pedido ya llega por su descuento")
+    void testAcepta_SoloDescuentosDeStock() {
+        assertTrue(reorden.acepta(EventoOutbox.STOCK_DESCONTADO));
+        assertFalse(reorden.acepta(EventoOutbox.STOCK_REPUESTO));
+        assertFalse(reorden.acepta(EventoOutbox.PEDIDO_CREADO));
+        assertFalse(reorden.acepta(EventoOutbox.PRODUCTO_MODIFICADO));
+        assertFalse(reorden.acepta(EventoOutbox.PRODUCTOS_IMPORTADOS));
+    }
+
+    @Test
+    @DisplayName("Debe generar una sola vez por lote, limitado a los productos de los eventos")
+    void testConsumir_DebeGenerarParaLosProductosDelLote() {
+        // ARRANGE
+        when(ordenesCompra.generarPorPuntoReorden(Set.of(1L, 2L, 3L))).thenReturn(List.of());
+
+        // ACT
+        reorden.consumir(List.of(
+                evento(1L, EventoOutbox.STOCK_DESCONTADO, "{\"productoIds\":[2,1],\"descuento\":true}"),
+                evento(2L, EventoOutbox.STOCK_DESCONTADO, "{\"productoIds\":[3,2],\"descuento\":true}")));
+
+        // ASSERT
+        verify(ordenesCompra, times(1)).generarPorPuntoReorden(Set.of(1L, 2L, 3L));
+    }
+
+    @Test
+    @DisplayName("Debe propagar el bloqueo tomado por otra instancia para que el lote se reintente")
+    void testConsumir_BloqueoOcupado_DebeLanzarExcepcion() {
+        // ARRANGE
+        when(ordenesCompra.generarPorPuntoReorden(Set.of(1L)))
+                .thenThrow(new CannotAcquireLockException("Generación en curso"));
+
+        // ACT & ASSERT
+        assertThrows(CannotAcquireLockException.class, () -> reorden.consumir(List.of(
+                evento(1L, EventoOutbox.STOCK_DESCONTADO, "{\"productoIds\":[1],\"descuento\":true}"))));
+    }
+
+    private static EventoOutbox evento(Long id, String tipo, String datos) {
+        return EventoOutbox.builder().id(id).tipo(tipo).datos(datos).intentos(1).build();
+    }
+}
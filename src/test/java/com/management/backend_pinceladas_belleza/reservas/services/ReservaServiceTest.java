@@ -0,0 +1,194 @@
+package com.management.backend_pinceladas_belleza.reservas.services;
+
+import com.management.backend_pinceladas_belleza.common.RuedaTemporizadores;
+import com.management.backend_pinceladas_belleza.exception.BadRequestException;
+import com.management.backend_pinceladas_belleza.exception.StockInsuficienteException;
+import com.management.backend_pinceladas_belleza.productos.dto.LineaStockDto;
+import com.management.backend_pinceladas_belleza.productos.repository.ProductosRepository;
+import com.management.backend_pinceladas_belleza.reservas.dto.CrearReservaDto;
+import com.management.backend_pinceladas_belleza.reservas.dto.ReservaDto;
+import com.management.backend_pinceladas_belleza.reservas.repository.ReservasStockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - ReservaService")
+class ReservaServiceTest {
+
+    @Mock
+    private ReservasStockRepository reservasRepository;
+
+    @Mock
+    private ProductosRepository productosRepository;
+
+    @InjectMocks
+    private ReservaService reservaService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reservaService, "minutosDefecto", 10);
+        ReflectionTestUtils.setField(reservaService, "minutosMaximo", 30);
+        ReflectionTestUtils.setField(reservaService, "maximoIds", 500);
+    }
+
+    @Test
+    @DisplayName("Debe retener el stock en un solo lote ordenado por producto y guardar la reserva")
+    void testReservar_StockDisponible_DebeRetener() {
+        // ARRANGE
+        when(reservasRepository.retener(anyList())).thenReturn(new int[]{1, 1});
+        CrearReservaDto datos = CrearReservaDto.builder()
+                .carrito("carrito-1")
+                .lineas(List.of(new LineaStockDto(2L, 1), new LineaStockDto(1L, 2), new LineaStockDto(2L, 1)))
+                .build();
+
+        // ACT
+        ReservaDto resultado = reservaService.reservar(datos);
+
+        // ASSERT
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LineaStockDto>> lineas = ArgumentCaptor.forClass(List.class);
+        verify(reservasRepository).retener(lineas.capture());
+        assertEquals(1L, lineas.getValue().get(0).getProductoId());
+        assertEquals(2, lineas.getValue().get(1).getCantidad());
+        verify(reservasRepository).insertar(eq(resultado.getId()), eq("carrito-1"), anyList(), any(LocalDateTime.class));
+        assertTrue(resultado.getExpira().isAfter(LocalDateTime.now().plusMinutes(9)));
+    }
+
+    @Test
+    @DisplayName("Debe lanzar StockInsuficienteException sin guardar la reserva si no hay disponible")
+    void testReservar_SinDisponible_DebeLanzarExcepcion() {
+        // ARRANGE
+        when(reservasRepository.retener(anyList())).thenReturn(new int[]{0});
+        when(productosRepository.existsById(1L)).thenReturn(true);
+        CrearReservaDto datos = CrearReservaDto.builder()
+                .carrito("carrito-1")
+                .lineas(List.of(new LineaStockDto(1L, 5)))
+                .build();
+
+        // ACT & ASSERT
+        assertThrows(StockInsuficienteException.class, () -> reservaService.reservar(datos));
+        verify(reservasRepository, never()).insertar(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe lanzar BadRequestException con una duración fuera de rango")
+    void testReservar_DuracionInvalida_DebeLanzarExcepcion() {
+        CrearReservaDto datos = CrearReservaDto.builder()
+                .carrito("carrito-1")
+                .minutos(120)
+                .lineas(List.of(new LineaStockDto(1L, 1)))
+                .build();
+
+        assertThrows(BadRequestException.class, () -> reservaService.reservar(datos));
+        verifyNoInteractions(reservasRepository);
+    }
+
+    @Test
+    @DisplayName("Debe quitar de la rueda de vencimientos una reserva liberada antes de tiempo")
+    void testLiberar_DebeCancelarVencimiento() {
+        // ARRANGE
+        when(reservasRepository.retener(anyList())).thenReturn(new int[]{1});
+        ReservaDto reserva = reservaService.reservar(CrearReservaDto.builder()
+                .carrito("carrito-1")
+                .minutos(1)
+                .lineas(List.of(new LineaStockDto(1L, 1)))
+                .build());
+        RuedaTemporizadores<?> vencimientos =
+                (RuedaTemporizadores<?>) ReflectionTestUtils.getField(reservaService, "vencimientos");
+        assertEquals(1, vencimientos.pendientes());
+
+        // ACT
+        reservaService.liberar(reserva.getId());
+
+        // ASSERT
+        verify(reservasRepository).liberar(reserva.getId());
+        assertEquals(0, vencimientos.pendientes());
+    }
+
+    @Test
+    @DisplayName("Debe mantener el vencimiento en la rueda hasta que la liberación se confirme")
+    void testLiberar_EnTransaccion_DebeCancelarAlConfirmar() {
+        // ARRANGE
+        when(reservasRepository.retener(anyList())).thenReturn(new int[]{1});
+        ReservaDto reserva = reservaService.reservar(CrearReservaDto.builder()
+                .carrito("carrito-1")
+                .lineas(List.of(new LineaStockDto(1L, 1)))
+                .build());
+        RuedaTemporizadores<?> vencimientos =
+                (RuedaTemporizadores<?>) ReflectionTestUtils.getField(reservaService, "vencimientos");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // ACT
+            reservaService.liberar(reserva.getId());
+
+            // ASSERT: una reversión dejaría la reserva en la tabla, debe seguir venciendo
+            assertEquals(1, vencimientos.pendientes());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(0, vencimientos.pendientes());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe liberar la reserva consumida cuando coincide con las líneas del pedido")
+    void testConsumir_MismasLineas_DebeLiberar() {
+        // ARRANGE
+        UUID reservaId = UUID.randomUUID();
+        when(reservasRepository.lineas(reservaId)).thenReturn(List.of(new LineaStockDto(1L, 2), new LineaStockDto(3L, 1)));
+
+        // ACT
+        reservaService.consumir(reservaId, Map.of(3L, 1, 1L, 2));
+
+        // ASSERT
+        verify(reservasRepository).liberar(reservaId);
+    }
+
+    @Test
+    @DisplayName("Debe lanzar BadRequestException si la reserva no corresponde a las líneas del pedido")
+    void testConsumir_OtrasLineas_DebeLanzarExcepcion() {
+        // ARRANGE
+        UUID reservaId = UUID.randomUUID();
+        when(reservasRepository.lineas(reservaId)).thenReturn(List.of(new LineaStockDto(1L, 5)));
+
+        // ACT & ASSERT
+        assertThrows(BadRequestException.class, () -> reservaService.consumir(reservaId, Map.of(1L, 2)));
+        assertThrows(BadRequestException.class, () -> reservaService.consumir(reservaId, Map.of(2L, 5)));
+        verify(reservasRepository, never()).liberar(any());
+    }
+
+    @Test
+    @DisplayName("Debe ignorar una reserva ya vencida al crear el pedido")
+    void testConsumir_ReservaVencida_NoDebeLiberar() {
+        // ARRANGE
+        UUID reservaId = UUID.randomUUID();
+        when(reservasRepository.lineas(reservaId)).thenReturn(List.of());
+
+        // ACT
+        reservaService.consumir(reservaId, Map.of(1L, 2));
+
+        // ASSERT
+        verify(reservasRepository, never()).liberar(any());
+    }
+}